@@ -0,0 +1,43 @@
+package com.firefly.core.orchestrator.core.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Conditional requests to downstream services.
+ * The generated API clients cannot take extra headers per call, so the entity tag a cached response
+ * is revalidated with is passed down in the Reactor context and added as an {@code If-None-Match}
+ * header by the {@link #filter()} of the client's WebClient. A service that supports it answers
+ * {@code 304 Not Modified} without a body if the entity is unchanged.
+ */
+public final class ConditionalRequests {
+
+    private static final String CONTEXT_KEY = ConditionalRequests.class.getName();
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Makes a call conditional on its entity having changed.
+     *
+     * @param etag The entity tag of the cached response
+     * @return The context to write into the call's pipeline
+     */
+    public static Context ifNoneMatch(String etag) {
+        return Context.of(CONTEXT_KEY, etag);
+    }
+
+    /**
+     * Creates the filter adding the {@code If-None-Match} header to conditional calls.
+     *
+     * @return A filter for the WebClient of an API client
+     */
+    public static ExchangeFilterFunction filter() {
+        return (request, next) -> Mono.deferContextual(context -> context.<String>getOrEmpty(CONTEXT_KEY)
+                .map(etag -> next.exchange(ClientRequest.from(request).header(HttpHeaders.IF_NONE_MATCH, etag).build()))
+                .orElseGet(() -> next.exchange(request)));
+    }
+}
@@ -0,0 +1,113 @@
+package com.firefly.core.orchestrator.core.http;
+
+import com.firefly.core.orchestrator.core.properties.HttpClientProperties;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared Reactor Netty connection pools for the downstream API clients.
+ * Every downstream host gets one named {@link ConnectionProvider}, reused by all clients of the host,
+ * with bounded connections and pending acquisitions, idle and maximum lifetimes, connect, read and
+ * write timeouts, optional HTTP/2 and Netty's pooled buffer allocator.
+ * <p>
+ * Pool utilization is published to Micrometer as {@code reactor.netty.connection.provider.*},
+ * tagged with the pool name, including active, idle and pending connections.
+ * <p>
+ * WebClients built from Spring Boot's {@link WebClient.Builder}, such as those of the BaaS adapters,
+ * use the {@value #BAAS} pool.
+ */
+@Component
+@Slf4j
+public class HttpClients implements WebClientCustomizer, DisposableBean {
+
+    public static final String SCA = "sca";
+    public static final String NOTIFICATIONS = "notifications";
+    public static final String CONFIG_MGMT = "config-mgmt";
+    public static final String BAAS = "baas";
+
+    private final HttpClientProperties properties;
+    private final Map<String, ConnectionProvider> providers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new HttpClients.
+     *
+     * @param properties The HTTP client configuration
+     */
+    @Autowired
+    public HttpClients(HttpClientProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Applies the {@value #BAAS} pool to the WebClients built from Spring Boot's builder.
+     *
+     * @param webClientBuilder The builder to customize
+     */
+    @Override
+    public void customize(WebClient.Builder webClientBuilder) {
+        webClientBuilder.clientConnector(connector(BAAS, null));
+    }
+
+    /**
+     * Closes all connection pools when the application context shuts down.
+     */
+    @Override
+    public void destroy() {
+        providers.values().forEach(ConnectionProvider::dispose);
+        providers.clear();
+    }
+
+    /**
+     * Creates a connector using the connection pool of a downstream host.
+     *
+     * @param host The name of the downstream host
+     * @param basePath The base path of the host's API, deciding between HTTP/2 over TLS and cleartext HTTP/2
+     * @return A connector for a WebClient calling the host
+     */
+    public ClientHttpConnector connector(String host, String basePath) {
+        HttpClientProperties.Pool pool = properties.getHosts().getOrDefault(host, properties.getDefaults());
+        ConnectionProvider provider = providers.computeIfAbsent(host, name -> newProvider(name, pool));
+
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pool.getConnectTimeout().toMillis())
+                .responseTimeout(pool.getReadTimeout())
+                .doOnConnected(connection -> connection.addHandlerLast(
+                        new WriteTimeoutHandler(pool.getWriteTimeout().toMillis(), TimeUnit.MILLISECONDS)));
+        if (pool.isHttp2()) {
+            boolean secure = basePath != null && basePath.startsWith("https");
+            httpClient = httpClient.protocol(secure ? HttpProtocol.H2 : HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    private static ConnectionProvider newProvider(String host, HttpClientProperties.Pool pool) {
+        log.info("Creating connection pool for {}: maxConnections={}, pendingAcquireMaxCount={}, http2={}",
+                host, pool.getMaxConnections(), pool.getPendingAcquireMaxCount(), pool.isHttp2());
+        return ConnectionProvider.builder(host)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictionInterval())
+                .metrics(true)
+                .build();
+    }
+}
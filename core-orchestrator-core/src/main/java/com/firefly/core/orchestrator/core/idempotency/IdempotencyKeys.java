@@ -0,0 +1,54 @@
+package com.firefly.core.orchestrator.core.idempotency;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Idempotency keys sent with downstream calls.
+ * Calls made on behalf of a job carry a stable key derived from the job's process instance and
+ * element, passed down in the Reactor context, so that a re-activated job repeats the same keys and
+ * downstream deduplication recognises the repeated calls. Calls made outside of a job get a random key.
+ */
+public final class IdempotencyKeys {
+
+    private static final String CONTEXT_KEY = IdempotencyKeys.class.getName();
+
+    private IdempotencyKeys() {
+    }
+
+    /**
+     * Derives the stable key of a job.
+     *
+     * @param processInstanceKey The key of the job's process instance
+     * @param elementId The ID of the job's BPMN element
+     * @return The key identifying the job across activations
+     */
+    public static String of(long processInstanceKey, String elementId) {
+        return processInstanceKey + ":" + elementId;
+    }
+
+    /**
+     * Makes a job's key available to the downstream calls of a pipeline.
+     *
+     * @param key The key of the job, as derived by {@link #of(long, String)}
+     * @return The context to write into the pipeline
+     */
+    public static Context with(String key) {
+        return Context.of(CONTEXT_KEY, key);
+    }
+
+    /**
+     * Resolves the idempotency key of a downstream call.
+     *
+     * @param operation The name of the downstream operation, distinguishing several calls of one job
+     * @return A Mono emitting the key derived from the current job's key, or a random key outside of a job
+     */
+    public static Mono<String> resolve(String operation) {
+        return Mono.deferContextual(context -> Mono.just(context.<String>getOrEmpty(CONTEXT_KEY)
+                .map(key -> UUID.nameUUIDFromBytes((key + ":" + operation).getBytes(StandardCharsets.UTF_8)).toString())
+                .orElseGet(() -> UUID.randomUUID().toString())));
+    }
+}
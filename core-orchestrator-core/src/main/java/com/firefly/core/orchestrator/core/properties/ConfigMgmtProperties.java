@@ -5,6 +5,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
  * Configuration properties for Configuration Management API.
  * Maps the properties defined in application.yaml under api-configuration.config-mgmt.
@@ -17,4 +19,30 @@ public class ConfigMgmtProperties {
 
     private String basePath;
 
+    private Cache cache = new Cache();
+
+    @Getter
+    @Setter
+    public static class Cache {
+
+        /**
+         * Whether reads from the service are cached.
+         */
+        private boolean enabled = true;
+
+        /**
+         * How long a cached response is served without contacting the service.
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        /**
+         * Age from which a cached response is still served but refreshed in the background.
+         */
+        private Duration refreshAhead = Duration.ofMinutes(4);
+
+        /**
+         * How long after its TTL a cached response is served while the service is failing.
+         */
+        private Duration staleIfError = Duration.ofHours(1);
+    }
 }
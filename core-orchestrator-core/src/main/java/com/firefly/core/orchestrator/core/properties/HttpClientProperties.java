@@ -0,0 +1,89 @@
+package com.firefly.core.orchestrator.core.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the HTTP connections to downstream services.
+ * Maps the properties defined in application.yaml under api-configuration.http.
+ * <p>
+ * Every downstream host gets its own named connection pool, configured with the defaults or the
+ * pool settings for the host.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "api-configuration.http")
+@Getter
+@Setter
+public class HttpClientProperties {
+
+    /**
+     * Pool applied to hosts without an entry in {@link #hosts}.
+     */
+    private Pool defaults = new Pool();
+
+    /**
+     * Pool per downstream host, e.g. sca, notifications, config-mgmt or baas.
+     */
+    private Map<String, Pool> hosts = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Pool {
+
+        /**
+         * Maximum number of connections to the host.
+         */
+        private int maxConnections = 100;
+
+        /**
+         * Maximum number of requests waiting for a connection; further requests fail immediately.
+         */
+        private int pendingAcquireMaxCount = 500;
+
+        /**
+         * How long a request waits for a connection before it fails.
+         */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+        /**
+         * How long a connection may stay idle in the pool before it is closed.
+         */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        /**
+         * How long a connection is used at most, so that load balancers see new connections.
+         */
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        /**
+         * Interval at which idle and expired connections are closed in the background.
+         */
+        private Duration evictionInterval = Duration.ofSeconds(30);
+
+        /**
+         * Timeout for establishing a connection.
+         */
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Timeout for the response to a request.
+         */
+        private Duration readTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Timeout for writing a request.
+         */
+        private Duration writeTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Whether HTTP/2 is negotiated, falling back to HTTP/1.1 when the host does not support it.
+         */
+        private boolean http2 = false;
+    }
+}
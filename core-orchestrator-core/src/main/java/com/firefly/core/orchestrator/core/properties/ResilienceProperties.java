@@ -0,0 +1,74 @@
+package com.firefly.core.orchestrator.core.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the isolation of downstream services.
+ * Maps the properties defined in application.yaml under orchestrator.resilience.
+ * <p>
+ * Every downstream service gets its own circuit breaker, bulkhead and call timeout, configured with
+ * the defaults and the overrides for the service.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "orchestrator.resilience")
+@Getter
+@Setter
+public class ResilienceProperties {
+
+    /**
+     * Policy applied to services without an entry in {@link #services}.
+     */
+    private Policy defaults = new Policy();
+
+    /**
+     * Policy per downstream service, e.g. account, sca or notifications.
+     */
+    private Map<String, Policy> services = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Policy {
+
+        /**
+         * Maximum duration of a single call before it is abandoned and counted as a failure.
+         */
+        private Duration timeout = Duration.ofSeconds(10);
+
+        /**
+         * Maximum number of calls in flight at once; further calls are rejected immediately.
+         */
+        private int maxConcurrentCalls = 64;
+
+        /**
+         * Number of most recent calls the failure rate is computed over.
+         */
+        private int slidingWindowSize = 50;
+
+        /**
+         * Minimum number of calls in the window before the breaker can open.
+         */
+        private int minimumCalls = 20;
+
+        /**
+         * Failure rate, between 0 and 1, at which the breaker opens.
+         */
+        private double failureRateThreshold = 0.5;
+
+        /**
+         * How long the breaker stays open before it lets trial calls through.
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /**
+         * Number of trial calls that must succeed in the half-open state to close the breaker.
+         */
+        private int halfOpenCalls = 5;
+    }
+}
@@ -0,0 +1,142 @@
+package com.firefly.core.orchestrator.core.resilience;
+
+import com.firefly.core.orchestrator.core.properties.ResilienceProperties;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Count-based circuit breaker.
+ * The outcomes of the most recent calls are kept in a ring buffer. Once the failure rate over the
+ * window reaches the threshold, the breaker opens and rejects calls for the open duration. It then
+ * lets a limited number of trial calls through: if all of them succeed the breaker closes, and the
+ * first failure opens it again.
+ */
+@Slf4j
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final String service;
+    private final ResilienceProperties.Policy policy;
+    private final long openNanos;
+    private final boolean[] window;
+
+    // Guarded by this
+    private State state = State.CLOSED;
+    private int recorded;
+    private int next;
+    private int failures;
+    private long openedAt;
+    private int trialPermits;
+    private int trialSuccesses;
+
+    CircuitBreaker(String service, ResilienceProperties.Policy policy) {
+        this.service = service;
+        this.policy = policy;
+        this.openNanos = policy.getOpenDuration().toNanos();
+        this.window = new boolean[Math.max(1, policy.getSlidingWindowSize())];
+    }
+
+    /**
+     * Asks for permission to send a call.
+     *
+     * @return true if the call may be sent
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+            trialPermits = policy.getHalfOpenCalls();
+            trialSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialPermits <= 0) {
+                return false;
+            }
+            trialPermits--;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++trialSuccesses >= policy.getHalfOpenCalls()) {
+                transitionTo(State.CLOSED);
+                resetWindow();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= policy.getMinimumCalls()
+                    && failures >= policy.getFailureRateThreshold() * recorded) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * Returns the permission of a call that ended without an outcome, e.g. because it was cancelled.
+     */
+    synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            trialPermits++;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    /**
+     * @return The nanoseconds until an open breaker lets trial calls through, or 0 if it is not open
+     */
+    synchronized long remainingOpenNanos() {
+        return state == State.OPEN ? Math.max(0, openNanos - (System.nanoTime() - openedAt)) : 0;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % window.length;
+    }
+
+    private void open() {
+        openedAt = System.nanoTime();
+        transitionTo(State.OPEN);
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        recorded = 0;
+        next = 0;
+        failures = 0;
+    }
+
+    private void transitionTo(State newState) {
+        if (state != newState) {
+            log.warn("Circuit breaker of {} changed from {} to {}", service, state, newState);
+            state = newState;
+        }
+    }
+}
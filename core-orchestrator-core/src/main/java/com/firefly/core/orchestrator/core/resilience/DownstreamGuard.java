@@ -0,0 +1,115 @@
+package com.firefly.core.orchestrator.core.resilience;
+
+import com.firefly.core.orchestrator.core.properties.ResilienceProperties;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Isolates the calls to one downstream service behind a circuit breaker, a concurrency bulkhead
+ * and a call timeout, so that a slow or failing service cannot tie up capacity other services need.
+ * <p>
+ * Calls rejected by the breaker or the bulkhead fail immediately with a
+ * {@link DownstreamUnavailableException}. Timeouts, connection errors, 5xx and 429 answers count as
+ * failures of the service; other 4xx answers are the caller's fault and count as successes.
+ */
+@Slf4j
+public class DownstreamGuard {
+
+    private final String service;
+    private final Duration timeout;
+    private final int maxConcurrentCalls;
+    private final CircuitBreaker circuitBreaker;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejectedByBreaker;
+    private final Counter rejectedByBulkhead;
+
+    DownstreamGuard(String service, ResilienceProperties.Policy policy,
+                    Counter rejectedByBreaker, Counter rejectedByBulkhead) {
+        this.service = service;
+        this.timeout = policy.getTimeout();
+        this.maxConcurrentCalls = policy.getMaxConcurrentCalls();
+        this.circuitBreaker = new CircuitBreaker(service, policy);
+        this.rejectedByBreaker = rejectedByBreaker;
+        this.rejectedByBulkhead = rejectedByBulkhead;
+    }
+
+    /**
+     * Sends a call through the guard.
+     *
+     * @param call Supplies the call, subscribed only if the guard admits it
+     * @param <T> The type of the call's result
+     * @return A Mono emitting the call's result, or failing with a {@link DownstreamUnavailableException}
+     *         if the call was rejected
+     */
+    public <T> Mono<T> protect(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                rejectedByBreaker.increment();
+                return Mono.error(new DownstreamUnavailableException(service, "circuit breaker open",
+                        Duration.ofNanos(circuitBreaker.remainingOpenNanos())));
+            }
+            if (inFlight.incrementAndGet() > maxConcurrentCalls) {
+                inFlight.decrementAndGet();
+                circuitBreaker.onIgnored();
+                rejectedByBulkhead.increment();
+                return Mono.error(new DownstreamUnavailableException(service, "bulkhead full", null));
+            }
+
+            return call.get()
+                    .timeout(timeout)
+                    .doOnSuccess(result -> circuitBreaker.onSuccess())
+                    .doOnError(error -> {
+                        if (isServiceFailure(error)) {
+                            circuitBreaker.onFailure();
+                        } else {
+                            circuitBreaker.onSuccess();
+                        }
+                    })
+                    .doOnCancel(circuitBreaker::onIgnored)
+                    .doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    /**
+     * @return The name of the downstream service
+     */
+    public String getService() {
+        return service;
+    }
+
+    /**
+     * @return The state of the circuit breaker: CLOSED, HALF_OPEN or OPEN
+     */
+    public String getState() {
+        return circuitBreaker.state().name();
+    }
+
+    /**
+     * @return The state of the circuit breaker as a number: 0 closed, 1 half-open, 2 open
+     */
+    public int getStateOrdinal() {
+        return circuitBreaker.state().ordinal();
+    }
+
+    /**
+     * @return The number of calls currently in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private static boolean isServiceFailure(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            int status = responseException.getStatusCode().value();
+            return status >= 500 || status == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,87 @@
+package com.firefly.core.orchestrator.core.resilience;
+
+import com.firefly.core.orchestrator.core.properties.ResilienceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the {@link DownstreamGuard} of every downstream service.
+ * Breaker states and in-flight calls are exposed as {@code orchestrator.downstream.breaker.state}
+ * (0 closed, 1 half-open, 2 open) and {@code orchestrator.downstream.in.flight}, and rejected calls
+ * are counted in {@code orchestrator.downstream.rejected}, all tagged with the service.
+ */
+@Component
+public class DownstreamGuards {
+
+    public static final String ACCOUNT = "account";
+    public static final String BENEFICIARY = "beneficiary";
+    public static final String CUSTOMER = "customer";
+    public static final String DOCUMENT = "document";
+    public static final String SCA = "sca";
+    public static final String NOTIFICATIONS = "notifications";
+    public static final String CONFIG_MGMT = "config-mgmt";
+
+    private final ResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DownstreamGuard> guards = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new DownstreamGuards.
+     *
+     * @param properties The resilience configuration
+     * @param meterRegistry The registry for resilience metrics
+     */
+    @Autowired
+    public DownstreamGuards(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns the guard of a downstream service, creating it on first use.
+     *
+     * @param service The name of the downstream service
+     * @return The guard of the service
+     */
+    public DownstreamGuard guard(String service) {
+        return guards.computeIfAbsent(service, this::newGuard);
+    }
+
+    /**
+     * @return The guards created so far
+     */
+    public Collection<DownstreamGuard> all() {
+        return guards.values();
+    }
+
+    private DownstreamGuard newGuard(String service) {
+        ResilienceProperties.Policy policy = properties.getServices().getOrDefault(service, properties.getDefaults());
+        DownstreamGuard guard = new DownstreamGuard(service, policy,
+                rejectedCounter(service, "circuit-open"), rejectedCounter(service, "bulkhead-full"));
+
+        Gauge.builder("orchestrator.downstream.breaker.state", guard, DownstreamGuard::getStateOrdinal)
+                .tag("service", service)
+                .description("Circuit breaker state of a downstream service: 0 closed, 1 half-open, 2 open")
+                .register(meterRegistry);
+        Gauge.builder("orchestrator.downstream.in.flight", guard, DownstreamGuard::getInFlight)
+                .tag("service", service)
+                .description("Calls to a downstream service currently in flight")
+                .register(meterRegistry);
+        return guard;
+    }
+
+    private Counter rejectedCounter(String service, String reason) {
+        return Counter.builder("orchestrator.downstream.rejected")
+                .tag("service", service)
+                .tag("reason", reason)
+                .description("Calls to a downstream service rejected without being sent")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,33 @@
+package com.firefly.core.orchestrator.core.resilience;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a call to a downstream service is rejected without being sent,
+ * because the service's circuit breaker is open or its bulkhead is full.
+ */
+@Getter
+public class DownstreamUnavailableException extends RuntimeException {
+
+    private final String service;
+
+    /**
+     * How long until the service accepts calls again, or null if unknown.
+     */
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new DownstreamUnavailableException.
+     *
+     * @param service The name of the downstream service
+     * @param reason Why the call was rejected
+     * @param retryAfter How long until the service accepts calls again, or null if unknown
+     */
+    public DownstreamUnavailableException(String service, String reason, Duration retryAfter) {
+        super("Call to " + service + " rejected: " + reason);
+        this.service = service;
+        this.retryAfter = retryAfter;
+    }
+}
@@ -2,6 +2,8 @@ package com.firefly.core.orchestrator.core.services;
 
 import com.firefly.baas.adapter.AccountAdapter;
 import com.firefly.baas.dtos.accounts.AccountAdapterDTO;
+import com.firefly.core.orchestrator.core.resilience.DownstreamGuard;
+import com.firefly.core.orchestrator.core.resilience.DownstreamGuards;
 import com.firefly.core.orchestrator.interfaces.dtos.accounts.AccountRequest;
 import com.firefly.core.orchestrator.interfaces.dtos.accounts.AccountResponse;
 import com.firefly.core.orchestrator.interfaces.mappers.AccountMapper;
@@ -23,17 +25,20 @@ public class AccountClient implements AccountService {
 
     private final AccountAdapter accountAdapter;
     private final AccountMapper accountMapper;
+    private final DownstreamGuard guard;
 
     /**
      * Creates a new AccountClient with the specified adapter and mapper.
      *
      * @param accountAdapter the adapter for interacting with the BaaS system
      * @param accountMapper the mapper for converting between DTOs
+     * @param downstreamGuards the registry providing the guard isolating calls to the service
      */
     @Autowired
-    public AccountClient(AccountAdapter accountAdapter, AccountMapper accountMapper) {
+    public AccountClient(AccountAdapter accountAdapter, AccountMapper accountMapper, DownstreamGuards downstreamGuards) {
         this.accountAdapter = accountAdapter;
         this.accountMapper = accountMapper;
+        this.guard = downstreamGuards.guard(DownstreamGuards.ACCOUNT);
     }
 
     /**
@@ -47,7 +52,7 @@ public class AccountClient implements AccountService {
         log.info("Creating account for user ID: {}", accountRequest.userId());
 
         // Call the external microservice
-        return accountAdapter.createAccount(accountMapper.requestToDTO(accountRequest))
+        return guard.protect(() -> accountAdapter.createAccount(accountMapper.requestToDTO(accountRequest)))
                 .mapNotNull(ResponseEntity::getBody)
                 .map(accountMapper::dtoToResponse);
 
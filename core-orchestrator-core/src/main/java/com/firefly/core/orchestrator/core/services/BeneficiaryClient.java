@@ -1,6 +1,8 @@
 package com.firefly.core.orchestrator.core.services;
 
 import com.firefly.baas.adapter.BeneficiaryAdapter;
+import com.firefly.core.orchestrator.core.resilience.DownstreamGuard;
+import com.firefly.core.orchestrator.core.resilience.DownstreamGuards;
 import com.firefly.core.orchestrator.interfaces.dtos.beneficiaries.BeneficiaryRequest;
 import com.firefly.core.orchestrator.interfaces.dtos.beneficiaries.BeneficiaryResponse;
 import com.firefly.core.orchestrator.interfaces.mappers.BeneficiaryMapper;
@@ -21,17 +23,21 @@ public class BeneficiaryClient implements BeneficiaryService {
 
     private final BeneficiaryAdapter beneficiaryAdapter;
     private final BeneficiaryMapper beneficiaryMapper;
+    private final DownstreamGuard guard;
 
     /**
      * Creates a new BeneficiaryClient with the specified adapter and mapper.
      *
      * @param beneficiaryAdapter the adapter for interacting with the BaaS system
      * @param beneficiaryMapper the mapper for converting between DTOs
+     * @param downstreamGuards the registry providing the guard isolating calls to the service
      */
     @Autowired
-    public BeneficiaryClient(BeneficiaryAdapter beneficiaryAdapter, BeneficiaryMapper beneficiaryMapper) {
+    public BeneficiaryClient(BeneficiaryAdapter beneficiaryAdapter, BeneficiaryMapper beneficiaryMapper,
+                             DownstreamGuards downstreamGuards) {
         this.beneficiaryAdapter = beneficiaryAdapter;
         this.beneficiaryMapper = beneficiaryMapper;
+        this.guard = downstreamGuards.guard(DownstreamGuards.BENEFICIARY);
     }
 
     /**
@@ -45,7 +51,7 @@ public class BeneficiaryClient implements BeneficiaryService {
         log.info("Creating beneficiary for user ID: {}", beneficiaryRequest.userId());
 
         // Call the external microservice
-        return beneficiaryAdapter.createBeneficiary(beneficiaryMapper.requestToDTO(beneficiaryRequest))
+        return guard.protect(() -> beneficiaryAdapter.createBeneficiary(beneficiaryMapper.requestToDTO(beneficiaryRequest)))
                 .mapNotNull(HttpEntity::getBody)
                 .map(beneficiaryMapper::toResponse);
     }
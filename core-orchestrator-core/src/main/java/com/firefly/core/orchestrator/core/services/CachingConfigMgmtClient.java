@@ -0,0 +1,194 @@
+package com.firefly.core.orchestrator.core.services;
+
+import com.firefly.common.config.sdk.model.PaginationResponseProviderProcessDTO;
+import com.firefly.common.config.sdk.model.ProviderProcessVersionDTO;
+import com.firefly.core.orchestrator.core.http.ConditionalRequests;
+import com.firefly.core.orchestrator.core.properties.ConfigMgmtProperties;
+import com.firefly.core.orchestrator.interfaces.services.ConfigMgmtService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Caching implementation of the ConfigMgmtService interface, decorating the {@link ConfigMgmtClient}.
+ * Responses are served from memory for {@code api-configuration.config-mgmt.cache.ttl}; once they are
+ * older than {@code refresh-ahead} they are still served while a refresh runs in the background.
+ * <p>
+ * Concurrent misses for the same key share a single call to the service. Refreshes of a response
+ * that carried an {@code ETag} are conditional, so an unchanged entity costs a {@code 304} without a
+ * body. If the service fails, an expired response keeps being served for {@code stale-if-error}.
+ * Lookups are counted in {@code orchestrator.config.cache} by cache and result.
+ */
+@Service
+@Primary
+@Slf4j
+public class CachingConfigMgmtClient implements ConfigMgmtService {
+
+    private final ResponseCache<Long, PaginationResponseProviderProcessDTO> providerProcesses;
+    private final ResponseCache<Long, ProviderProcessVersionDTO> providerProcessVersions;
+
+    /**
+     * Constructs a new CachingConfigMgmtClient.
+     *
+     * @param configMgmtClient The client calling the Configuration Management API
+     * @param configMgmtProperties The Configuration Management configuration
+     * @param meterRegistry The registry for cache metrics
+     */
+    @Autowired
+    public CachingConfigMgmtClient(ConfigMgmtClient configMgmtClient, ConfigMgmtProperties configMgmtProperties,
+                                   MeterRegistry meterRegistry) {
+        ConfigMgmtProperties.Cache cache = configMgmtProperties.getCache();
+        this.providerProcesses = new ResponseCache<>("provider-processes",
+                configMgmtClient::getProviderProcesses, cache, meterRegistry);
+        this.providerProcessVersions = new ResponseCache<>("provider-process-versions",
+                configMgmtClient::getProviderProcessVersion, cache, meterRegistry);
+    }
+
+    /**
+     * Retrieves provider processes based on the given provider ID, from the cache if possible.
+     *
+     * @param providerId the ID of the provider for which processes are to be retrieved
+     * @return a Mono containing the response entity, which includes a paginated list of provider processes
+     */
+    @Override
+    public Mono<ResponseEntity<PaginationResponseProviderProcessDTO>> getProviderProcesses(Long providerId) {
+        return providerProcesses.get(providerId);
+    }
+
+    /**
+     * Retrieves a provider process version based on the given process ID, from the cache if possible.
+     *
+     * @param providerProcessId the ID of the provider process for which to retrieve the version
+     * @return a Mono containing the response entity with the provider process version
+     */
+    @Override
+    public Mono<ResponseEntity<ProviderProcessVersionDTO>> getProviderProcessVersion(Long providerProcessId) {
+        return providerProcessVersions.get(providerProcessId);
+    }
+
+    private record Entry<T>(ResponseEntity<T> response, String etag, long loadedAt) {
+    }
+
+    /**
+     * Cache of the responses of one Configuration Management operation.
+     */
+    private static final class ResponseCache<K, T> {
+        private final String name;
+        private final Function<K, Mono<ResponseEntity<T>>> loader;
+        private final boolean enabled;
+        private final long ttlNanos;
+        private final long refreshAheadNanos;
+        private final long staleIfErrorNanos;
+        private final Map<K, Entry<T>> entries = new ConcurrentHashMap<>();
+        private final Map<K, CompletableFuture<ResponseEntity<T>>> loading = new ConcurrentHashMap<>();
+        private final Counter hits;
+        private final Counter misses;
+        private final Counter revalidated;
+        private final Counter stale;
+
+        private ResponseCache(String name, Function<K, Mono<ResponseEntity<T>>> loader,
+                              ConfigMgmtProperties.Cache properties, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.loader = loader;
+            this.enabled = properties.isEnabled();
+            this.ttlNanos = properties.getTtl().toNanos();
+            this.refreshAheadNanos = properties.getRefreshAhead().toNanos();
+            this.staleIfErrorNanos = properties.getStaleIfError().toNanos();
+
+            this.hits = counter("hit", meterRegistry);
+            this.misses = counter("miss", meterRegistry);
+            this.revalidated = counter("revalidated", meterRegistry);
+            this.stale = counter("stale", meterRegistry);
+            Gauge.builder("orchestrator.config.cache.size", entries, Map::size)
+                    .tag("cache", name)
+                    .description("Responses held in the Configuration Management cache")
+                    .register(meterRegistry);
+        }
+
+        private Counter counter(String result, MeterRegistry meterRegistry) {
+            return Counter.builder("orchestrator.config.cache")
+                    .tag("cache", name)
+                    .tag("result", result)
+                    .description("Lookups in the Configuration Management cache")
+                    .register(meterRegistry);
+        }
+
+        private Mono<ResponseEntity<T>> get(K key) {
+            if (!enabled) {
+                return loader.apply(key);
+            }
+            return Mono.defer(() -> {
+                Entry<T> entry = entries.get(key);
+                if (entry != null) {
+                    long age = System.nanoTime() - entry.loadedAt();
+                    if (age < ttlNanos) {
+                        hits.increment();
+                        if (age >= refreshAheadNanos) {
+                            load(key, entry);
+                        }
+                        return Mono.just(entry.response());
+                    }
+                }
+                misses.increment();
+                // Do not cancel the shared load when one of its callers goes away
+                return Mono.fromFuture(load(key, entry), true);
+            });
+        }
+
+        /**
+         * Loads a key, joining the load already running for it.
+         */
+        private CompletableFuture<ResponseEntity<T>> load(K key, Entry<T> cached) {
+            CompletableFuture<ResponseEntity<T>> future = loading.get(key);
+            if (future != null) {
+                return future;
+            }
+            CompletableFuture<ResponseEntity<T>> started = new CompletableFuture<>();
+            future = loading.putIfAbsent(key, started);
+            if (future != null) {
+                return future;
+            }
+            fetch(key, cached).subscribe(started::complete, started::completeExceptionally);
+            started.whenComplete((response, error) -> loading.remove(key, started));
+            return started;
+        }
+
+        private Mono<ResponseEntity<T>> fetch(K key, Entry<T> cached) {
+            Mono<ResponseEntity<T>> call = loader.apply(key);
+            if (cached != null && cached.etag() != null) {
+                call = call.contextWrite(ConditionalRequests.ifNoneMatch(cached.etag()));
+            }
+            return call
+                    .map(response -> {
+                        if (cached != null && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                            revalidated.increment();
+                            entries.put(key, new Entry<>(cached.response(), cached.etag(), System.nanoTime()));
+                            return cached.response();
+                        }
+                        entries.put(key, new Entry<>(response, response.getHeaders().getETag(), System.nanoTime()));
+                        return response;
+                    })
+                    .onErrorResume(e -> {
+                        Entry<T> current = entries.get(key);
+                        if (current == null || System.nanoTime() - current.loadedAt() >= ttlNanos + staleIfErrorNanos) {
+                            return Mono.error(e);
+                        }
+                        stale.increment();
+                        log.warn("Serving cached {} for {} after a failed refresh: {}", name, key, e.getMessage());
+                        return Mono.just(current.response());
+                    });
+        }
+    }
+}
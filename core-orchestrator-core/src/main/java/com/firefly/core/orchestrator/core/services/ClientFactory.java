@@ -1,5 +1,7 @@
 package com.firefly.core.orchestrator.core.services;
 
+import com.firefly.core.orchestrator.core.http.ConditionalRequests;
+import com.firefly.core.orchestrator.core.http.HttpClients;
 import com.firefly.core.orchestrator.core.properties.ConfigMgmtProperties;
 import com.firefly.core.orchestrator.core.properties.NotificationsProperties;
 import com.firefly.core.orchestrator.core.properties.ScaProperties;
@@ -19,15 +21,17 @@ public class ClientFactory{
     private final NotificationsProperties notificationsProperties;
     private final ConfigMgmtProperties configMgmtProperties;
     private final ObjectMapper objectMapper;
+    private final HttpClients httpClients;
 
     @Autowired
     public ClientFactory(ScaProperties scaProperties,
                          NotificationsProperties notificationsProperties, ConfigMgmtProperties configMgmtProperties,
-                         ObjectMapper objectMapper) {
+                         ObjectMapper objectMapper, HttpClients httpClients) {
         this.scaProperties = scaProperties;
         this.notificationsProperties = notificationsProperties;
         this.configMgmtProperties = configMgmtProperties;
         this.objectMapper = objectMapper;
+        this.httpClients = httpClients;
     }
 
     /**
@@ -37,7 +41,10 @@ public class ClientFactory{
      */
     @Bean
     public com.firefly.common.sca.sdk.invoker.ApiClient createSCAClient() {
-        com.firefly.common.sca.sdk.invoker.ApiClient apiClient = new com.firefly.common.sca.sdk.invoker.ApiClient();
+        com.firefly.common.sca.sdk.invoker.ApiClient apiClient = new com.firefly.common.sca.sdk.invoker.ApiClient(
+                com.firefly.common.sca.sdk.invoker.ApiClient.buildWebClientBuilder()
+                        .clientConnector(httpClients.connector(HttpClients.SCA, scaProperties.getBasePath()))
+                        .build());
         apiClient.setBasePath(scaProperties.getBasePath());
         return apiClient;
     }
@@ -49,7 +56,10 @@ public class ClientFactory{
      */
     @Bean
     public com.firefly.common.platform.notification.services.sdk.invoker.ApiClient createNotificationsClient() {
-        com.firefly.common.platform.notification.services.sdk.invoker.ApiClient apiClient = new com.firefly.common.platform.notification.services.sdk.invoker.ApiClient();
+        com.firefly.common.platform.notification.services.sdk.invoker.ApiClient apiClient = new com.firefly.common.platform.notification.services.sdk.invoker.ApiClient(
+                com.firefly.common.platform.notification.services.sdk.invoker.ApiClient.buildWebClientBuilder()
+                        .clientConnector(httpClients.connector(HttpClients.NOTIFICATIONS, notificationsProperties.getBasePath()))
+                        .build());
         apiClient.setBasePath(notificationsProperties.getBasePath());
         return apiClient;
     }
@@ -61,7 +71,11 @@ public class ClientFactory{
      */
     @Bean
     public com.firefly.common.config.sdk.invoker.ApiClient createConfigMgmtClient() {
-        com.firefly.common.config.sdk.invoker.ApiClient apiClient = new com.firefly.common.config.sdk.invoker.ApiClient();
+        com.firefly.common.config.sdk.invoker.ApiClient apiClient = new com.firefly.common.config.sdk.invoker.ApiClient(
+                com.firefly.common.config.sdk.invoker.ApiClient.buildWebClientBuilder()
+                        .clientConnector(httpClients.connector(HttpClients.CONFIG_MGMT, configMgmtProperties.getBasePath()))
+                        .filter(ConditionalRequests.filter())
+                        .build());
         apiClient.setBasePath(configMgmtProperties.getBasePath());
         return apiClient;
     }
@@ -7,14 +7,15 @@ import com.firefly.common.config.sdk.model.FilterRequestProviderProcessDTO;
 import com.firefly.common.config.sdk.model.PaginationResponseProviderProcessDTO;
 import com.firefly.common.config.sdk.model.ProviderProcessDTO;
 import com.firefly.common.config.sdk.model.ProviderProcessVersionDTO;
+import com.firefly.core.orchestrator.core.idempotency.IdempotencyKeys;
+import com.firefly.core.orchestrator.core.resilience.DownstreamGuard;
+import com.firefly.core.orchestrator.core.resilience.DownstreamGuards;
 import com.firefly.core.orchestrator.interfaces.services.ConfigMgmtService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
-import java.util.UUID;
-
 /**
  * Implementation of the ConfigMgmtService interface.
  * Provides methods for retrieving provider processes and their versions from the Configuration Management API.
@@ -24,17 +25,20 @@ public class ConfigMgmtClient implements ConfigMgmtService {
 
     private final ProvidersApi providersApi;
     private final ProviderProcessVersionsApi providerProcessVersionsApi;
+    private final DownstreamGuard guard;
 
     /**
      * Creates a new ConfigMgmtClient with the specified API client.
      *
      * @param apiClient the API client to use for configuration management operations
+     * @param downstreamGuards the registry providing the guard isolating calls to the service
      */
     @Autowired
-    public ConfigMgmtClient(ApiClient apiClient) {
+    public ConfigMgmtClient(ApiClient apiClient, DownstreamGuards downstreamGuards) {
         this.providersApi = new ProvidersApi(apiClient);
         this.providerProcessVersionsApi = new ProviderProcessVersionsApi(apiClient);
 
+        this.guard = downstreamGuards.guard(DownstreamGuards.CONFIG_MGMT);
     }
 
     /**
@@ -49,10 +53,8 @@ public class ConfigMgmtClient implements ConfigMgmtService {
         FilterRequestProviderProcessDTO filterRequestProviderProcessDTO = new FilterRequestProviderProcessDTO();
         filterRequestProviderProcessDTO.setFilters(new ProviderProcessDTO());
 
-        // Generate a random xIdempotencyKey
-        String xIdempotencyKey = UUID.randomUUID().toString();
-
-        return providersApi.filterProviderProcessesWithHttpInfo(providerId, filterRequestProviderProcessDTO, xIdempotencyKey);
+        return IdempotencyKeys.resolve("filter-provider-processes").flatMap(xIdempotencyKey ->
+                guard.protect(() -> providersApi.filterProviderProcessesWithHttpInfo(providerId, filterRequestProviderProcessDTO, xIdempotencyKey)));
     }
 
     /**
@@ -63,11 +65,7 @@ public class ConfigMgmtClient implements ConfigMgmtService {
      */
     @Override
     public Mono<ResponseEntity<ProviderProcessVersionDTO>> getProviderProcessVersion(Long providerProcessId) {
-
-        // Generate a random xIdempotencyKey
-        String xIdempotencyKey = UUID.randomUUID().toString();
-
-        return providerProcessVersionsApi.getProviderProcessVersionById1WithHttpInfo(providerProcessId);
+        return guard.protect(() -> providerProcessVersionsApi.getProviderProcessVersionById1WithHttpInfo(providerProcessId));
     }
 
 
@@ -4,6 +4,8 @@ import com.firefly.baas.adapter.CustomerAdapter;
 import com.firefly.baas.dtos.customers.LegalPersonAdapterDTO;
 import com.firefly.baas.dtos.customers.NaturalPersonAdapterDTO;
 import com.firefly.baas.dtos.customers.TaxResidenceAdapterDTO;
+import com.firefly.core.orchestrator.core.resilience.DownstreamGuard;
+import com.firefly.core.orchestrator.core.resilience.DownstreamGuards;
 import com.firefly.core.orchestrator.interfaces.dtos.accounts.LegalPersonRequest;
 import com.firefly.core.orchestrator.interfaces.dtos.accounts.NaturalPersonRequest;
 import com.firefly.core.orchestrator.interfaces.dtos.accounts.TaxResidenceRequest;
@@ -36,6 +38,7 @@ public class CustomerClient implements CustomerService {
     private final NaturalPersonMapper naturalPersonMapper;
     private final TaxResidenceMapper taxResidenceMapper;
     private final CustomerMapper customerMapper;
+    private final DownstreamGuard guard;
 
     /**
      * Creates a new CustomerClient with the specified adapter and mappers.
@@ -45,18 +48,21 @@ public class CustomerClient implements CustomerService {
      * @param naturalPersonMapper the mapper for converting between natural person DTOs
      * @param taxResidenceMapper the mapper for converting between tax residence DTOs
      * @param customerMapper the mapper for converting between customer DTOs
+     * @param downstreamGuards the registry providing the guard isolating calls to the service
      */
     @Autowired
     public CustomerClient(CustomerAdapter customerAdapter,
                           LegalPersonMapper legalPersonMapper,
                           NaturalPersonMapper naturalPersonMapper,
                           TaxResidenceMapper taxResidenceMapper,
-                          CustomerMapper customerMapper) {
+                          CustomerMapper customerMapper,
+                          DownstreamGuards downstreamGuards) {
         this.customerAdapter = customerAdapter;
         this.legalPersonMapper = legalPersonMapper;
         this.naturalPersonMapper = naturalPersonMapper;
         this.taxResidenceMapper = taxResidenceMapper;
         this.customerMapper = customerMapper;
+        this.guard = downstreamGuards.guard(DownstreamGuards.CUSTOMER);
     }
 
     /**
@@ -70,7 +76,7 @@ public class CustomerClient implements CustomerService {
         log.info("Creating legal person: {}", legalPersonRequest.legalName());
 
         // Call the external microservice
-        return customerAdapter.createLegalPerson(legalPersonMapper.requestToDTO(legalPersonRequest))
+        return guard.protect(() -> customerAdapter.createLegalPerson(legalPersonMapper.requestToDTO(legalPersonRequest)))
                 .mapNotNull(ResponseEntity::getBody)
                 .map(customerMapper::legalPersonDTOToResponse);
     }
@@ -86,7 +92,7 @@ public class CustomerClient implements CustomerService {
         log.info("Creating natural person: {}", naturalPersonRequest.firstname());
 
         // Call the external microservice
-        return customerAdapter.createNaturalPerson(naturalPersonMapper.requestToDTO(naturalPersonRequest))
+        return guard.protect(() -> customerAdapter.createNaturalPerson(naturalPersonMapper.requestToDTO(naturalPersonRequest)))
                 .mapNotNull(ResponseEntity::getBody)
                 .map(customerMapper::naturalPersonDTOToResponse);
     }
@@ -102,7 +108,7 @@ public class CustomerClient implements CustomerService {
         log.info("Creating tax residence for userID: {}", taxResidenceRequest.userId());
 
         // Call the external microservice
-        return customerAdapter.createTaxResidence(taxResidenceMapper.requestToDTO(taxResidenceRequest))
+        return guard.protect(() -> customerAdapter.createTaxResidence(taxResidenceMapper.requestToDTO(taxResidenceRequest)))
                 .mapNotNull(ResponseEntity::getBody);
     }
 
@@ -117,7 +123,7 @@ public class CustomerClient implements CustomerService {
         log.info("Starting KYC review for user ID: {}", userId);
 
         // Call the external microservice
-        return customerAdapter.requestKYC(userId)
+        return guard.protect(() -> customerAdapter.requestKYC(userId))
                 .mapNotNull(ResponseEntity::getBody);
     }
 
@@ -132,7 +138,7 @@ public class CustomerClient implements CustomerService {
         log.info("Starting KYB review for user ID: {}", userId);
 
         // Call the external microservice
-        return customerAdapter.requestKYB(userId)
+        return guard.protect(() -> customerAdapter.requestKYB(userId))
                 .mapNotNull(ResponseEntity::getBody);
     }
 
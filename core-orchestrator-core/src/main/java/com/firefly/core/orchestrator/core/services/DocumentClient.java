@@ -2,6 +2,8 @@ package com.firefly.core.orchestrator.core.services;
 
 import com.firefly.baas.adapter.DocumentAdapter;
 import com.firefly.baas.dtos.documents.DocumentAdapterDTO;
+import com.firefly.core.orchestrator.core.resilience.DownstreamGuard;
+import com.firefly.core.orchestrator.core.resilience.DownstreamGuards;
 import com.firefly.core.orchestrator.interfaces.dtos.documents.DocumentRequest;
 import com.firefly.core.orchestrator.interfaces.dtos.documents.DocumentResponse;
 import com.firefly.core.orchestrator.interfaces.mappers.DocumentMapper;
@@ -23,17 +25,21 @@ public class DocumentClient implements DocumentService {
 
     private final DocumentAdapter documentAdapter;
     private final DocumentMapper documentMapper;
+    private final DownstreamGuard guard;
 
     /**
      * Creates a new DocumentClient with the specified adapter and mapper.
      *
      * @param documentAdapter the adapter for interacting with the BaaS system
      * @param documentMapper the mapper for converting between DTOs
+     * @param downstreamGuards the registry providing the guard isolating calls to the service
      */
     @Autowired
-    public DocumentClient(DocumentAdapter documentAdapter, DocumentMapper documentMapper) {
+    public DocumentClient(DocumentAdapter documentAdapter, DocumentMapper documentMapper,
+                          DownstreamGuards downstreamGuards) {
         this.documentAdapter = documentAdapter;
         this.documentMapper = documentMapper;
+        this.guard = downstreamGuards.guard(DownstreamGuards.DOCUMENT);
     }
 
     /**
@@ -47,7 +53,7 @@ public class DocumentClient implements DocumentService {
         log.info("Creating document: {}", documentRequest.name());
 
         // Call the external microservice
-        return documentAdapter.createDocument(documentMapper.requestToDTO(documentRequest))
+        return guard.protect(() -> documentAdapter.createDocument(documentMapper.requestToDTO(documentRequest)))
                 .mapNotNull(ResponseEntity::getBody)
                 .map(documentMapper::dtoToResponse)
                 .doOnError(WebClientResponseException.class, e -> 
@@ -7,6 +7,9 @@ import com.firefly.common.platform.notification.services.sdk.model.EmailRequestD
 import com.firefly.common.platform.notification.services.sdk.model.EmailResponseDTO;
 import com.firefly.common.platform.notification.services.sdk.model.SMSRequestDTO;
 import com.firefly.common.platform.notification.services.sdk.model.SMSResponseDTO;
+import com.firefly.core.orchestrator.core.idempotency.IdempotencyKeys;
+import com.firefly.core.orchestrator.core.resilience.DownstreamGuard;
+import com.firefly.core.orchestrator.core.resilience.DownstreamGuards;
 import com.firefly.core.orchestrator.interfaces.dtos.notifications.CreateChallengeRequest;
 import com.firefly.core.orchestrator.interfaces.dtos.notifications.SendNotificationRequest;
 import com.firefly.core.orchestrator.interfaces.services.NotificationsService;
@@ -16,12 +19,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
-import java.util.Random;
-import java.util.UUID;
+import java.security.SecureRandom;
 
 /**
  * Implementation of the NotificationsService interface.
  * Provides methods for sending email and SMS notifications using the Notification Services API.
+ * <p>
+ * Sends carry an idempotency key derived from the job they run for and the message's verification code,
+ * so the service deduplicates a repeated send of the same message. Verification codes are random; a
+ * re-activated job whose send completed replays its recorded result, code included, instead of sending again.
  */
 @Service
 @Slf4j
@@ -29,16 +35,20 @@ public class NotificationsClient implements NotificationsService {
 
     private final EmailNotificationsApi emailNotificationsApi;
     private final SmsNotificationsApi smsNotificationsApi;
+    private final DownstreamGuard guard;
+    private final SecureRandom random = new SecureRandom();
 
     /**
      * Creates a new NotificationsClient with the specified API client.
      *
      * @param apiClient the API client to use for email and SMS notifications
+     * @param downstreamGuards the registry providing the guard isolating calls to the service
      */
     @Autowired
-    public NotificationsClient(ApiClient apiClient) {
+    public NotificationsClient(ApiClient apiClient, DownstreamGuards downstreamGuards) {
         this.emailNotificationsApi = new EmailNotificationsApi(apiClient);
         this.smsNotificationsApi = new SmsNotificationsApi(apiClient);
+        this.guard = downstreamGuards.guard(DownstreamGuards.NOTIFICATIONS);
     }
 
     /**
@@ -50,13 +60,14 @@ public class NotificationsClient implements NotificationsService {
      */
     @Override
     public Mono<ResponseEntity<EmailResponseDTO>> sendEmail(String verificationCode, SendNotificationRequest sendNotificationRequest){
-        String idempotencyKey = UUID.randomUUID().toString();
         EmailRequestDTO emailRequestDTO = new EmailRequestDTO();
                 emailRequestDTO.setFrom("firefly@firefly.com");
                 emailRequestDTO.setTo(sendNotificationRequest.getTo());
                 emailRequestDTO.setSubject("Firefly Verification Email");
                 emailRequestDTO.setHtml("Your verification code is: " + verificationCode + "\n\nThank you for using Firefly!");
-        return emailNotificationsApi.sendEmailWithHttpInfo(emailRequestDTO, idempotencyKey);
+        // A retry that never got its send recorded sends a new code, which must not be deduplicated into the old one
+        return IdempotencyKeys.resolve("send-email:" + verificationCode).flatMap(idempotencyKey ->
+                guard.protect(() -> emailNotificationsApi.sendEmailWithHttpInfo(emailRequestDTO, idempotencyKey)));
     }
 
     /**
@@ -68,11 +79,12 @@ public class NotificationsClient implements NotificationsService {
      */
     @Override
     public Mono<ResponseEntity<SMSResponseDTO>> sendSMS(String verificationCode, SendNotificationRequest sendNotificationRequest){
-        String idempotencyKey = UUID.randomUUID().toString();
         SMSRequestDTO smsRequestDTO = new SMSRequestDTO();
         smsRequestDTO.setMessage("Your verification code is: " + verificationCode + "\n\nThank you for using Firefly!");
         smsRequestDTO.setPhoneNumber(sendNotificationRequest.getTo());
-        return smsNotificationsApi.sendSMSWithHttpInfo(smsRequestDTO, idempotencyKey);
+        // A retry that never got its send recorded sends a new code, which must not be deduplicated into the old one
+        return IdempotencyKeys.resolve("send-sms:" + verificationCode).flatMap(idempotencyKey ->
+                guard.protect(() -> smsNotificationsApi.sendSMSWithHttpInfo(smsRequestDTO, idempotencyKey)));
     }
 
     /**
@@ -139,6 +151,6 @@ public class NotificationsClient implements NotificationsService {
      * @return the generated verification code
      */
     private String generateVerificationCode() {
-        return String.format("%06d", new Random().nextInt(1000000));
+        return String.format("%06d", random.nextInt(1000000));
     }
 }
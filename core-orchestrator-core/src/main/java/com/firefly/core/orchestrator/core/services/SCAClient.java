@@ -6,6 +6,9 @@ import com.firefly.common.sca.sdk.invoker.ApiClient;
 import com.firefly.common.sca.sdk.model.SCAChallengeDTO;
 import com.firefly.common.sca.sdk.model.SCAOperationDTO;
 import com.firefly.common.sca.sdk.model.ValidationResultDTO;
+import com.firefly.core.orchestrator.core.idempotency.IdempotencyKeys;
+import com.firefly.core.orchestrator.core.resilience.DownstreamGuard;
+import com.firefly.core.orchestrator.core.resilience.DownstreamGuards;
 import com.firefly.core.orchestrator.interfaces.dtos.notifications.NotificationRequest;
 import com.firefly.core.orchestrator.interfaces.services.SCAService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,7 +17,6 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 /**
  * Implementation of the SCAService interface.
@@ -25,16 +27,19 @@ public class SCAClient implements SCAService {
 
     private final ScaOperationControllerApi scaOperationApi;
     private final ScaChallengeControllerApi scaChallengeApi;
+    private final DownstreamGuard guard;
 
     /**
      * Creates a new SCAClient with the specified API client.
      *
      * @param apiClient the API client to use for SCA operations and challenges
+     * @param downstreamGuards the registry providing the guard isolating calls to the service
      */
     @Autowired
-    public SCAClient(ApiClient apiClient) {
+    public SCAClient(ApiClient apiClient, DownstreamGuards downstreamGuards) {
         this.scaOperationApi = new ScaOperationControllerApi(apiClient);
         this.scaChallengeApi = new ScaChallengeControllerApi(apiClient);
+        this.guard = downstreamGuards.guard(DownstreamGuards.SCA);
     }
 
     /**
@@ -45,16 +50,18 @@ public class SCAClient implements SCAService {
      */
     @Override
     public Mono<ResponseEntity<SCAOperationDTO>> createOperation(NotificationRequest notificationRequest){
-        String idempotencyKey = UUID.randomUUID().toString();
-
         // Create SCAOperationDTO from EmailRequest
         SCAOperationDTO scaOperationDTO = new SCAOperationDTO();
         scaOperationDTO.setCreatedAt(LocalDateTime.now());
         scaOperationDTO.setStatus(SCAOperationDTO.StatusEnum.PENDING);
         scaOperationDTO.setOperationType(SCAOperationDTO.OperationTypeEnum.ONBOARDING);
-        scaOperationDTO.setReferenceId(UUID.randomUUID().toString());
 
-        return scaOperationApi.createOperationWithHttpInfo(scaOperationDTO, idempotencyKey);
+        // The reference is derived like the key, so a retried job sends the same operation
+        return Mono.zip(IdempotencyKeys.resolve("sca-operation-reference"), IdempotencyKeys.resolve("sca-create-operation"))
+                .flatMap(keys -> {
+                    scaOperationDTO.setReferenceId(keys.getT1());
+                    return guard.protect(() -> scaOperationApi.createOperationWithHttpInfo(scaOperationDTO, keys.getT2()));
+                });
     }
 
     /**
@@ -66,12 +73,12 @@ public class SCAClient implements SCAService {
      */
     @Override
     public Mono<ResponseEntity<SCAChallengeDTO>> createChallenge(Long idOperation, String verificationCode){
-        String idempotencyKey = UUID.randomUUID().toString();
         SCAChallengeDTO challengeDTO = new SCAChallengeDTO();
         challengeDTO.setCreatedAt(LocalDateTime.now());
         challengeDTO.setChallengeCode(verificationCode);
         challengeDTO.setExpiresAt(LocalDateTime.now().plusMonths(1));
-        return scaChallengeApi.createChallengeWithHttpInfo(idOperation, challengeDTO, idempotencyKey);
+        return IdempotencyKeys.resolve("sca-create-challenge").flatMap(idempotencyKey ->
+                guard.protect(() -> scaChallengeApi.createChallengeWithHttpInfo(idOperation, challengeDTO, idempotencyKey)));
     }
 
     /**
@@ -83,8 +90,8 @@ public class SCAClient implements SCAService {
      */
     @Override
     public Mono<ResponseEntity<ValidationResultDTO>> validateSCA(Long idOperation, String code) {
-        String idempotencyKey = UUID.randomUUID().toString();
-        return scaOperationApi.validateSCAWithHttpInfo(idOperation, code, idempotencyKey);
+        return IdempotencyKeys.resolve("sca-validate").flatMap(idempotencyKey ->
+                guard.protect(() -> scaOperationApi.validateSCAWithHttpInfo(idOperation, code, idempotencyKey)));
     }
 
 }
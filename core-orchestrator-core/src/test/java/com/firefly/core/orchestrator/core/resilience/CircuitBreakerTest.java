@@ -0,0 +1,122 @@
+package com.firefly.core.orchestrator.core.resilience;
+
+import com.firefly.core.orchestrator.core.properties.ResilienceProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final ResilienceProperties.Policy policy = new ResilienceProperties.Policy();
+
+    @BeforeEach
+    void setUp() {
+        policy.setSlidingWindowSize(10);
+        policy.setMinimumCalls(4);
+        policy.setFailureRateThreshold(0.5);
+        policy.setOpenDuration(Duration.ofMinutes(1));
+        policy.setHalfOpenCalls(2);
+    }
+
+    @Test
+    void staysClosedBelowTheMinimumCalls() {
+        CircuitBreaker breaker = breaker();
+
+        fail(breaker, 3);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void opensAtTheFailureRateThresholdAndRejectsCalls() {
+        CircuitBreaker breaker = breaker();
+
+        succeed(breaker, 2);
+        fail(breaker, 2);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.remainingOpenNanos()).isPositive();
+    }
+
+    @Test
+    void forgetsOutcomesThatLeftTheWindow() {
+        CircuitBreaker breaker = breaker();
+
+        fail(breaker, 3);
+        succeed(breaker, 10);
+        fail(breaker, 4);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void closesOnceAllTrialCallsSucceed() {
+        policy.setOpenDuration(Duration.ZERO);
+        CircuitBreaker breaker = opened();
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.remainingOpenNanos()).isZero();
+    }
+
+    @Test
+    void reopensOnTheFirstFailedTrialCall() {
+        policy.setOpenDuration(Duration.ZERO);
+        CircuitBreaker breaker = opened();
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onFailure();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void returnsTheTrialPermitOfIgnoredCalls() {
+        policy.setOpenDuration(Duration.ZERO);
+        CircuitBreaker breaker = opened();
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onIgnored();
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    private CircuitBreaker breaker() {
+        return new CircuitBreaker("account", policy);
+    }
+
+    private CircuitBreaker opened() {
+        CircuitBreaker breaker = breaker();
+        fail(breaker, 4);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        return breaker;
+    }
+
+    private static void succeed(CircuitBreaker breaker, int calls) {
+        for (int i = 0; i < calls; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onSuccess();
+        }
+    }
+
+    private static void fail(CircuitBreaker breaker, int calls) {
+        for (int i = 0; i < calls; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onFailure();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.firefly.core.orchestrator.interfaces.dtos.process;
+
+/**
+ * Response object for one item of a batch process operation containing the position of the item
+ * in the request, the process instance key and status, or the error if the process could not be started.
+ */
+public record BatchProcessResponse(
+        Long index,
+        Long processInstanceKey,
+        String status,
+        String error
+) {
+}
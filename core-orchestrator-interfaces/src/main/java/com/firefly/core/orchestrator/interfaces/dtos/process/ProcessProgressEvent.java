@@ -0,0 +1,13 @@
+package com.firefly.core.orchestrator.interfaces.dtos.process;
+
+/**
+ * Progress event of a process instance, published when one of its steps finishes
+ * and once more when the process completes.
+ */
+public record ProcessProgressEvent(
+        Long processInstanceKey,
+        String step,
+        String status,
+        Long timestamp
+) {
+}
@@ -0,0 +1,13 @@
+package com.firefly.core.orchestrator.interfaces.dtos.process;
+
+/**
+ * Response object for process result lookups containing the process instance key, status and,
+ * once the process has completed, the result produced by its final task.
+ */
+public record ProcessResultResponse(
+        Long processInstanceKey,
+        String processId,
+        String status,
+        Object result
+) {
+}
@@ -0,0 +1,55 @@
+package com.firefly.core.orchestrator.web.actuator;
+
+import com.firefly.core.orchestrator.core.resilience.DownstreamGuard;
+import com.firefly.core.orchestrator.core.resilience.DownstreamGuards;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Actuator endpoint exposing the circuit breaker state and in-flight calls of every downstream service
+ * under {@code /actuator/downstream}.
+ */
+@Component
+@Endpoint(id = "downstream")
+public class DownstreamEndpoint {
+
+    private final DownstreamGuards downstreamGuards;
+
+    /**
+     * Constructs a new DownstreamEndpoint.
+     *
+     * @param downstreamGuards The registry of downstream service guards
+     */
+    @Autowired
+    public DownstreamEndpoint(DownstreamGuards downstreamGuards) {
+        this.downstreamGuards = downstreamGuards;
+    }
+
+    /**
+     * Reports the state of every downstream service.
+     *
+     * @return The breaker state and in-flight calls per service
+     */
+    @ReadOperation
+    public Map<String, ServiceState> services() {
+        Map<String, ServiceState> services = new TreeMap<>();
+        for (DownstreamGuard guard : downstreamGuards.all()) {
+            services.put(guard.getService(), new ServiceState(guard.getState(), guard.getInFlight()));
+        }
+        return services;
+    }
+
+    /**
+     * The state of a downstream service.
+     *
+     * @param circuitBreaker The state of the circuit breaker: CLOSED, HALF_OPEN or OPEN
+     * @param inFlight The number of calls currently in flight
+     */
+    public record ServiceState(String circuitBreaker, int inFlight) {
+    }
+}
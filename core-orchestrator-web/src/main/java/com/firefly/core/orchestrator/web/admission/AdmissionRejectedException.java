@@ -0,0 +1,38 @@
+package com.firefly.core.orchestrator.web.admission;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a process start is rejected by admission control.
+ */
+@Getter
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final String processId;
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new AdmissionRejectedException.
+     *
+     * @param processId The BPMN process ID whose start was rejected
+     * @param reason Why the start was rejected
+     * @param retryAfter How long the caller should wait before retrying
+     */
+    public AdmissionRejectedException(String processId, String reason, Duration retryAfter) {
+        super("Start of " + processId + " rejected: " + reason);
+        this.processId = processId;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns the Retry-After delay in whole seconds, rounded up and at least one second.
+     *
+     * @return The Retry-After delay in seconds
+     */
+    public long getRetryAfterSeconds() {
+        long millis = retryAfter.toMillis();
+        return Math.max(1, (millis + 999) / 1000);
+    }
+}
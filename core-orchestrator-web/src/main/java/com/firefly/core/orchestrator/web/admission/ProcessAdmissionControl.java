@@ -0,0 +1,221 @@
+package com.firefly.core.orchestrator.web.admission;
+
+import com.firefly.core.orchestrator.web.properties.AdmissionControlProperties;
+import io.camunda.zeebe.client.api.command.ClientStatusException;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control for process starts, keyed by BPMN process ID.
+ * Each process has a concurrency limit and an optional token-bucket rate limit. Starts beyond
+ * either limit are rejected immediately with an {@link AdmissionRejectedException}, so callers
+ * get a fast 429 instead of piling more work onto an overloaded broker or BaaS provider.
+ * <p>
+ * The concurrency limit adapts in an additive-increase, multiplicative-decrease fashion: it is
+ * cut sharply when the broker answers RESOURCE_EXHAUSTED, cut gently when a start or the wait
+ * for its completion exceeds the target latency or times out, and grows back by about one
+ * permit per limit's worth of successful starts, up to the configured maximum.
+ */
+@Component
+@Slf4j
+public class ProcessAdmissionControl {
+
+    private static final Permit UNLIMITED = error -> { };
+
+    private final AdmissionControlProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Gate> gates = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new ProcessAdmissionControl.
+     *
+     * @param properties The admission control configuration
+     * @param meterRegistry The registry for admission metrics
+     */
+    @Autowired
+    public ProcessAdmissionControl(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Admits a start of the given process or rejects it.
+     *
+     * @param processId The BPMN process ID to start
+     * @return A permit that must be released once the start, or the wait for its completion, ends
+     * @throws AdmissionRejectedException if the concurrency or rate limit of the process is reached
+     */
+    public Permit acquire(String processId) {
+        if (!properties.isEnabled()) {
+            return UNLIMITED;
+        }
+        Gate gate = gates.computeIfAbsent(processId, this::newGate);
+
+        if (gate.inFlight.incrementAndGet() > gate.limit()) {
+            gate.inFlight.decrementAndGet();
+            gate.rejectedByConcurrency.increment();
+            throw new AdmissionRejectedException(processId, "concurrency limit reached", properties.getRetryAfter());
+        }
+
+        long waitNanos = gate.tryTakeToken();
+        if (waitNanos > 0) {
+            gate.inFlight.decrementAndGet();
+            gate.rejectedByRate.increment();
+            throw new AdmissionRejectedException(processId, "rate limit reached", Duration.ofNanos(waitNanos));
+        }
+
+        long startNanos = System.nanoTime();
+        return error -> gate.release(error, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Checks whether an error signals that the broker is applying backpressure.
+     *
+     * @param error The error to inspect, including its causes
+     * @return true if the error or one of its causes is a RESOURCE_EXHAUSTED answer from the broker
+     */
+    public static boolean isBackpressure(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof ClientStatusException statusException
+                    && statusException.getStatusCode() == Status.Code.RESOURCE_EXHAUSTED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Gate newGate(String processId) {
+        AdmissionControlProperties.Limits limits =
+                properties.getProcesses().getOrDefault(processId, properties.getDefaults());
+        Gate gate = new Gate(processId, limits, properties.getAdaptive());
+
+        Gauge.builder("orchestrator.admission.limit", gate, Gate::limit)
+                .tag("process", processId)
+                .description("Current concurrency limit of process starts")
+                .register(meterRegistry);
+        Gauge.builder("orchestrator.admission.in.flight", gate.inFlight, AtomicInteger::get)
+                .tag("process", processId)
+                .description("Process starts currently admitted")
+                .register(meterRegistry);
+        gate.rejectedByConcurrency = rejectedCounter(processId, "concurrency");
+        gate.rejectedByRate = rejectedCounter(processId, "rate");
+        return gate;
+    }
+
+    private Counter rejectedCounter(String processId, String reason) {
+        return Counter.builder("orchestrator.admission.rejected")
+                .tag("process", processId)
+                .tag("reason", reason)
+                .description("Process starts rejected by admission control")
+                .register(meterRegistry);
+    }
+
+    /**
+     * An admitted process start.
+     */
+    @FunctionalInterface
+    public interface Permit {
+
+        /**
+         * Releases the permit and feeds the outcome into the adaptive limit.
+         *
+         * @param error The error the start or wait ended with, or null if it succeeded
+         */
+        void release(Throwable error);
+    }
+
+    private static final class Gate {
+        private final String processId;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final int maxLimit;
+        private final int minLimit;
+        private final AdmissionControlProperties.Adaptive adaptive;
+        private final long targetLatencyNanos;
+
+        // Token bucket, guarded by this
+        private final double tokensPerNano;
+        private final double burst;
+        private double tokens;
+        private long refilledAt;
+
+        private volatile double limit;
+        private Counter rejectedByConcurrency;
+        private Counter rejectedByRate;
+
+        private Gate(String processId, AdmissionControlProperties.Limits limits,
+                     AdmissionControlProperties.Adaptive adaptive) {
+            this.processId = processId;
+            this.maxLimit = limits.getMaxConcurrency();
+            this.minLimit = Math.min(adaptive.getMinConcurrency(), maxLimit);
+            this.adaptive = adaptive;
+            this.targetLatencyNanos = adaptive.getTargetLatency().toNanos();
+            this.tokensPerNano = limits.getRatePerSecond() / 1_000_000_000d;
+            this.burst = limits.getBurst() > 0 ? limits.getBurst() : Math.max(1, limits.getRatePerSecond());
+            this.tokens = burst;
+            this.refilledAt = System.nanoTime();
+            this.limit = maxLimit;
+        }
+
+        private int limit() {
+            return (int) limit;
+        }
+
+        /**
+         * Takes a token from the bucket.
+         *
+         * @return 0 if a token was taken, otherwise the nanoseconds until the next token is available
+         */
+        private synchronized long tryTakeToken() {
+            if (tokensPerNano <= 0) {
+                return 0;
+            }
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens--;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+
+        private void release(Throwable error, long latencyNanos) {
+            inFlight.decrementAndGet();
+            if (!adaptive.isEnabled()) {
+                return;
+            }
+            if (isBackpressure(error)) {
+                decrease(adaptive.getBackpressureDecrease());
+            } else if (error instanceof TimeoutException || latencyNanos > targetLatencyNanos) {
+                decrease(adaptive.getLatencyDecrease());
+            } else if (error == null) {
+                increase();
+            }
+        }
+
+        private synchronized void decrease(double factor) {
+            double previous = limit;
+            limit = Math.max(minLimit, previous * factor);
+            if ((int) previous != (int) limit) {
+                log.debug("Admission limit of {} lowered to {}", processId, (int) limit);
+            }
+        }
+
+        private synchronized void increase() {
+            if (limit < maxLimit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+}
@@ -1,16 +1,37 @@
 package com.firefly.core.orchestrator.web.controllers;
 
+import com.firefly.core.orchestrator.interfaces.dtos.process.BatchProcessResponse;
 import com.firefly.core.orchestrator.interfaces.dtos.process.ProcessResponse;
+import com.firefly.core.orchestrator.web.admission.AdmissionRejectedException;
+import com.firefly.core.orchestrator.web.admission.ProcessAdmissionControl;
+import com.firefly.core.orchestrator.web.properties.ProcessBatchProperties;
+import com.firefly.core.orchestrator.web.properties.ProcessCompletionProperties;
+import com.firefly.core.orchestrator.web.utils.ProcessCancellationService;
 import com.firefly.core.orchestrator.web.utils.ProcessCompletionRegistry;
+import com.firefly.core.orchestrator.web.utils.ProcessResultStore;
 import io.camunda.zeebe.client.ZeebeClient;
+import io.camunda.zeebe.client.api.JsonMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.lang.reflect.RecordComponent;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * REST controller that handles customer-related API endpoints.
@@ -32,70 +53,318 @@ public class BaseController {
     public static final String SEND_VERIFICATION_SMS = "send-verification-sms";
     public static final String VALIDATE_VERIFICATION_CODE = "validate-verification-code";
     public static final String STARTED = "started";
-    private static final int TIMEOUT_SECONDS = 30;
+    public static final String FAILED = "failed";
+    public static final String REJECTED = "rejected";
+    public static final String PREFER_HEADER = "Prefer";
+    public static final String RESPOND_ASYNC = "respond-async";
+    public static final String PROCESSES_PATH = "/api/v1/processes/";
+    private static final int RETRY_AFTER_SECONDS = 1;
 
     private final ZeebeClient zeebeClient;
     private final ProcessCompletionRegistry processCompletionRegistry;
+    private final ProcessCompletionProperties processCompletionProperties;
+    private final ProcessResultStore processResultStore;
+    private final ProcessBatchProperties processBatchProperties;
+    private final ProcessAdmissionControl processAdmissionControl;
+    private final ProcessCancellationService processCancellationService;
 
     /**
      * Constructs a new CustomerController with the specified Zeebe client.
      *
      * @param zeebeClient The client used to interact with the Camunda Zeebe workflow engine
+     * @param processCompletionRegistry The registry for tracking process completion
+     * @param processCompletionProperties The configuration for synchronous process completion
+     * @param processResultStore The store serving asynchronous result lookups
+     * @param processBatchProperties The configuration for batch process creation
+     * @param processAdmissionControl The admission control for process starts
+     * @param processCancellationService The service cancelling instances nobody waits for anymore
      */
     @Autowired
-    public BaseController(ZeebeClient zeebeClient, ProcessCompletionRegistry processCompletionRegistry) {
+    public BaseController(ZeebeClient zeebeClient, ProcessCompletionRegistry processCompletionRegistry,
+                          ProcessCompletionProperties processCompletionProperties,
+                          ProcessResultStore processResultStore, ProcessBatchProperties processBatchProperties,
+                          ProcessAdmissionControl processAdmissionControl,
+                          ProcessCancellationService processCancellationService) {
         this.zeebeClient = zeebeClient;
         this.processCompletionRegistry = processCompletionRegistry;
+        this.processCompletionProperties = processCompletionProperties;
+        this.processResultStore = processResultStore;
+        this.processBatchProperties = processBatchProperties;
+        this.processAdmissionControl = processAdmissionControl;
+        this.processCancellationService = processCancellationService;
     }
 
     /**
      * Helper method to start a Zeebe process with the given process ID and variables.
+     * The create-instance command is sent asynchronously, so no thread is parked while
+     * the broker acknowledges the new instance. The started instance is recorded in the
+     * {@link ProcessResultStore}, so its status can be looked up under {@value #PROCESSES_PATH}.
+     * The start is subject to admission control and fails with an {@link AdmissionRejectedException}
+     * when the process's limits are reached.
      *
      * @param processId The ID of the process to start
      * @param variables The variables to pass to the process
      * @param <T> The type of the variables
-     * @return A ProcessResponse containing the process instance key and status
+     * @return A Mono emitting a ProcessResponse containing the process instance key and status
      */
-    protected <T> ProcessResponse startProcess(String processId, T variables) {
-        log.info("Starting {} process", processId);
-
-        final var processInstanceEvent = zeebeClient.newCreateInstanceCommand()
-                .bpmnProcessId(processId)
-                .latestVersion()
-                .variables(variables)
-                .send()
-                .join();
-
-        return new ProcessResponse(
-                processInstanceEvent.getProcessInstanceKey(),
-                STARTED
-        );
+    protected <T> Mono<ProcessResponse> startProcess(String processId, T variables) {
+        return admitted(processId, () -> createInstance(processId, variables));
+    }
+
+    /**
+     * Sends the create-instance command and records the started instance.
+     *
+     * @param processId The ID of the process to start
+     * @param variables The variables to pass to the process
+     * @return A Mono emitting a ProcessResponse containing the process instance key and status
+     */
+    private Mono<ProcessResponse> createInstance(String processId, Object variables) {
+        return Mono.fromCompletionStage(() -> {
+                    log.info("Starting {} process", processId);
+                    return zeebeClient.newCreateInstanceCommand()
+                            .bpmnProcessId(processId)
+                            .latestVersion()
+                            .variables(variables)
+                            .send();
+                })
+                .doOnNext(processInstanceEvent -> processResultStore.recordStarted(
+                        processInstanceEvent.getProcessInstanceKey(), processId))
+                .map(processInstanceEvent -> new ProcessResponse(
+                        processInstanceEvent.getProcessInstanceKey(),
+                        STARTED
+                ));
+    }
+
+    /**
+     * Starts one process instance per item of a batch.
+     * Create-instance commands are pipelined over the Zeebe client's channel, with at most
+     * {@code orchestrator.batch.concurrency} commands in flight, and each item's outcome is emitted
+     * as soon as the broker answers. Items are consumed as they arrive, so JSON arrays and NDJSON
+     * streams are never materialized in full. A failed item does not abort the batch.
+     *
+     * @param processId The ID of the process to start
+     * @param items The variables of each process instance to start
+     * @param <T> The type of the variables
+     * @return A Flux emitting, in completion order, the process instance key or error of each item
+     */
+    protected <T> Flux<BatchProcessResponse> startProcesses(String processId, Flux<T> items) {
+        return items.index()
+                .flatMap(item -> startProcess(processId, item.getT2())
+                        .map(response -> new BatchProcessResponse(
+                                item.getT1(), response.processInstanceKey(), response.status(), null))
+                        .onErrorResume(e -> {
+                            log.error("Error starting {} process for batch item {}: {}", processId, item.getT1(), e.getMessage());
+                            String status = e instanceof AdmissionRejectedException ? REJECTED : FAILED;
+                            return Mono.just(new BatchProcessResponse(item.getT1(), null, status, e.getMessage()));
+                        }), processBatchProperties.getConcurrency());
+    }
+
+    /**
+     * Starts a process without waiting for its result.
+     * Responds with 202 Accepted and a Location header pointing at the process lookup endpoint,
+     * where the result can be fetched or long-polled once the process completes. The process is
+     * marked with the {@value ProcessCompletionRegistry#AWAITED_VARIABLE} variable, so its result is
+     * published to the replicas serving the lookups.
+     *
+     * @param processId The ID of the process to start
+     * @param variables The variables to pass to the process
+     * @return A Mono emitting a 202 response containing the process instance key and status
+     */
+    protected Mono<ResponseEntity<Object>> startProcessAsync(String processId, Object variables) {
+        Map<String, Object> awaitedVariables = toMap(variables);
+        awaitedVariables.put(ProcessCompletionRegistry.AWAITED_VARIABLE, true);
+        return startProcess(processId, awaitedVariables)
+                .<ResponseEntity<Object>>map(response -> ResponseEntity.accepted()
+                        .location(URI.create(PROCESSES_PATH + response.processInstanceKey()))
+                        .body(response));
+    }
+
+    /**
+     * Checks whether the client asked for an asynchronous response with {@code Prefer: respond-async}.
+     *
+     * @param prefer The value of the Prefer header, may be null
+     * @return true if the client prefers an asynchronous response
+     */
+    protected static boolean isAsyncPreferred(String prefer) {
+        return prefer != null && prefer.toLowerCase().contains(RESPOND_ASYNC);
+    }
+
+    /**
+     * Maps an error to the response returned to the client.
+     * Starts rejected by admission control, or refused by the broker because it is exhausted,
+     * are answered with 429 Too Many Requests and a Retry-After header; anything else with 500.
+     *
+     * @param error The error the request failed with
+     * @param <T> The type of the response body
+     * @return The error response
+     */
+    protected <T> ResponseEntity<T> errorResponse(Throwable error) {
+        if (error instanceof AdmissionRejectedException rejected) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(rejected.getRetryAfterSeconds()))
+                    .build();
+        }
+        if (ProcessAdmissionControl.isBackpressure(error)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS))
+                    .build();
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    }
+
+    /**
+     * Runs a process start under an admission permit of its process.
+     * The permit is held until the returned Mono terminates or is cancelled, and its outcome
+     * feeds the adaptive concurrency limit.
+     *
+     * @param processId The ID of the process to start
+     * @param start Supplies the start, subscribed only once admitted
+     * @param <T> The type of the result
+     * @return A Mono emitting the result of the start, or failing with an {@link AdmissionRejectedException}
+     */
+    private <T> Mono<T> admitted(String processId, Supplier<Mono<T>> start) {
+        return Mono.defer(() -> {
+            ProcessAdmissionControl.Permit permit = processAdmissionControl.acquire(processId);
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            return start.get()
+                    .doOnError(failure::set)
+                    .doFinally(signal -> permit.release(failure.get()));
+        });
     }
 
     /**
      * Waits for the process to complete using the process completion registry.
+     * The wait is non-blocking: the returned Mono is signalled by the registry when a worker
+     * completes the process, or fails with a {@link java.util.concurrent.TimeoutException}
+     * once the registry's timer wheel expires the wait.
      *
      * @param processInstanceKey The key of the process instance to wait for
+     * @param timeout How long to wait for the process to complete
      * @param <T> The type of the result that will be returned when the process completes
-     * @return The result of the process execution
-     * @throws ExecutionException If an error occurs during execution
-     * @throws InterruptedException If the thread is interrupted
-     * @throws TimeoutException If the process execution times out
+     * @return A Mono emitting the result of the process execution
      */
-    protected <T> T waitForProcessCompletion(long processInstanceKey) throws ExecutionException, InterruptedException, TimeoutException {
-        log.info("Waiting for process instance {} to complete", processInstanceKey);
+    protected <T> Mono<T> waitForProcessCompletion(long processInstanceKey, Duration timeout) {
+        return Mono.defer(() -> {
+            log.info("Waiting for process instance {} to complete", processInstanceKey);
 
-        try {
             // Register the process instance with the registry and get a future
-            // that will be completed when the process completes
-            CompletableFuture<T> completionFuture = processCompletionRegistry.registerProcess(processInstanceKey);
-
-            // Wait for the process to complete with a timeout
-            return completionFuture.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
-        } catch (Exception e) {
-            // Clean up the registry in case of an error
-            processCompletionRegistry.removeProcess(processInstanceKey);
-            throw e;
+            // that will be completed when the process completes or times out
+            CompletableFuture<T> completionFuture = processCompletionRegistry.registerProcess(
+                    processInstanceKey, timeout);
+            return Mono.fromFuture(completionFuture)
+                    // Clean up the registry if the caller goes away, leaving any newer waiter in place
+                    .doOnCancel(() -> processCompletionRegistry.removeProcess(processInstanceKey, completionFuture));
+        });
+    }
+
+    /**
+     * Starts a process and waits for its result.
+     * Processes listed in {@code orchestrator.process-completion.with-result-processes} are started
+     * with Zeebe's create-instance-with-result command, so the broker returns the final variables
+     * directly. All other processes wait on the process completion registry. The admission permit
+     * is held for the whole wait.
+     * <p>
+     * The wait is bounded by the process's timeout from {@code orchestrator.process-completion.timeouts}.
+     * The resulting deadline is passed to the process in the {@value ProcessCompletionRegistry#DEADLINE_VARIABLE}
+     * variable, so job workers can skip work once the caller has given up. Instances whose wait times
+     * out, or whose caller goes away, are handed to the {@link ProcessCancellationService}.
+     *
+     * @param processId The ID of the process to start
+     * @param variables The variables to pass to the process
+     * @param resultType The type of the result that will be returned when the process completes
+     * @param <T> The type of the result
+     * @return A Mono emitting the result of the process execution
+     */
+    protected <T> Mono<T> startProcessAndWait(String processId, Object variables, Class<T> resultType) {
+        return admitted(processId, () -> {
+            Duration timeout = processCompletionProperties.getTimeouts()
+                    .getOrDefault(processId, processCompletionProperties.getTimeout());
+            Instant deadline = Instant.now().plus(timeout);
+            Map<String, Object> variablesWithDeadline = withDeadline(variables, deadline);
+
+            if (processCompletionProperties.getWithResultProcesses().contains(processId)) {
+                return startProcessWithResult(processId, variablesWithDeadline, resultType, timeout);
+            }
+
+            variablesWithDeadline.put(ProcessCompletionRegistry.AWAITED_VARIABLE, true);
+            return createInstance(processId, variablesWithDeadline)
+                    .doOnNext(response -> log.info("Process instance started with key: {}", response.processInstanceKey()))
+                    // Wait for process completion for whatever is left of the deadline
+                    .flatMap(response -> this.<T>waitForProcessCompletion(response.processInstanceKey(),
+                                    Duration.between(Instant.now(), deadline))
+                            // Nobody will read the result, so stop the instance from doing further work
+                            .doOnError(TimeoutException.class, e -> processCancellationService.cancel(
+                                    response.processInstanceKey(), processId, ProcessCancellationService.TIMED_OUT))
+                            .doOnCancel(() -> processCancellationService.cancel(
+                                    response.processInstanceKey(), processId, ProcessCancellationService.CALLER_GONE)));
+        });
+    }
+
+    /**
+     * Starts a process with Zeebe's create-instance-with-result command.
+     * Only suitable for short linear flows: the broker holds the request until the instance ends.
+     *
+     * @param processId The ID of the process to start
+     * @param variables The variables to pass to the process
+     * @param resultType The type the final process variables are mapped to
+     * @param timeout How long the broker may take to complete the process
+     * @param <T> The type of the result
+     * @return A Mono emitting the result of the process execution
+     */
+    protected <T> Mono<T> startProcessWithResult(String processId, Object variables, Class<T> resultType,
+                                                 Duration timeout) {
+        return Mono.fromCompletionStage(() -> {
+                    log.info("Starting {} process with result", processId);
+                    return zeebeClient.newCreateInstanceCommand()
+                            .bpmnProcessId(processId)
+                            .latestVersion()
+                            .variables(variables)
+                            .withResult()
+                            .fetchVariables(resultVariables(resultType))
+                            .requestTimeout(timeout)
+                            .send();
+                })
+                .map(processInstanceResult -> processInstanceResult.getVariablesAsType(resultType));
+    }
+
+    /**
+     * Adds the caller's deadline to the variables of a process.
+     *
+     * @param variables The variables to pass to the process
+     * @param deadline The instant after which the caller no longer waits for the result
+     * @return The variables including the deadline
+     */
+    private Map<String, Object> withDeadline(Object variables, Instant deadline) {
+        Map<String, Object> merged = toMap(variables);
+        merged.put(ProcessCompletionRegistry.DEADLINE_VARIABLE, deadline.toEpochMilli());
+        return merged;
+    }
+
+    /**
+     * Converts the variables of a process to a mutable map with the Zeebe client's JSON mapper,
+     * so records and maps are treated alike.
+     *
+     * @param variables The variables to pass to the process
+     * @return The variables as a map
+     */
+    private Map<String, Object> toMap(Object variables) {
+        JsonMapper jsonMapper = zeebeClient.getConfiguration().getJsonMapper();
+        return new HashMap<>(jsonMapper.fromJsonAsMap(jsonMapper.toJson(variables)));
+    }
+
+    /**
+     * Resolves the variable names to fetch for a result type.
+     * An empty list makes the broker return all variables.
+     *
+     * @param resultType The result type
+     * @return The names of the record components, or an empty list for non-record types
+     */
+    private static List<String> resultVariables(Class<?> resultType) {
+        if (!resultType.isRecord()) {
+            return List.of();
         }
+        return Arrays.stream(resultType.getRecordComponents())
+                .map(RecordComponent::getName)
+                .toList();
     }
 }
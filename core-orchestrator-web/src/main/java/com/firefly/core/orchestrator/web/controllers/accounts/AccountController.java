@@ -1,9 +1,15 @@
 package com.firefly.core.orchestrator.web.controllers.accounts;
 
 import com.firefly.core.orchestrator.interfaces.dtos.accounts.AccountRequest;
+import com.firefly.core.orchestrator.interfaces.dtos.process.BatchProcessResponse;
 import com.firefly.core.orchestrator.interfaces.dtos.process.ProcessResponse;
+import com.firefly.core.orchestrator.web.admission.ProcessAdmissionControl;
 import com.firefly.core.orchestrator.web.controllers.BaseController;
+import com.firefly.core.orchestrator.web.properties.ProcessBatchProperties;
+import com.firefly.core.orchestrator.web.properties.ProcessCompletionProperties;
+import com.firefly.core.orchestrator.web.utils.ProcessCancellationService;
 import com.firefly.core.orchestrator.web.utils.ProcessCompletionRegistry;
+import com.firefly.core.orchestrator.web.utils.ProcessResultStore;
 import io.camunda.zeebe.client.ZeebeClient;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,12 +20,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * REST controller that handles account-related API endpoints.
@@ -36,8 +44,13 @@ public class AccountController extends BaseController {
      * @param zeebeClient The client used to interact with the Camunda Zeebe workflow engine
      */
     @Autowired
-    public AccountController(ZeebeClient zeebeClient, ProcessCompletionRegistry processCompletionRegistry) {
-        super(zeebeClient, processCompletionRegistry);
+    public AccountController(ZeebeClient zeebeClient, ProcessCompletionRegistry processCompletionRegistry,
+                             ProcessCompletionProperties processCompletionProperties,
+                             ProcessResultStore processResultStore, ProcessBatchProperties processBatchProperties,
+                             ProcessAdmissionControl processAdmissionControl,
+                             ProcessCancellationService processCancellationService) {
+        super(zeebeClient, processCompletionRegistry, processCompletionProperties, processResultStore,
+              processBatchProperties, processAdmissionControl, processCancellationService);
     }
 
     /**
@@ -57,6 +70,11 @@ public class AccountController extends BaseController {
             description = "Process started successfully",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProcessResponse.class))
         ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too many starts of this process, retry after the Retry-After delay",
+            content = @Content(mediaType = "application/json")
+        ),
         @ApiResponse(
             responseCode = "500", 
             description = "Internal server error",
@@ -64,17 +82,46 @@ public class AccountController extends BaseController {
         )
     })
     @PostMapping
-    public ResponseEntity<ProcessResponse> startCreateAccountProcess(
+    public Mono<ResponseEntity<ProcessResponse>> startCreateAccountProcess(
         @Parameter(description = "Account creation request details") 
         @RequestBody AccountRequest accountData) {
         log.info("Starting create-account process with data: {}", accountData);
 
-        try {
-            ProcessResponse response = startProcess(CREATE_ACCOUNT, accountData);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            log.error("Error starting process: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        return startProcess(CREATE_ACCOUNT, accountData)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    log.error("Error starting process: {}", e.getMessage());
+                    return Mono.just(errorResponse(e));
+                });
+    }
+
+    /**
+     * Starts one process per item to create an account.
+     * Accepts a JSON array or an NDJSON stream and streams back the outcome of each item.
+     *
+     * @param accounts The stream of account creation requests to be processed
+     * @return A stream containing the process instance key and status, or the error, of each item
+     */
+    @Operation(
+        operationId = "createAccountBatch",
+        summary = "Create accounts in batch",
+        description = "Starts one process per item of a JSON array or NDJSON stream and streams back the process instance key or error of each item"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Batch processed; each item reports its own status",
+            content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = BatchProcessResponse.class))
+        )
+    })
+    @PostMapping(value = "/batch",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+        produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<BatchProcessResponse> startCreateAccountProcesses(
+        @Parameter(description = "Stream of account creation requests")
+        @RequestBody Flux<AccountRequest> accounts) {
+        log.info("Starting create-account batch");
+
+        return startProcesses(CREATE_ACCOUNT, accounts);
     }
 }
@@ -3,9 +3,15 @@ package com.firefly.core.orchestrator.web.controllers.customers;
 import com.firefly.core.orchestrator.interfaces.dtos.accounts.LegalPersonRequest;
 import com.firefly.core.orchestrator.interfaces.dtos.accounts.NaturalPersonRequest;
 import com.firefly.core.orchestrator.interfaces.dtos.accounts.TaxResidenceRequest;
+import com.firefly.core.orchestrator.interfaces.dtos.process.BatchProcessResponse;
 import com.firefly.core.orchestrator.interfaces.dtos.process.ProcessResponse;
+import com.firefly.core.orchestrator.web.admission.ProcessAdmissionControl;
 import com.firefly.core.orchestrator.web.controllers.BaseController;
+import com.firefly.core.orchestrator.web.properties.ProcessBatchProperties;
+import com.firefly.core.orchestrator.web.properties.ProcessCompletionProperties;
+import com.firefly.core.orchestrator.web.utils.ProcessCancellationService;
 import com.firefly.core.orchestrator.web.utils.ProcessCompletionRegistry;
+import com.firefly.core.orchestrator.web.utils.ProcessResultStore;
 import io.camunda.zeebe.client.ZeebeClient;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,9 +22,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.Map;
 
@@ -37,8 +45,13 @@ public class CustomerController extends BaseController {
      * @param zeebeClient The client used to interact with the Camunda Zeebe workflow engine
      */
     @Autowired
-    public CustomerController(ZeebeClient zeebeClient, ProcessCompletionRegistry processCompletionRegistry) {
-        super(zeebeClient, processCompletionRegistry);
+    public CustomerController(ZeebeClient zeebeClient, ProcessCompletionRegistry processCompletionRegistry,
+                              ProcessCompletionProperties processCompletionProperties,
+                              ProcessResultStore processResultStore, ProcessBatchProperties processBatchProperties,
+                              ProcessAdmissionControl processAdmissionControl,
+                              ProcessCancellationService processCancellationService) {
+        super(zeebeClient, processCompletionRegistry, processCompletionProperties, processResultStore,
+              processBatchProperties, processAdmissionControl, processCancellationService);
     }
 
     /**
@@ -58,6 +71,11 @@ public class CustomerController extends BaseController {
             description = "Process started successfully",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProcessResponse.class))
         ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too many starts of this process, retry after the Retry-After delay",
+            content = @Content(mediaType = "application/json")
+        ),
         @ApiResponse(
             responseCode = "500", 
             description = "Internal server error",
@@ -65,18 +83,47 @@ public class CustomerController extends BaseController {
         )
     })
     @PostMapping(value = "/create-legal-person")
-    public ResponseEntity<ProcessResponse> startCreateLegalPersonProcess(
+    public Mono<ResponseEntity<ProcessResponse>> startCreateLegalPersonProcess(
         @Parameter(description = "Legal person creation request details") 
         @RequestBody LegalPersonRequest userData) {
         log.info("Starting create-legal-person process with data: {}", userData);
 
-        try {
-            ProcessResponse response = startProcess(CREATE_LEGAL_PERSON, userData);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            log.error("Error starting process: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        return startProcess(CREATE_LEGAL_PERSON, userData)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    log.error("Error starting process: {}", e.getMessage());
+                    return Mono.just(errorResponse(e));
+                });
+    }
+
+    /**
+     * Starts one process per item to create a legal person.
+     * Accepts a JSON array or an NDJSON stream and streams back the outcome of each item.
+     *
+     * @param legalPersons The stream of legal person creation requests to be processed
+     * @return A stream containing the process instance key and status, or the error, of each item
+     */
+    @Operation(
+        operationId = "createLegalPersonBatch",
+        summary = "Create legal persons in batch",
+        description = "Starts one process per item of a JSON array or NDJSON stream and streams back the process instance key or error of each item"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Batch processed; each item reports its own status",
+            content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = BatchProcessResponse.class))
+        )
+    })
+    @PostMapping(value = "/create-legal-person/batch",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+        produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<BatchProcessResponse> startCreateLegalPersonProcesses(
+        @Parameter(description = "Stream of legal person creation requests")
+        @RequestBody Flux<LegalPersonRequest> legalPersons) {
+        log.info("Starting create-legal-person batch");
+
+        return startProcesses(CREATE_LEGAL_PERSON, legalPersons);
     }
 
     /**
@@ -96,6 +143,11 @@ public class CustomerController extends BaseController {
             description = "Process started successfully",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProcessResponse.class))
         ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too many starts of this process, retry after the Retry-After delay",
+            content = @Content(mediaType = "application/json")
+        ),
         @ApiResponse(
             responseCode = "500", 
             description = "Internal server error",
@@ -103,18 +155,47 @@ public class CustomerController extends BaseController {
         )
     })
     @PostMapping(value = "/create-natural-person")
-    public ResponseEntity<ProcessResponse> startCreateNaturalPersonProcess(
+    public Mono<ResponseEntity<ProcessResponse>> startCreateNaturalPersonProcess(
         @Parameter(description = "Natural person creation request details") 
         @RequestBody NaturalPersonRequest userData) {
         log.info("Starting create-natural-person process with data: {}", userData);
 
-        try {
-            ProcessResponse response = startProcess(CREATE_NATURAL_PERSON, userData);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            log.error("Error starting process: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        return startProcess(CREATE_NATURAL_PERSON, userData)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    log.error("Error starting process: {}", e.getMessage());
+                    return Mono.just(errorResponse(e));
+                });
+    }
+
+    /**
+     * Starts one process per item to create a natural person.
+     * Accepts a JSON array or an NDJSON stream and streams back the outcome of each item.
+     *
+     * @param naturalPersons The stream of natural person creation requests to be processed
+     * @return A stream containing the process instance key and status, or the error, of each item
+     */
+    @Operation(
+        operationId = "createNaturalPersonBatch",
+        summary = "Create natural persons in batch",
+        description = "Starts one process per item of a JSON array or NDJSON stream and streams back the process instance key or error of each item"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Batch processed; each item reports its own status",
+            content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = BatchProcessResponse.class))
+        )
+    })
+    @PostMapping(value = "/create-natural-person/batch",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+        produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<BatchProcessResponse> startCreateNaturalPersonProcesses(
+        @Parameter(description = "Stream of natural person creation requests")
+        @RequestBody Flux<NaturalPersonRequest> naturalPersons) {
+        log.info("Starting create-natural-person batch");
+
+        return startProcesses(CREATE_NATURAL_PERSON, naturalPersons);
     }
 
     /**
@@ -134,6 +215,11 @@ public class CustomerController extends BaseController {
             description = "Process started successfully",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProcessResponse.class))
         ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too many starts of this process, retry after the Retry-After delay",
+            content = @Content(mediaType = "application/json")
+        ),
         @ApiResponse(
             responseCode = "500", 
             description = "Internal server error",
@@ -141,18 +227,17 @@ public class CustomerController extends BaseController {
         )
     })
     @PostMapping(value = "/create-tax-residence")
-    public ResponseEntity<ProcessResponse> startCreateTaxResidenceProcess(
+    public Mono<ResponseEntity<ProcessResponse>> startCreateTaxResidenceProcess(
         @Parameter(description = "Tax residence creation request details") 
         @RequestBody TaxResidenceRequest userData) {
         log.info("Starting create-tax-residence-process with data: {}", userData);
 
-        try {
-            ProcessResponse response = startProcess(CREATE_TAX_RESIDENCE, userData);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            log.error("Error starting process: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        return startProcess(CREATE_TAX_RESIDENCE, userData)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    log.error("Error starting process: {}", e.getMessage());
+                    return Mono.just(errorResponse(e));
+                });
     }
 
     /**
@@ -172,6 +257,11 @@ public class CustomerController extends BaseController {
             description = "Process started successfully",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProcessResponse.class))
         ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too many starts of this process, retry after the Retry-After delay",
+            content = @Content(mediaType = "application/json")
+        ),
         @ApiResponse(
             responseCode = "500", 
             description = "Internal server error",
@@ -179,19 +269,18 @@ public class CustomerController extends BaseController {
         )
     })
     @PostMapping(value = "/{userId}/kycreview")
-    public ResponseEntity<ProcessResponse> startKycReviewProcess(
+    public Mono<ResponseEntity<ProcessResponse>> startKycReviewProcess(
         @Parameter(description = "ID of the user to review") 
         @PathVariable Integer userId) {
         log.info("Starting KYC review process for user ID: {}", userId);
 
-        try {
-            Map<String, Object> variables = Map.of("userId", userId);
-            ProcessResponse response = startProcess(USER_KYC_REVIEW, variables);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            log.error("Error starting KYC review process: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        Map<String, Object> variables = Map.of("userId", userId);
+        return startProcess(USER_KYC_REVIEW, variables)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    log.error("Error starting KYC review process: {}", e.getMessage());
+                    return Mono.just(errorResponse(e));
+                });
     }
 
     /**
@@ -211,6 +300,11 @@ public class CustomerController extends BaseController {
             description = "Process started successfully",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProcessResponse.class))
         ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too many starts of this process, retry after the Retry-After delay",
+            content = @Content(mediaType = "application/json")
+        ),
         @ApiResponse(
             responseCode = "500", 
             description = "Internal server error",
@@ -218,18 +312,17 @@ public class CustomerController extends BaseController {
         )
     })
     @PostMapping(value = "/{userId}/kybreview")
-    public ResponseEntity<ProcessResponse> startKybReviewProcess(
+    public Mono<ResponseEntity<ProcessResponse>> startKybReviewProcess(
         @Parameter(description = "ID of the user to review") 
         @PathVariable Integer userId) {
         log.info("Starting KYB review process for user ID: {}", userId);
 
-        try {
-            Map<String, Object> variables = Map.of("userId", userId);
-            ProcessResponse response = startProcess(USER_KYB_REVIEW, variables);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            log.error("Error starting KYB review process: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        Map<String, Object> variables = Map.of("userId", userId);
+        return startProcess(USER_KYB_REVIEW, variables)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    log.error("Error starting KYB review process: {}", e.getMessage());
+                    return Mono.just(errorResponse(e));
+                });
     }
 }
@@ -1,9 +1,15 @@
 package com.firefly.core.orchestrator.web.controllers.documents;
 
 import com.firefly.core.orchestrator.interfaces.dtos.documents.DocumentRequest;
+import com.firefly.core.orchestrator.interfaces.dtos.process.BatchProcessResponse;
 import com.firefly.core.orchestrator.interfaces.dtos.process.ProcessResponse;
+import com.firefly.core.orchestrator.web.admission.ProcessAdmissionControl;
 import com.firefly.core.orchestrator.web.controllers.BaseController;
+import com.firefly.core.orchestrator.web.properties.ProcessBatchProperties;
+import com.firefly.core.orchestrator.web.properties.ProcessCompletionProperties;
+import com.firefly.core.orchestrator.web.utils.ProcessCancellationService;
 import com.firefly.core.orchestrator.web.utils.ProcessCompletionRegistry;
+import com.firefly.core.orchestrator.web.utils.ProcessResultStore;
 import io.camunda.zeebe.client.ZeebeClient;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,12 +20,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * REST controller that handles document-related API endpoints.
@@ -37,8 +45,13 @@ public class DocumentController extends BaseController {
      * @param zeebeClient The client used to interact with the Camunda Zeebe workflow engine
      */
     @Autowired
-    public DocumentController(ZeebeClient zeebeClient, ProcessCompletionRegistry processCompletionRegistry) {
-        super(zeebeClient, processCompletionRegistry);
+    public DocumentController(ZeebeClient zeebeClient, ProcessCompletionRegistry processCompletionRegistry,
+                              ProcessCompletionProperties processCompletionProperties,
+                              ProcessResultStore processResultStore, ProcessBatchProperties processBatchProperties,
+                              ProcessAdmissionControl processAdmissionControl,
+                              ProcessCancellationService processCancellationService) {
+        super(zeebeClient, processCompletionRegistry, processCompletionProperties, processResultStore,
+              processBatchProperties, processAdmissionControl, processCancellationService);
     }
 
     /**
@@ -58,6 +71,11 @@ public class DocumentController extends BaseController {
             description = "Process started successfully",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProcessResponse.class))
         ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too many starts of this process, retry after the Retry-After delay",
+            content = @Content(mediaType = "application/json")
+        ),
         @ApiResponse(
             responseCode = "500", 
             description = "Internal server error",
@@ -65,17 +83,46 @@ public class DocumentController extends BaseController {
         )
     })
     @PostMapping(value = "/create-document")
-    public ResponseEntity<ProcessResponse> startCreateDocumentProcess(
+    public Mono<ResponseEntity<ProcessResponse>> startCreateDocumentProcess(
         @Parameter(description = "Document creation request details") 
         @RequestBody DocumentRequest documentData) {
         log.info("Starting create-document process with data: {}", documentData);
 
-        try {
-            ProcessResponse response = startProcess(CREATE_DOCUMENT, documentData);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            log.error("Error starting process: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        return startProcess(CREATE_DOCUMENT, documentData)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    log.error("Error starting process: {}", e.getMessage());
+                    return Mono.just(errorResponse(e));
+                });
+    }
+
+    /**
+     * Starts one process per item to create a document.
+     * Accepts a JSON array or an NDJSON stream and streams back the outcome of each item.
+     *
+     * @param documents The stream of document creation requests to be processed
+     * @return A stream containing the process instance key and status, or the error, of each item
+     */
+    @Operation(
+        operationId = "createDocumentBatch",
+        summary = "Create documents in batch",
+        description = "Starts one process per item of a JSON array or NDJSON stream and streams back the process instance key or error of each item"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Batch processed; each item reports its own status",
+            content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = BatchProcessResponse.class))
+        )
+    })
+    @PostMapping(value = "/create-document/batch",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+        produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<BatchProcessResponse> startCreateDocumentProcesses(
+        @Parameter(description = "Stream of document creation requests")
+        @RequestBody Flux<DocumentRequest> documents) {
+        log.info("Starting create-document batch");
+
+        return startProcesses(CREATE_DOCUMENT, documents);
     }
 }
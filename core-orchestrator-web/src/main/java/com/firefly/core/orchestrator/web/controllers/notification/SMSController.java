@@ -5,8 +5,13 @@ import com.firefly.core.orchestrator.interfaces.dtos.notifications.SendNotificat
 import com.firefly.core.orchestrator.interfaces.dtos.notifications.ValidateCodeRequest;
 import com.firefly.core.orchestrator.interfaces.dtos.notifications.ValidateSCAResponse;
 import com.firefly.core.orchestrator.interfaces.dtos.process.ProcessResponse;
+import com.firefly.core.orchestrator.web.admission.ProcessAdmissionControl;
 import com.firefly.core.orchestrator.web.controllers.BaseController;
+import com.firefly.core.orchestrator.web.properties.ProcessBatchProperties;
+import com.firefly.core.orchestrator.web.properties.ProcessCompletionProperties;
+import com.firefly.core.orchestrator.web.utils.ProcessCancellationService;
 import com.firefly.core.orchestrator.web.utils.ProcessCompletionRegistry;
+import com.firefly.core.orchestrator.web.utils.ProcessResultStore;
 import io.camunda.zeebe.client.ZeebeClient;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,12 +22,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 /**
  * REST controller that handles SMS notification-related API endpoints.
@@ -40,15 +46,21 @@ public class SMSController extends BaseController {
      * @param zeebeClient The client used to interact with the Camunda Zeebe workflow engine
      */
     @Autowired
-    public SMSController(ZeebeClient zeebeClient, ProcessCompletionRegistry processCompletionRegistry) {
-        super(zeebeClient, processCompletionRegistry);
+    public SMSController(ZeebeClient zeebeClient, ProcessCompletionRegistry processCompletionRegistry,
+                         ProcessCompletionProperties processCompletionProperties,
+                         ProcessResultStore processResultStore, ProcessBatchProperties processBatchProperties,
+                         ProcessAdmissionControl processAdmissionControl,
+                         ProcessCancellationService processCancellationService) {
+        super(zeebeClient, processCompletionRegistry, processCompletionProperties, processResultStore,
+              processBatchProperties, processAdmissionControl, processCancellationService);
     }
 
     /**
      * Starts a process to send a verification SMS.
      *
      * @param notificationRequest The notification data to be processed
-     * @return A response containing the process instance key and status
+     * @param prefer The Prefer header; {@code respond-async} switches to asynchronous mode
+     * @return The result of the process, or a 202 response with the process instance key in asynchronous mode
      */
     @Operation(
         operationId = "sendVerificationSMS",
@@ -61,6 +73,16 @@ public class SMSController extends BaseController {
             description = "Process started successfully",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = SendNotificationResponse.class))
         ),
+        @ApiResponse(
+            responseCode = "202",
+            description = "Process started asynchronously; poll the Location header for the result",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProcessResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too many starts of this process, retry after the Retry-After delay",
+            content = @Content(mediaType = "application/json")
+        ),
         @ApiResponse(
             responseCode = "500", 
             description = "Internal server error",
@@ -68,29 +90,35 @@ public class SMSController extends BaseController {
         )
     })
     @PostMapping(value = "/send-verification")
-    public ResponseEntity<SendNotificationResponse> startSendVerificationSMSProcess(
+    public Mono<ResponseEntity<Object>> startSendVerificationSMSProcess(
         @Parameter(description = "SMS notification request details") 
-        @RequestBody NotificationRequest notificationRequest) {
+        @RequestBody NotificationRequest notificationRequest,
+        @Parameter(description = "Set to 'respond-async' to receive 202 with the process instance key instead of waiting for the result")
+        @RequestHeader(value = PREFER_HEADER, required = false) String prefer) {
         log.info("Starting send-verification-sms process with phone number: {}", notificationRequest.to());
 
-        try {
-            ProcessResponse response = startProcess(SEND_VERIFICATION_SMS, notificationRequest);
-            log.info("Process instance started with key: {}", response.processInstanceKey());
-
-            // Wait for process completion
-            SendNotificationResponse result = waitForProcessCompletion(response.processInstanceKey());
-            return ResponseEntity.ok(result);
-        } catch (Exception e) {
-            log.error("Error starting process: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        if (isAsyncPreferred(prefer)) {
+            return startProcessAsync(SEND_VERIFICATION_SMS, notificationRequest)
+                    .onErrorResume(e -> {
+                        log.error("Error starting process: {}", e.getMessage());
+                        return Mono.just(errorResponse(e));
+                    });
         }
+
+        return startProcessAndWait(SEND_VERIFICATION_SMS, notificationRequest, SendNotificationResponse.class)
+                .<ResponseEntity<Object>>map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    log.error("Error starting process: {}", e.getMessage());
+                    return Mono.just(errorResponse(e));
+                });
     }
 
     /**
      * Starts a process to validate a verification code.
      *
      * @param validateCodeRequest The validation data containing operation ID and verification code
-     * @return A response containing the process instance key and status
+     * @param prefer The Prefer header; {@code respond-async} switches to asynchronous mode
+     * @return The result of the process, or a 202 response with the process instance key in asynchronous mode
      */
     @Operation(
         operationId = "validateSMSVerificationCode",
@@ -103,6 +131,16 @@ public class SMSController extends BaseController {
             description = "Validation process started successfully",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ValidateSCAResponse.class))
         ),
+        @ApiResponse(
+            responseCode = "202",
+            description = "Process started asynchronously; poll the Location header for the result",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProcessResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too many starts of this process, retry after the Retry-After delay",
+            content = @Content(mediaType = "application/json")
+        ),
         @ApiResponse(
             responseCode = "500", 
             description = "Internal server error",
@@ -110,22 +148,26 @@ public class SMSController extends BaseController {
         )
     })
     @PostMapping(value = "/validate-code")
-    public ResponseEntity<ValidateSCAResponse> validateCode(
+    public Mono<ResponseEntity<Object>> validateCode(
         @Parameter(description = "Verification code validation request details") 
-        @RequestBody ValidateCodeRequest validateCodeRequest) {
+        @RequestBody ValidateCodeRequest validateCodeRequest,
+        @Parameter(description = "Set to 'respond-async' to receive 202 with the process instance key instead of waiting for the result")
+        @RequestHeader(value = PREFER_HEADER, required = false) String prefer) {
         log.info("Starting validate-verification-sms process for operation ID: {}", validateCodeRequest.idOperation());
 
-        try {
-            ProcessResponse response = startProcess(VALIDATE_VERIFICATION_CODE, validateCodeRequest);
-            log.info("Process instance started with key: {}", response.processInstanceKey());
-
-            // Wait for process completion
-            ValidateSCAResponse result = waitForProcessCompletion(response.processInstanceKey());
-
-            return ResponseEntity.ok(result);
-        } catch (Exception e) {
-            log.error("Error starting validation process: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        if (isAsyncPreferred(prefer)) {
+            return startProcessAsync(VALIDATE_VERIFICATION_CODE, validateCodeRequest)
+                    .onErrorResume(e -> {
+                        log.error("Error starting process: {}", e.getMessage());
+                        return Mono.just(errorResponse(e));
+                    });
         }
+
+        return startProcessAndWait(VALIDATE_VERIFICATION_CODE, validateCodeRequest, ValidateSCAResponse.class)
+                .<ResponseEntity<Object>>map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    log.error("Error starting validation process: {}", e.getMessage());
+                    return Mono.just(errorResponse(e));
+                });
     }
 }
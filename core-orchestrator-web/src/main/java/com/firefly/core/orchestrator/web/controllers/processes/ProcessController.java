@@ -0,0 +1,165 @@
+package com.firefly.core.orchestrator.web.controllers.processes;
+
+import com.firefly.core.orchestrator.interfaces.dtos.process.ProcessProgressEvent;
+import com.firefly.core.orchestrator.interfaces.dtos.process.ProcessResultResponse;
+import com.firefly.core.orchestrator.web.properties.ProcessResultProperties;
+import com.firefly.core.orchestrator.web.utils.ProcessProgressPublisher;
+import com.firefly.core.orchestrator.web.utils.ProcessResultStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * REST controller that handles process lookup API endpoints.
+ * Provides endpoints for fetching the status and result of processes started asynchronously
+ * and for streaming their progress.
+ */
+@RestController
+@RequestMapping("/api/v1/processes")
+@Slf4j
+@Tag(name = "Processes", description = "API endpoints for process status and result lookups")
+public class ProcessController {
+
+    private final ProcessResultStore processResultStore;
+    private final ProcessResultProperties processResultProperties;
+    private final ProcessProgressPublisher processProgressPublisher;
+
+    /**
+     * Constructs a new ProcessController with the specified result store.
+     *
+     * @param processResultStore The store holding process statuses and results
+     * @param processResultProperties The configuration of the process result store
+     * @param processProgressPublisher The publisher of process progress events
+     */
+    @Autowired
+    public ProcessController(ProcessResultStore processResultStore, ProcessResultProperties processResultProperties,
+                             ProcessProgressPublisher processProgressPublisher) {
+        this.processResultStore = processResultStore;
+        this.processResultProperties = processResultProperties;
+        this.processProgressPublisher = processProgressPublisher;
+    }
+
+    /**
+     * Looks up the status and result of a process instance.
+     * When {@code waitSeconds} is given and the process is still running, the request is held until
+     * the process completes or the wait elapses, capped at {@code orchestrator.process-results.max-wait}.
+     *
+     * @param processInstanceKey The key of the process instance
+     * @param waitSeconds How long to wait for the process to complete
+     * @return 200 with the result once completed, 202 while still running, or 404 if the process is unknown
+     */
+    @Operation(
+        operationId = "getProcessResult",
+        summary = "Get process status and result",
+        description = "Returns the status of a process instance and, once it has completed, its result. Supports long-polling."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Process completed",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProcessResultResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "202",
+            description = "Process still running",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProcessResultResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Process unknown or its result has expired",
+            content = @Content(mediaType = "application/json")
+        )
+    })
+    @GetMapping(value = "/{processInstanceKey}")
+    public Mono<ResponseEntity<ProcessResultResponse>> getProcessResult(
+        @Parameter(description = "The key of the process instance")
+        @PathVariable long processInstanceKey,
+        @Parameter(description = "Seconds to wait for the process to complete before responding")
+        @RequestParam(value = "waitSeconds", defaultValue = "0") long waitSeconds) {
+        Duration wait = Duration.ofSeconds(Math.max(0, waitSeconds));
+        if (wait.compareTo(processResultProperties.getMaxWait()) > 0) {
+            wait = processResultProperties.getMaxWait();
+        }
+
+        return processResultStore.await(processInstanceKey, wait)
+                .map(result -> ProcessResultStore.COMPLETED.equals(result.status())
+                        ? ResponseEntity.ok(result)
+                        : ResponseEntity.status(HttpStatus.ACCEPTED).body(result))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Streams the progress of a process instance as Server-Sent Events.
+     * Steps finished since the first stream of the instance opened are replayed first; the stream ends
+     * with a {@code completed} event once the process completes.
+     *
+     * @param processInstanceKey The key of the process instance
+     * @return A stream of progress events, named after their status
+     */
+    @Operation(
+        operationId = "streamProcessEvents",
+        summary = "Stream process progress",
+        description = "Streams step-level progress of a process instance as Server-Sent Events until the process completes"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Progress stream",
+            content = @Content(mediaType = "text/event-stream", schema = @Schema(implementation = ProcessProgressEvent.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Process unknown or its result has expired",
+            content = @Content(mediaType = "application/json")
+        )
+    })
+    @GetMapping(value = "/{processInstanceKey}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ProcessProgressEvent>> streamProcessEvents(
+        @Parameter(description = "The key of the process instance")
+        @PathVariable long processInstanceKey) {
+        return processResultStore.await(processInstanceKey, Duration.ZERO)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+                .flatMapMany(known -> ProcessResultStore.COMPLETED.equals(known.status())
+                        ? Flux.just(new ProcessProgressEvent(processInstanceKey, null, ProcessProgressPublisher.COMPLETED,
+                                System.currentTimeMillis()))
+                        : openStream(processInstanceKey))
+                .map(event -> ServerSentEvent.builder(event)
+                        .event(event.status())
+                        .build());
+    }
+
+    /**
+     * Opens the progress stream of a running process instance.
+     *
+     * @param processInstanceKey The key of the process instance
+     * @return A stream of progress events, ending when the process completes
+     */
+    private Flux<ProcessProgressEvent> openStream(long processInstanceKey) {
+        Flux<ProcessProgressEvent> events = processProgressPublisher.events(processInstanceKey);
+        // The process may have completed before the stream's channel was created
+        processResultStore.find(processInstanceKey)
+                .filter(result -> ProcessResultStore.COMPLETED.equals(result.status()))
+                .ifPresent(result -> processProgressPublisher.publishCompleted(processInstanceKey));
+        return events;
+    }
+}
@@ -1,28 +1,46 @@
 package com.firefly.core.orchestrator.web.deployer;
 
 import com.firefly.common.config.sdk.model.ProviderProcessDTO;
-import com.firefly.common.config.sdk.model.ProviderProcessVersionDTO;
 import com.firefly.core.orchestrator.interfaces.services.ConfigMgmtService;
+import com.firefly.core.orchestrator.web.properties.ProcessDeploymentProperties;
 import io.camunda.zeebe.client.ZeebeClient;
+import io.camunda.zeebe.client.api.command.DeployResourceCommandStep1;
+import io.camunda.zeebe.client.api.response.DeploymentEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Component responsible for deploying BPMN process definitions to the Camunda Zeebe engine
  * during application startup.
+ * <p>
+ * Deployment is incremental: the SHA-256 hash of each definition's XML is compared with the one
+ * recorded at its last deployment by the {@link ProcessDeploymentStore}, and only the changed
+ * definitions are deployed, together in a single deployment. The deployment time saved by the
+ * skipped definitions is logged on every startup.
+ * <p>
+ * The records only say what was deployed to the broker at the time, so before trusting them one
+ * unchanged definition is deployed again: the broker answers such a duplicate with the recorded
+ * process definition key. A different key means the broker was reset or is another cluster, and
+ * every definition is deployed, as duplicates of definitions it does hold are cheap.
  */
 @Component
 @Slf4j
@@ -30,9 +48,8 @@ public class ProcessDeployer implements ApplicationRunner {
 
     private final ZeebeClient zeebeClient;
     private final ConfigMgmtService configMgmtService;
-
-    @Value("${config.api.base-url:http://localhost:8087}")
-    private String configApiBaseUrl;
+    private final ProcessDeploymentStore processDeploymentStore;
+    private final boolean incremental;
 
     @Value("${api-configuration.providers.treezorId:1}")
     private Long treezorProviderId;
@@ -45,11 +62,17 @@ public class ProcessDeployer implements ApplicationRunner {
      *
      * @param zeebeClient The client used to deploy processes to the Camunda Zeebe engine
      * @param configMgmtService The service used to retrieve process configurations
+     * @param processDeploymentStore The record of the deployed process definitions
+     * @param processDeploymentProperties The process deployment configuration
      */
     @Autowired
-    public ProcessDeployer(ZeebeClient zeebeClient, ConfigMgmtService configMgmtService) {
+    public ProcessDeployer(ZeebeClient zeebeClient, ConfigMgmtService configMgmtService,
+                           ProcessDeploymentStore processDeploymentStore,
+                           ProcessDeploymentProperties processDeploymentProperties) {
         this.zeebeClient = zeebeClient;
         this.configMgmtService = configMgmtService;
+        this.processDeploymentStore = processDeploymentStore;
+        this.incremental = processDeploymentProperties.isIncremental();
     }
 
     /**
@@ -78,32 +101,16 @@ public class ProcessDeployer implements ApplicationRunner {
                 return Mono.empty();
             }
 
-            // Process all processes reactively
+            // Fetch all definitions reactively, then deploy the changed ones at once
             return Flux.fromIterable(allProcesses)
-                .flatMap(this::deployProcessWithVersion)
-                .then();
+                .flatMap(this::fetchProcessXml)
+                .collectList()
+                .flatMap(this::deployChanged);
         })
         .doOnError(e -> log.error("Error deploying BPMN processes: {}", e.getMessage(), e))
         .subscribe();
     }
 
-    /**
-     * Deploys a single BPMN process definition to the Zeebe engine.
-     *
-     * @param resourcePath The classpath location of the BPMN file
-     * @param resourceName The name to use when deploying the process
-     * @throws IOException If there's an error reading the BPMN file
-     */
-    private void deployProcess(String resourcePath, String resourceName) throws IOException {
-        ClassPathResource resource = new ClassPathResource(resourcePath);
-        var deployment = zeebeClient.newDeployResourceCommand()
-                .addResourceBytes(resource.getInputStream().readAllBytes(), resourceName)
-                .send()
-                .join();
-        log.info("{} BPMN process deployed successfully. Key: {}",
-                resourceName, deployment.getProcesses().getFirst().getProcessDefinitionKey());
-    }
-
     /**
      * Retrieves processes for a specific provider.
      *
@@ -126,50 +133,187 @@ public class ProcessDeployer implements ApplicationRunner {
     }
 
     /**
-     * Deploys a process with its version.
+     * Fetches the BPMN XML of a process's version.
      *
-     * @param process The provider process to deploy
-     * @return A Mono that completes when the process is deployed
+     * @param process The provider process to fetch
+     * @return A Mono emitting the process's BPMN resource, or an empty Mono if it could not be fetched
      */
-    private Mono<Void> deployProcessWithVersion(ProviderProcessDTO process) {
+    private Mono<BpmnResource> fetchProcessXml(ProviderProcessDTO process) {
         log.info("Fetching process version for process ID: {}", process.getId());
 
         return configMgmtService.getProviderProcessVersion(process.getId())
             .flatMap(response -> {
-                if (response == null || response.getBody() == null) {
+                if (response == null || response.getBody() == null || response.getBody().getBpmnXml() == null) {
                     log.error("Failed to get response from process-versions API for process ID: {}", process.getId());
-                    return Mono.empty();
+                    return Mono.<BpmnResource>empty();
                 }
 
-                ProviderProcessVersionDTO processVersion = response.getBody();
-                return deployProcessFromXml(processVersion.getBpmnXml(), process.getCode() + ".bpmn");
+                String bpmnXml = response.getBody().getBpmnXml();
+                return Mono.just(new BpmnResource(process.getCode() + ".bpmn", bpmnXml, sha256(bpmnXml)));
             })
             .onErrorResume(e -> {
-                log.error("Error deploying process {}: {}", process.getId(), e.getMessage());
+                log.error("Error fetching process {}: {}", process.getId(), e.getMessage());
                 return Mono.empty();
             });
     }
 
     /**
-     * Reactive version of the deployProcessFromXml method.
+     * Deploys the BPMN resources whose content changed since their recorded deployment.
      *
-     * @param bpmnXml The BPMN XML content to deploy
-     * @param resourceName The name to use when deploying the process
-     * @return A Mono that completes when the process is deployed
+     * @param resources The BPMN resources of all processes
+     * @return A Mono that completes when the changed resources are deployed and recorded
      */
-    private Mono<Void> deployProcessFromXml(String bpmnXml, String resourceName) {
-        return Mono.fromCallable(() -> {
-            var deployment = zeebeClient.newDeployResourceCommand()
-                    .addResourceStringUtf8(bpmnXml, resourceName)
-                    .send()
-                    .join();
+    private Mono<Void> deployChanged(List<BpmnResource> resources) {
+        Map<String, BpmnResource> byName = resources.stream()
+            .collect(Collectors.toMap(BpmnResource::name, resource -> resource, (first, duplicate) -> {
+                log.warn("Process {} is defined more than once, deploying its first definition", first.name());
+                return first;
+            }, LinkedHashMap::new));
+        Mono<Map<String, ProcessDeploymentStore.Deployment>> recorded = incremental
+            ? processDeploymentStore.findAll()
+                .flatMap(deployed -> brokerHolds(deployed, byName.values())
+                    .map(held -> held ? deployed : Map.<String, ProcessDeploymentStore.Deployment>of()))
+            : Mono.just(Map.of());
 
-            log.info("{} BPMN process deployed successfully from XML. Key: {}", 
-                resourceName, deployment.getProcesses().getFirst().getProcessDefinitionKey());
+        return recorded.flatMap(deployed -> {
+            List<BpmnResource> changed = new ArrayList<>();
+            long savedMillis = 0;
+            for (BpmnResource resource : byName.values()) {
+                ProcessDeploymentStore.Deployment deployment = deployed.get(resource.name());
+                if (deployment != null && deployment.contentHash().equals(resource.hash())) {
+                    savedMillis += deployment.deployMillis();
+                } else {
+                    changed.add(resource);
+                }
+            }
+            log.info("{} of {} BPMN processes unchanged since their last deployment, saving about {} ms of deployment",
+                byName.size() - changed.size(), byName.size(), savedMillis);
 
-            return deployment;
-        })
-        .subscribeOn(Schedulers.boundedElastic())
-        .then();
+            if (changed.isEmpty()) {
+                return Mono.<Void>empty();
+            }
+            return deployProcessesFromXml(changed)
+                .onErrorResume(e -> {
+                    // A deployment is all or nothing, so one invalid definition must not hold back the others
+                    log.warn("Error deploying {} BPMN processes at once, deploying them one by one: {}", changed.size(), e.getMessage());
+                    return Flux.fromIterable(changed)
+                        .flatMap(resource -> deployProcessesFromXml(List.of(resource))
+                            .onErrorResume(error -> {
+                                log.error("Error deploying process {}: {}", resource.name(), error.getMessage());
+                                return Mono.empty();
+                            }))
+                        .flatMapIterable(deployments -> deployments)
+                        .collectList();
+                })
+                .flatMap(processDeploymentStore::record);
+        });
+    }
+
+    /**
+     * Checks whether the broker still holds the recorded deployments by deploying one unchanged
+     * resource again and comparing the process definition key the broker answers with the recorded one.
+     * A failed check is treated as the broker not holding them.
+     *
+     * @param deployed The recorded deployments by resource name
+     * @param resources The BPMN resources of all processes
+     * @return A Mono emitting whether the recorded deployments can be trusted
+     */
+    private Mono<Boolean> brokerHolds(Map<String, ProcessDeploymentStore.Deployment> deployed,
+                                      Collection<BpmnResource> resources) {
+        List<BpmnResource> unchanged = resources.stream()
+            .filter(resource -> deployed.containsKey(resource.name())
+                && deployed.get(resource.name()).contentHash().equals(resource.hash()))
+            .toList();
+        if (unchanged.isEmpty()) {
+            // Nothing would be skipped
+            return Mono.just(true);
+        }
+        BpmnResource probe = unchanged.stream()
+            .filter(resource -> deployed.get(resource.name()).processDefinitionKey() != null)
+            .findFirst()
+            .orElse(null);
+        if (probe == null) {
+            log.info("No recorded process definition key to check against the broker, deploying all processes");
+            return Mono.just(false);
+        }
+
+        long recordedKey = deployed.get(probe.name()).processDefinitionKey();
+        return deployProcessesFromXml(List.of(probe))
+            .map(deployments -> {
+                Long brokerKey = deployments.getFirst().processDefinitionKey();
+                if (brokerKey == null || brokerKey != recordedKey) {
+                    log.warn("Broker answered process {} with definition key {} instead of the recorded {}, "
+                        + "it no longer holds the recorded deployments; deploying all processes", probe.name(), brokerKey, recordedKey);
+                    return false;
+                }
+                return true;
+            })
+            .onErrorResume(e -> {
+                log.warn("Could not check the recorded deployments against the broker, deploying all processes: {}", e.getMessage());
+                return Mono.just(false);
+            });
+    }
+
+    /**
+     * Deploys BPMN resources in a single deployment.
+     *
+     * @param resources The BPMN resources to deploy
+     * @return A Mono emitting the deployed resources
+     */
+    private Mono<List<ProcessDeploymentStore.Deployment>> deployProcessesFromXml(List<BpmnResource> resources) {
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            return Mono.fromCompletionStage(() -> {
+                    DeployResourceCommandStep1.DeployResourceCommandStep2 command = null;
+                    for (BpmnResource resource : resources) {
+                        command = (command != null ? command : zeebeClient.newDeployResourceCommand())
+                            .addResourceStringUtf8(resource.xml(), resource.name());
+                    }
+                    return command.send();
+                })
+                .map(deployment -> toDeployments(resources, deployment,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) / resources.size()));
+        });
+    }
+
+    /**
+     * Maps a deployment to the records of its resources.
+     *
+     * @param resources The deployed BPMN resources
+     * @param deployment The deployment of the resources
+     * @param deployMillis The deployment time per resource
+     * @return The records of the deployed resources
+     */
+    private List<ProcessDeploymentStore.Deployment> toDeployments(List<BpmnResource> resources, DeploymentEvent deployment,
+                                                                 long deployMillis) {
+        Map<String, Long> processDefinitionKeys = new LinkedHashMap<>();
+        deployment.getProcesses().forEach(process ->
+            processDefinitionKeys.put(process.getResourceName(), process.getProcessDefinitionKey()));
+        log.info("{} BPMN processes deployed successfully from XML. Deployment key: {}, processes: {}",
+            resources.size(), deployment.getKey(), processDefinitionKeys);
+
+        return resources.stream()
+            .map(resource -> new ProcessDeploymentStore.Deployment(resource.name(), resource.hash(),
+                processDefinitionKeys.get(resource.name()), deployMillis))
+            .toList();
+    }
+
+    private static String sha256(String bpmnXml) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(bpmnXml.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * A BPMN definition to deploy.
+     *
+     * @param name The resource name the definition is deployed under
+     * @param xml The BPMN XML
+     * @param hash The SHA-256 hash of the XML
+     */
+    private record BpmnResource(String name, String xml, String hash) {
     }
 }
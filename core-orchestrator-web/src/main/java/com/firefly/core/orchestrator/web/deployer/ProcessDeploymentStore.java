@@ -0,0 +1,123 @@
+package com.firefly.core.orchestrator.web.deployer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Records which content of each BPMN resource was last deployed, so that a startup only deploys
+ * the definitions that changed since.
+ * <p>
+ * Records are kept in the {@code process_deployment} table on the configured R2DBC datasource, keyed
+ * by resource name, with the SHA-256 hash of the deployed XML, the key of the deployed process definition
+ * and how long its deployment took. The records only outlive a restart on a persistent datasource; on a
+ * datasource shared by the replicas, a definition deployed by one replica is skipped by the others.
+ */
+@Component
+@Slf4j
+public class ProcessDeploymentStore {
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS process_deployment (
+                resource_name VARCHAR(255) PRIMARY KEY,
+                content_hash VARCHAR(64) NOT NULL,
+                process_definition_key BIGINT,
+                deploy_millis BIGINT NOT NULL,
+                deployed_at TIMESTAMP NOT NULL
+            )""";
+    private static final String SELECT_ALL = "SELECT resource_name, content_hash, process_definition_key, deploy_millis FROM process_deployment";
+    private static final String DELETE_BY_NAME = "DELETE FROM process_deployment WHERE resource_name = :name";
+    private static final String INSERT = """
+            INSERT INTO process_deployment (resource_name, content_hash, process_definition_key, deploy_millis, deployed_at)
+            VALUES (:name, :hash, :processDefinitionKey, :deployMillis, :deployedAt)""";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+
+    /**
+     * Constructs a new ProcessDeploymentStore.
+     *
+     * @param databaseClient The client for the configured R2DBC datasource
+     * @param transactionalOperator The operator running the record updates in a transaction
+     */
+    @Autowired
+    public ProcessDeploymentStore(DatabaseClient databaseClient, TransactionalOperator transactionalOperator) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    /**
+     * Loads the recorded deployments, creating the table if needed.
+     * Errors are logged and treated as no recorded deployments, so every definition is deployed.
+     *
+     * @return A Mono emitting the recorded deployments by resource name
+     */
+    public Mono<Map<String, Deployment>> findAll() {
+        return databaseClient.sql(CREATE_TABLE).then()
+                .thenMany(databaseClient.sql(SELECT_ALL)
+                        .map((row, metadata) -> new Deployment(
+                                row.get("resource_name", String.class),
+                                row.get("content_hash", String.class),
+                                row.get("process_definition_key", Long.class),
+                                row.get("deploy_millis", Long.class)))
+                        .all())
+                .collectMap(Deployment::resourceName)
+                .onErrorResume(e -> {
+                    log.warn("Error loading recorded process deployments, deploying all processes: {}", e.getMessage());
+                    return Mono.just(Map.of());
+                });
+    }
+
+    /**
+     * Records deployed resources, replacing their previous records in a single transaction.
+     * A failed write is rolled back and logged; the resources are then deployed again on the next startup.
+     *
+     * @param deployments The deployed resources
+     * @return A Mono completing once the records are written
+     */
+    public Mono<Void> record(Collection<Deployment> deployments) {
+        LocalDateTime deployedAt = LocalDateTime.now();
+        return Flux.fromIterable(deployments)
+                .concatMap(deployment -> databaseClient.sql(DELETE_BY_NAME)
+                        .bind("name", deployment.resourceName())
+                        .then()
+                        .then(insert(deployment, deployedAt)))
+                .then()
+                .as(transactionalOperator::transactional)
+                .onErrorResume(e -> {
+                    log.warn("Could not record process deployments: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> insert(Deployment deployment, LocalDateTime deployedAt) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(INSERT)
+                .bind("name", deployment.resourceName())
+                .bind("hash", deployment.contentHash())
+                .bind("deployMillis", deployment.deployMillis())
+                .bind("deployedAt", deployedAt);
+        spec = deployment.processDefinitionKey() != null
+                ? spec.bind("processDefinitionKey", deployment.processDefinitionKey())
+                : spec.bindNull("processDefinitionKey", Long.class);
+        return spec.then();
+    }
+
+    /**
+     * A deployed BPMN resource.
+     *
+     * @param resourceName The name the resource was deployed under
+     * @param contentHash The SHA-256 hash of the deployed XML
+     * @param processDefinitionKey The key of the deployed process definition, if known
+     * @param deployMillis How long the resource's deployment took
+     */
+    public record Deployment(String resourceName, String contentHash, Long processDefinitionKey, long deployMillis) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.firefly.core.orchestrator.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for per-process admission control.
+ * Maps the properties defined in application.yaml under orchestrator.admission.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "orchestrator.admission")
+@Getter
+@Setter
+public class AdmissionControlProperties {
+
+    /**
+     * Whether process starts are subject to admission control.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Retry-After advertised when a start is rejected because the concurrency limit is reached.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Limits applied to processes without an entry in {@link #processes}.
+     */
+    private Limits defaults = new Limits();
+
+    /**
+     * Limits per BPMN process ID.
+     */
+    private Map<String, Limits> processes = new HashMap<>();
+
+    private Adaptive adaptive = new Adaptive();
+
+    @Getter
+    @Setter
+    public static class Limits {
+
+        /**
+         * Maximum number of starts in flight; for awaited processes this covers the whole wait.
+         */
+        private int maxConcurrency = 256;
+
+        /**
+         * Sustained starts per second, 0 for no rate limit.
+         */
+        private double ratePerSecond = 0;
+
+        /**
+         * Starts that may be admitted at once above the sustained rate, 0 to use the rate itself.
+         */
+        private int burst = 0;
+    }
+
+    @Getter
+    @Setter
+    public static class Adaptive {
+
+        /**
+         * Whether the concurrency limit adapts to broker backpressure and completion latency.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Lower bound of the adaptive concurrency limit.
+         */
+        private int minConcurrency = 4;
+
+        /**
+         * Factor applied to the limit when the broker answers RESOURCE_EXHAUSTED.
+         */
+        private double backpressureDecrease = 0.5;
+
+        /**
+         * Factor applied to the limit when a start or wait exceeds the target latency or times out.
+         */
+        private double latencyDecrease = 0.9;
+
+        /**
+         * Latency above which a start, including any wait for completion, counts as a sign of overload.
+         */
+        private Duration targetLatency = Duration.ofSeconds(5);
+    }
+}
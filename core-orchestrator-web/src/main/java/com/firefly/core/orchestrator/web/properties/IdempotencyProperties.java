@@ -0,0 +1,52 @@
+package com.firefly.core.orchestrator.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Configuration properties for the idempotency of jobs with downstream side effects.
+ * Maps the properties defined in application.yaml under orchestrator.idempotency.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "orchestrator.idempotency")
+@Getter
+@Setter
+public class IdempotencyProperties {
+
+    /**
+     * Whether the results of completed jobs are recorded and replayed to re-activated jobs.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Job types whose results are recorded, typically those creating resources at a provider.
+     */
+    private Set<String> jobTypes = new HashSet<>();
+
+    /**
+     * Number of recorded results kept in memory in front of the table.
+     */
+    private int cacheCapacity = 10_000;
+
+    /**
+     * How long an activation's claim on a job holds off other activations of the job; should exceed the
+     * longest a handler's downstream call can take, as a claim left by a node that died lasts this long.
+     */
+    private Duration claimLease = Duration.ofMinutes(5);
+
+    /**
+     * How long recorded results are kept; should exceed the longest time a job can be retried.
+     */
+    private Duration retention = Duration.ofHours(24);
+
+    /**
+     * Interval between purges of results past their retention.
+     */
+    private Duration cleanupInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,273 @@
+package com.firefly.core.orchestrator.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Configuration properties for tuning job workers per job type.
+ * Maps the properties defined in application.yaml under orchestrator.workers.
+ * <p>
+ * Job types are assigned a named preset, and individual settings can be overridden per job type.
+ * Settings left unset keep the values of {@code camunda.client.zeebe.defaults}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "orchestrator.workers")
+@Getter
+@Setter
+public class JobWorkerProperties {
+
+    /**
+     * Named worker tunings, e.g. latency-critical and bulk.
+     */
+    private Map<String, Tuning> presets = new HashMap<>();
+
+    /**
+     * Preset name per job type.
+     */
+    private Map<String, String> jobTypes = new HashMap<>();
+
+    /**
+     * Preset applied to job types without an entry in {@link #jobTypes}, if any.
+     */
+    private String defaultPreset;
+
+    /**
+     * Settings per job type, applied on top of its preset.
+     */
+    private Map<String, Tuning> overrides = new HashMap<>();
+
+    /**
+     * Execution lane for blocking job handlers.
+     */
+    private Blocking blocking = new Blocking();
+
+    /**
+     * Retry and backoff policy applied when a job handler fails.
+     */
+    private Retry retry = new Retry();
+
+    /**
+     * Output mapping per job type, restricting the variables a job writes back to the process.
+     * Job types without an entry write their whole result.
+     */
+    private Map<String, Output> outputs = new HashMap<>();
+
+    /**
+     * Adaptive concurrency limit per job type, resizing in-flight and activated jobs to the downstream latency.
+     */
+    private Adaptive adaptive = new Adaptive();
+
+    /**
+     * Draining of in-flight jobs when the application shuts down.
+     */
+    private Shutdown shutdown = new Shutdown();
+
+    /**
+     * Pipelines of job worker steps run in-process by compound tasks.
+     */
+    private Compound compound = new Compound();
+
+    @Getter
+    @Setter
+    public static class Retry {
+
+        /**
+         * Retries a job starts with, as set on its task definition. Used to derive the attempt number.
+         */
+        private int maxRetries = 3;
+
+        /**
+         * Backoff before the first retry.
+         */
+        private Duration initialBackoff = Duration.ofSeconds(1);
+
+        /**
+         * Upper bound of the backoff, also applied to Retry-After delays.
+         */
+        private Duration maxBackoff = Duration.ofMinutes(1);
+
+        /**
+         * Factor the backoff grows by with every attempt.
+         */
+        private double multiplier = 2.0;
+
+        /**
+         * Fraction of the backoff that is randomised, between 0 and 1.
+         */
+        private double jitter = 0.5;
+
+        /**
+         * HTTP statuses of downstream calls that are worth retrying; other 4xx statuses are business failures.
+         */
+        private Set<Integer> retryableStatuses = new HashSet<>(Set.of(408, 429, 500, 502, 503, 504));
+
+        /**
+         * BPMN error codes thrown for business failures, by HTTP status. Business failures without a code
+         * fail the job without retries, raising an incident.
+         */
+        private Map<Integer, String> bpmnErrorCodes = new HashMap<>(Map.of(
+                400, "INVALID_REQUEST",
+                404, "NOT_FOUND",
+                409, "CONFLICT",
+                422, "UNPROCESSABLE_ENTITY"));
+    }
+
+    @Getter
+    @Setter
+    public static class Output {
+
+        /**
+         * Result fields written to the process, or null to write all fields.
+         */
+        private List<String> fields;
+
+        /**
+         * Result fields written only to the job's own element instance. They are visible while the task
+         * runs and in its history, but never reach later steps.
+         */
+        private List<String> localFields = new ArrayList<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Adaptive {
+
+        /**
+         * Whether the concurrency of every job type adapts to the latency and errors of its handler.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Lower bound of the limit; the upper bound is the job type's configured maximum of active jobs.
+         */
+        private int minLimit = 2;
+
+        /**
+         * Factor by which the recent latency may exceed the long-term latency before the limit shrinks.
+         */
+        private double tolerance = 2.0;
+
+        /**
+         * Factor applied to the limit when a handler fails because the downstream is overloaded.
+         */
+        private double backoffRatio = 0.9;
+
+        /**
+         * Weight of each new limit estimate, between 0 and 1.
+         */
+        private double smoothing = 0.2;
+
+        /**
+         * Number of samples the recent latency is averaged over.
+         */
+        private int shortWindow = 10;
+
+        /**
+         * Number of samples the long-term latency is averaged over.
+         */
+        private int longWindow = 500;
+
+        /**
+         * Interval at which the workers' maximum of active jobs is brought in line with the limit.
+         */
+        private Duration resizeInterval = Duration.ofSeconds(10);
+
+        /**
+         * Relative change of the limit that reopens a worker with a new maximum of active jobs, once it
+         * held on two consecutive checks.
+         */
+        private double resizeThreshold = 0.25;
+
+        /**
+         * Minimum time between two resizes of the same job type's worker.
+         */
+        private Duration resizeCooldown = Duration.ofMinutes(1);
+
+        /**
+         * Backoff of jobs activated beyond the limit, which are returned to the broker without spending a retry.
+         */
+        private Duration overflowBackoff = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Compound {
+
+        /**
+         * Job types of the steps of each pipeline, in execution order, keyed by pipeline name.
+         */
+        private Map<String, List<String>> pipelines = new HashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Shutdown {
+
+        /**
+         * How long the whole drain may take: in-flight handlers run for the first three quarters, and
+         * the jobs still in flight are returned to the broker in the last quarter. Keep it below
+         * spring.lifecycle.timeout-per-shutdown-phase.
+         */
+        private Duration drainTimeout = Duration.ofSeconds(20);
+    }
+
+    @Getter
+    @Setter
+    public static class Blocking {
+
+        /**
+         * Maximum number of blocking handlers of one job type running at once.
+         */
+        private int maxConcurrency = 32;
+
+        /**
+         * Maximum number of blocking handlers running at once per job type, overriding {@link #maxConcurrency}.
+         */
+        private Map<String, Integer> maxConcurrencyPerType = new HashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Tuning {
+
+        /**
+         * Maximum number of jobs activated and not yet completed by the worker.
+         */
+        private Integer maxJobsActive;
+
+        /**
+         * Interval between activation polls when no jobs are available.
+         */
+        private Duration pollInterval;
+
+        /**
+         * How long an activation request may be held open by the broker waiting for jobs.
+         */
+        private Duration requestTimeout;
+
+        /**
+         * How long an activated job is locked to the worker before it can be activated again.
+         */
+        private Duration timeout;
+
+        /**
+         * Whether jobs are pushed to the worker over a job stream as soon as they are created.
+         */
+        private Boolean streamEnabled;
+
+        /**
+         * How long a job stream is kept open before it is recreated.
+         */
+        private Duration streamTimeout;
+    }
+}
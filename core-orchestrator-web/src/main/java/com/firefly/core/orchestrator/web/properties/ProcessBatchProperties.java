@@ -0,0 +1,22 @@
+package com.firefly.core.orchestrator.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for batch process creation.
+ * Maps the properties defined in application.yaml under orchestrator.batch.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "orchestrator.batch")
+@Getter
+@Setter
+public class ProcessBatchProperties {
+
+    /**
+     * Maximum number of create-instance commands in flight per batch request.
+     */
+    private int concurrency = 64;
+}
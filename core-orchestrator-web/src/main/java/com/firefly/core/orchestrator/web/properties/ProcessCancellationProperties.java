@@ -0,0 +1,52 @@
+package com.firefly.core.orchestrator.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Configuration properties for cancelling orphaned process instances.
+ * Maps the properties defined in application.yaml under orchestrator.cancellation.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "orchestrator.cancellation")
+@Getter
+@Setter
+public class ProcessCancellationProperties {
+
+    /**
+     * Whether instances nobody waits for anymore are cancelled.
+     */
+    private boolean enabled = true;
+
+    /**
+     * BPMN process IDs whose instances are left running when their caller stops waiting,
+     * for flows whose side effects must complete regardless.
+     */
+    private Set<String> keepRunningProcesses = new HashSet<>();
+
+    /**
+     * Maximum number of pending cancellations; further requests are dropped.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Maximum number of cancel commands sent per batch.
+     */
+    private int batchSize = 50;
+
+    /**
+     * How long pending cancellations are collected before a partial batch is sent.
+     */
+    private Duration flushInterval = Duration.ofMillis(100);
+
+    /**
+     * Maximum number of cancel commands sent per second.
+     */
+    private int maxPerSecond = 500;
+}
@@ -0,0 +1,109 @@
+package com.firefly.core.orchestrator.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Configuration properties for synchronous process completion.
+ * Maps the properties defined in application.yaml under orchestrator.process-completion.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "orchestrator.process-completion")
+@Getter
+@Setter
+public class ProcessCompletionProperties {
+
+    /**
+     * Number of lock stripes the registry is split into; rounded up to a power of two.
+     */
+    private int stripes = 64;
+
+    /**
+     * Number of concurrent registrations the registry is sized for up front.
+     */
+    private int initialCapacity = 16_384;
+
+    /**
+     * Timer wheel used to expire stale waiters and unclaimed early completions.
+     */
+    private TimerWheel timerWheel = new TimerWheel();
+
+    /**
+     * Results that arrive before their waiter registers are held here until claimed.
+     */
+    private EarlyCompletion earlyCompletion = new EarlyCompletion();
+
+    /**
+     * How long a caller waits for a process to complete; also the deadline handed to its job workers.
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+
+    /**
+     * Wait timeout per BPMN process ID, overriding {@link #timeout}.
+     */
+    private Map<String, Duration> timeouts = new HashMap<>();
+
+    /**
+     * BPMN process IDs that are started with Zeebe's create-instance-with-result command
+     * instead of waiting on the completion registry.
+     */
+    private Set<String> withResultProcesses = new HashSet<>();
+
+    /**
+     * Transport used to route completions between replicas: {@code local} or {@code r2dbc}.
+     */
+    private String transport = "local";
+
+    /**
+     * Settings for the R2DBC completion transport.
+     */
+    private R2dbc r2dbc = new R2dbc();
+
+    @Getter
+    @Setter
+    public static class EarlyCompletion {
+
+        private int capacity = 10_000;
+
+        private Duration ttl = Duration.ofSeconds(60);
+    }
+
+    @Getter
+    @Setter
+    public static class TimerWheel {
+
+        private Duration tickDuration = Duration.ofMillis(100);
+
+        private int ticksPerWheel = 512;
+    }
+
+    @Getter
+    @Setter
+    public static class R2dbc {
+
+        private Duration pollInterval = Duration.ofMillis(200);
+
+        private int batchSize = 500;
+
+        /**
+         * Number of ids re-read on each poll to catch rows committed out of order.
+         */
+        private int overlap = 50;
+
+        private Duration retention = Duration.ofMinutes(5);
+
+        /**
+         * Packages, including their subpackages, whose classes published results and process results recorded with
+         * job results may be read back as; other result types are dropped.
+         */
+        private Set<String> resultPackages = new HashSet<>(Set.of("com.firefly.core.orchestrator.interfaces.dtos"));
+    }
+}
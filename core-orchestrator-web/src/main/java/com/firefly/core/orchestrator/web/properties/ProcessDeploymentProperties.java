@@ -0,0 +1,22 @@
+package com.firefly.core.orchestrator.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the deployment of BPMN processes at startup.
+ * Maps the properties defined in application.yaml under orchestrator.deployment.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "orchestrator.deployment")
+@Getter
+@Setter
+public class ProcessDeploymentProperties {
+
+    /**
+     * Whether only BPMN definitions whose content changed since their last recorded deployment are deployed.
+     */
+    private boolean incremental = true;
+}
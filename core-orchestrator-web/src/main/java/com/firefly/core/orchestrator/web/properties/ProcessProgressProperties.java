@@ -0,0 +1,34 @@
+package com.firefly.core.orchestrator.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for process progress streams.
+ * Maps the properties defined in application.yaml under orchestrator.process-progress.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "orchestrator.process-progress")
+@Getter
+@Setter
+public class ProcessProgressProperties {
+
+    /**
+     * Events kept per process instance and replayed to subscribers that join late.
+     */
+    private int bufferSize = 16;
+
+    /**
+     * Maximum number of process instances tracked at once; events of further instances are not streamed.
+     */
+    private int capacity = 50_000;
+
+    /**
+     * How long a process instance is tracked after its first subscription.
+     */
+    private Duration ttl = Duration.ofMinutes(2);
+}
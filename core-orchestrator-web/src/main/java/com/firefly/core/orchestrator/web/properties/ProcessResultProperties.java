@@ -0,0 +1,39 @@
+package com.firefly.core.orchestrator.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the process result store.
+ * Maps the properties defined in application.yaml under orchestrator.process-results.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "orchestrator.process-results")
+@Getter
+@Setter
+public class ProcessResultProperties {
+
+    /**
+     * Maximum number of processes whose status and result are kept.
+     */
+    private int capacity = 100_000;
+
+    /**
+     * Number of independently locked stripes the entries are spread over; rounded up to a power of two.
+     */
+    private int stripes = 64;
+
+    /**
+     * How long a process is kept after it was started or completed.
+     */
+    private Duration ttl = Duration.ofMinutes(15);
+
+    /**
+     * Upper bound for the long-poll wait a client may request on a lookup.
+     */
+    private Duration maxWait = Duration.ofSeconds(30);
+}
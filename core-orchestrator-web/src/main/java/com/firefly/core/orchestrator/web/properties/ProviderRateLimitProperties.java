@@ -0,0 +1,64 @@
+package com.firefly.core.orchestrator.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the request quotas of BaaS providers.
+ * Maps the properties defined in application.yaml under orchestrator.rate-limits.
+ * <p>
+ * Every provider has one token bucket shared by all job types calling it; each job of a type
+ * takes the type's cost in tokens.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "orchestrator.rate-limits")
+@Getter
+@Setter
+public class ProviderRateLimitProperties {
+
+    /**
+     * Whether jobs calling BaaS providers are subject to the providers' rate limits.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Rate limit per provider, e.g. treezor.
+     */
+    private Map<String, Provider> providers = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Provider {
+
+        /**
+         * Sustained tokens per second the provider's quota allows.
+         */
+        private double ratePerSecond = 20;
+
+        /**
+         * Tokens that may be taken at once above the sustained rate, 0 to use the rate itself.
+         */
+        private int burst = 0;
+
+        /**
+         * Cost in tokens of a job of each type calling the provider; job types not listed are not limited.
+         */
+        private Map<String, Integer> jobTypes = new HashMap<>();
+
+        /**
+         * Whether activation of the provider's job types is paused while its bucket is empty.
+         */
+        private boolean pauseActivation = true;
+
+        /**
+         * Shortest activation pause, so that workers are not reopened for every token.
+         */
+        private Duration minPause = Duration.ofMillis(500);
+    }
+}
@@ -0,0 +1,34 @@
+package com.firefly.core.orchestrator.web.utils;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Process completion transport for single-replica deployments.
+ * Completions are only delivered within the local registry, so every operation is a no-op.
+ */
+@Component
+@ConditionalOnProperty(prefix = "orchestrator.process-completion", name = "transport", havingValue = "local", matchIfMissing = true)
+public class LocalProcessCompletionTransport implements ProcessCompletionTransport {
+
+    @Override
+    public void bind(RemoteCompletionHandler handler) {
+        // Nothing is ever received from other replicas
+    }
+
+    @Override
+    public void publish(long processInstanceKey, Object result) {
+        // Nothing to publish to
+    }
+
+    @Override
+    public void awaitRemote(long processInstanceKey) {
+        // Nothing to look up
+    }
+
+    @Override
+    public Mono<Object> lookup(long processInstanceKey) {
+        return Mono.empty();
+    }
+}
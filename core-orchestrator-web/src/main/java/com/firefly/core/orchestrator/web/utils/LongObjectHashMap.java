@@ -0,0 +1,182 @@
+package com.firefly.core.orchestrator.web.utils;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Open-addressing hash map keyed by primitive {@code long} values.
+ * Keys are stored unboxed in a flat array and collisions are resolved by linear probing with
+ * backward-shift deletion, so lookups and removals allocate nothing and leave no tombstones.
+ * <p>
+ * This class is not thread-safe; callers are expected to guard each instance with a lock.
+ *
+ * @param <V> The type of the mapped values
+ */
+final class LongObjectHashMap<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    /**
+     * Constructs a new map sized for the given number of entries.
+     *
+     * @param expectedSize The number of entries the map should hold without resizing
+     */
+    LongObjectHashMap(int expectedSize) {
+        allocate(tableSizeFor(Math.max(MIN_CAPACITY, expectedSize * 2)));
+    }
+
+    /**
+     * Returns the value mapped to the given key.
+     *
+     * @param key The key to look up
+     * @return The mapped value, or null if the key is absent
+     */
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        int index = indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /**
+     * Maps the given key to the given value, replacing any previous mapping.
+     *
+     * @param key The key
+     * @param value The value, which must not be null
+     * @return The previously mapped value, or null if the key was absent
+     */
+    @SuppressWarnings("unchecked")
+    V put(long key, V value) {
+        Objects.requireNonNull(value, "value");
+        int index = slot(key);
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                V previous = (V) values[index];
+                values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeThreshold) {
+            rehash(values.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the mapping for the given key.
+     *
+     * @param key The key to remove
+     * @return The removed value, or null if the key was absent
+     */
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        V previous = (V) values[index];
+        values[index] = null;
+        size--;
+
+        // Shift subsequent entries of the probe chain back into the gap
+        int gap = index;
+        int next = (index + 1) & mask;
+        while (values[next] != null) {
+            int home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                values[next] = null;
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        return previous;
+    }
+
+    /**
+     * Returns the number of entries in the map.
+     *
+     * @return The number of entries
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Invokes the given action for every entry in the map.
+     *
+     * @param action The action to invoke with each key and value
+     */
+    @SuppressWarnings("unchecked")
+    void forEach(BiConsumer<Long, V> action) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of a key so that sequential Zeebe keys do not cluster.
+     *
+     * @param key The key to hash
+     * @return The mixed hash
+     */
+    static long mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 32);
+    }
+
+    private int indexOf(long key) {
+        int index = slot(key);
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slot(long key) {
+        return (int) mix(key) & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int index = slot(oldKeys[i]);
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = capacity >> 1;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
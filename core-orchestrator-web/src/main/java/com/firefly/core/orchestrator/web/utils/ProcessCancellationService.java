@@ -0,0 +1,167 @@
+package com.firefly.core.orchestrator.web.utils;
+
+import com.firefly.core.orchestrator.web.properties.ProcessCancellationProperties;
+import io.camunda.zeebe.client.ZeebeClient;
+import io.camunda.zeebe.client.api.command.ClientStatusException;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Cancels process instances whose result nobody is waiting for anymore, so that they stop
+ * consuming broker and worker capacity and calling downstream services.
+ * <p>
+ * Cancellations are queued in a bounded queue and sent in batches on a fixed flush interval,
+ * paced so that no more than the configured number of cancel commands per second reach the
+ * broker. Processes listed in {@code orchestrator.cancellation.keep-running-processes} are never
+ * cancelled.
+ * <p>
+ * Every request is counted in {@code orchestrator.cancellation}, tagged with the process, the
+ * reason and the outcome. Cancelled instances are the work saved, while already-ended instances
+ * had finished before the cancellation reached the broker.
+ */
+@Component
+@Slf4j
+public class ProcessCancellationService implements InitializingBean, DisposableBean {
+
+    public static final String TIMED_OUT = "timed-out";
+    public static final String CALLER_GONE = "caller-gone";
+    public static final String DEADLINE_EXPIRED = "deadline-expired";
+
+    private static final String CANCELLED = "cancelled";
+    private static final String ALREADY_ENDED = "already-ended";
+    private static final String FAILED = "failed";
+    private static final String DROPPED = "dropped";
+    private static final String KEPT = "kept";
+
+    private final ZeebeClient zeebeClient;
+    private final MeterRegistry meterRegistry;
+    private final ProcessCancellationProperties properties;
+    private final BlockingQueue<Cancellation> pending;
+
+    private Disposable sender;
+
+    /**
+     * Constructs a new ProcessCancellationService.
+     *
+     * @param zeebeClient The client used to send cancel commands
+     * @param meterRegistry The registry for cancellation metrics
+     * @param properties The cancellation configuration
+     */
+    @Autowired
+    public ProcessCancellationService(ZeebeClient zeebeClient, MeterRegistry meterRegistry,
+                                      ProcessCancellationProperties properties) {
+        this.zeebeClient = zeebeClient;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.pending = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    /**
+     * Starts sending queued cancellations.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        sender = Flux.interval(properties.getFlushInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> sendBatch())
+                .subscribe();
+    }
+
+    /**
+     * Stops sending cancellations when the application context shuts down.
+     */
+    @Override
+    public void destroy() {
+        if (sender != null) {
+            sender.dispose();
+        }
+    }
+
+    /**
+     * Requests the cancellation of a process instance nobody is waiting for anymore.
+     * The request is ignored if cancellation is disabled or the process is configured to keep running.
+     *
+     * @param processInstanceKey The key of the process instance
+     * @param processId The BPMN process ID of the process instance
+     * @param reason Why the instance is orphaned
+     * @return true if the cancellation was queued, false if the instance is left running
+     */
+    public boolean cancel(long processInstanceKey, String processId, String reason) {
+        if (!properties.isEnabled() || properties.getKeepRunningProcesses().contains(processId)) {
+            count(processId, reason, KEPT);
+            return false;
+        }
+        if (!pending.offer(new Cancellation(processInstanceKey, processId, reason))) {
+            log.warn("Cancellation queue full, leaving process instance {} running", processInstanceKey);
+            count(processId, reason, DROPPED);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Sends up to one batch of queued cancellations, then waits long enough to honour the rate limit.
+     *
+     * @return A Mono that completes when the batch is sent and the pacing delay has elapsed
+     */
+    private Mono<Void> sendBatch() {
+        List<Cancellation> batch = new ArrayList<>(properties.getBatchSize());
+        pending.drainTo(batch, properties.getBatchSize());
+        if (batch.isEmpty()) {
+            return Mono.empty();
+        }
+
+        Duration pace = Duration.ofNanos(batch.size() * 1_000_000_000L / Math.max(1, properties.getMaxPerSecond()));
+        return Flux.fromIterable(batch)
+                .flatMap(this::send)
+                .then(Mono.delay(pace))
+                .then();
+    }
+
+    private Mono<Void> send(Cancellation cancellation) {
+        return Mono.fromCompletionStage(() -> zeebeClient.newCancelInstanceCommand(cancellation.processInstanceKey()).send())
+                .doOnSuccess(response -> {
+                    log.debug("Cancelled orphaned process instance {}", cancellation.processInstanceKey());
+                    count(cancellation.processId(), cancellation.reason(), CANCELLED);
+                })
+                .onErrorResume(e -> {
+                    if (e instanceof ClientStatusException statusException
+                            && statusException.getStatusCode() == Status.Code.NOT_FOUND) {
+                        count(cancellation.processId(), cancellation.reason(), ALREADY_ENDED);
+                    } else {
+                        log.warn("Error cancelling process instance {}: {}", cancellation.processInstanceKey(), e.getMessage());
+                        count(cancellation.processId(), cancellation.reason(), FAILED);
+                    }
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void count(String processId, String reason, String outcome) {
+        Counter.builder("orchestrator.cancellation")
+                .tag("process", processId)
+                .tag("reason", reason)
+                .tag("outcome", outcome)
+                .description("Cancellations of process instances nobody waits for anymore")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record Cancellation(long processInstanceKey, String processId, String reason) {
+    }
+}
@@ -1,51 +1,236 @@
 package com.firefly.core.orchestrator.web.utils;
 
+import com.firefly.core.orchestrator.web.properties.ProcessCompletionProperties;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Registry for tracking process completion futures.
  * This allows direct communication between workers and controllers,
  * eliminating the need for polling to detect process completion.
+ * <p>
+ * The process instance key is only known once the create-instance command returns, so a fast
+ * worker may complete a process before the controller registers its waiter. Such results are
+ * parked in a bounded, short-lived early-completion buffer and handed over atomically when the
+ * waiter registers.
+ * <p>
+ * When several replicas run behind a load balancer, completions without a local waiter are also
+ * published through the configured {@link ProcessCompletionTransport}, so that the replica holding
+ * the waiter, or serving a lookup, can deliver them. Only instances started in a waiting mode, marked
+ * by the {@value #AWAITED_VARIABLE} variable, are buffered or published; nobody waits for the others.
+ * <p>
+ * Entries are kept in primitive-keyed open-addressing maps, striped by key hash so that
+ * concurrent registrations rarely contend on the same lock. A hashed timer wheel expires
+ * waiters that are never completed, failing them with a {@link TimeoutException}, and drops
+ * early completions that are never claimed.
  */
 @Component
 @Slf4j
-public class ProcessCompletionRegistry {
+public class ProcessCompletionRegistry implements DisposableBean {
 
-    private final Map<Long, CompletableFuture<?>> processCompletionFutures = new ConcurrentHashMap<>();
+    /**
+     * Process variable carrying the epoch millisecond after which the waiting caller has given up.
+     */
+    public static final String DEADLINE_VARIABLE = "orchestratorDeadline";
+
+    /**
+     * Process variable marking instances whose caller waits for, or looks up, their result.
+     */
+    public static final String AWAITED_VARIABLE = "orchestratorAwaited";
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final HashedWheelTimer timer;
+    private final ProcessCompletionTransport transport;
+    private final ProcessResultStore processResultStore;
+    private final AtomicInteger earlyCompletionCount = new AtomicInteger();
+
+    private final int earlyCompletionCapacity;
+    private final long earlyCompletionTtlNanos;
+
+    /**
+     * Constructs a new ProcessCompletionRegistry.
+     *
+     * @param properties The process completion configuration
+     * @param transport The transport used to route completions between replicas
+     * @param processResultStore The store serving asynchronous result lookups
+     */
+    @Autowired
+    public ProcessCompletionRegistry(ProcessCompletionProperties properties, ProcessCompletionTransport transport,
+                                     ProcessResultStore processResultStore) {
+        int stripeCount = Integer.highestOneBit(Math.max(1, properties.getStripes() - 1)) << 1;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(properties.getInitialCapacity() / stripeCount);
+        }
+        this.stripeMask = stripeCount - 1;
+        this.timer = new HashedWheelTimer(
+                new DefaultThreadFactory("process-completion-timer", true),
+                properties.getTimerWheel().getTickDuration().toNanos(), TimeUnit.NANOSECONDS,
+                properties.getTimerWheel().getTicksPerWheel());
+        this.earlyCompletionCapacity = properties.getEarlyCompletion().getCapacity();
+        this.earlyCompletionTtlNanos = properties.getEarlyCompletion().getTtl().toNanos();
+        this.transport = transport;
+        this.processResultStore = processResultStore;
+        transport.bind(this::deliverRemoteCompletion);
+    }
 
     /**
      * Registers a CompletableFuture for a process instance.
+     * If the process already completed before this call, the returned future is completed
+     * with the buffered result. Otherwise the future fails with a {@link TimeoutException}
+     * if the process is not completed within the given timeout.
      *
      * @param processInstanceKey The key of the process instance
+     * @param timeout How long to wait for the process to complete
      * @param <T> The type of the result that will be returned when the process completes
      * @return A CompletableFuture that will be completed when the process completes
      */
-    public <T> CompletableFuture<T> registerProcess(long processInstanceKey) {
-        log.info("Registering process instance: {}", processInstanceKey);
-        CompletableFuture<T> future = new CompletableFuture<>();
-        processCompletionFutures.put(processInstanceKey, future);
-        return future;
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> registerProcess(long processInstanceKey, Duration timeout) {
+        log.debug("Registering process instance: {}", processInstanceKey);
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        EarlyCompletion earlyCompletion = null;
+        Waiter replaced = null;
+
+        Stripe stripe = stripeFor(processInstanceKey);
+        synchronized (stripe) {
+            Slot existing = stripe.slots.get(processInstanceKey);
+            if (existing instanceof EarlyCompletion claimed) {
+                stripe.slots.remove(processInstanceKey);
+                earlyCompletion = claimed;
+            } else {
+                Waiter waiter = new Waiter(future);
+                waiter.timeout = timer.newTimeout(t -> expireWaiter(processInstanceKey, waiter),
+                        timeout.toNanos(), TimeUnit.NANOSECONDS);
+                // Only a waiter can be left in the slot, as an early completion was claimed above
+                replaced = (Waiter) stripe.slots.put(processInstanceKey, waiter);
+            }
+        }
+
+        if (replaced != null) {
+            // A key holds one waiter, so the earlier one is failed instead of being left to hang
+            log.warn("Process instance {} was registered again, failing the earlier waiter", processInstanceKey);
+            replaced.timeout.cancel();
+            replaced.future.completeExceptionally(new IllegalStateException(
+                    "Process instance " + processInstanceKey + " is awaited by a newer waiter"));
+        }
+        if (earlyCompletion != null) {
+            log.debug("Claiming early completion for process instance: {}", processInstanceKey);
+            earlyCompletion.timeout.cancel();
+            earlyCompletionCount.decrementAndGet();
+            future.complete(earlyCompletion.result);
+        } else {
+            // Another replica may already have completed the process
+            transport.awaitRemote(processInstanceKey);
+        }
+        return (CompletableFuture<T>) future;
     }
 
     /**
      * Completes the future for a process instance.
+     * If no waiter is registered yet and the process is awaited, the result is buffered until one registers
+     * or the buffer entry expires, and published to the other replicas. The result is also recorded in the
+     * {@link ProcessResultStore}, so callers that started the process asynchronously can look it up.
      *
      * @param processInstanceKey The key of the process instance
      * @param result The result of the process execution
+     * @param awaited Whether the process carries the {@value #AWAITED_VARIABLE} variable
      * @param <T> The type of the result
      */
-    public <T> void completeProcess(long processInstanceKey, T result) {
-        log.info("Completing process instance: {} with result: {}", processInstanceKey, result);
-        CompletableFuture<T> future = (CompletableFuture<T>) processCompletionFutures.remove(processInstanceKey);
-        if (future != null) {
-            future.complete(result);
-        } else {
-            log.warn("No future found for process instance: {}", processInstanceKey);
+    public <T> void completeProcess(long processInstanceKey, T result, boolean awaited) {
+        log.debug("Completing process instance: {} with result: {}", processInstanceKey, result);
+        processResultStore.recordCompleted(processInstanceKey, result);
+        Waiter waiter = null;
+        boolean buffered = false;
+
+        Stripe stripe = stripeFor(processInstanceKey);
+        synchronized (stripe) {
+            Slot existing = stripe.slots.get(processInstanceKey);
+            if (existing instanceof Waiter registered) {
+                stripe.slots.remove(processInstanceKey);
+                waiter = registered;
+            } else if (existing == null && awaited) {
+                buffered = bufferEarlyCompletion(stripe, processInstanceKey, result);
+            }
+        }
+
+        // Complete outside the lock so that dependent stages never run while holding it
+        if (waiter != null) {
+            waiter.timeout.cancel();
+            waiter.future.complete(result);
+            return;
+        }
+
+        if (!awaited) {
+            return;
+        }
+        // The waiter may be registered, now or later, on another replica
+        transport.publish(processInstanceKey, result);
+        if (!buffered) {
+            log.debug("No local future found for process instance: {}", processInstanceKey);
+        }
+    }
+
+    /**
+     * Delivers a completion published by another replica to a local waiter, if there is one, and
+     * records it in the {@link ProcessResultStore} if the process is tracked here.
+     * Remote completions are never buffered or re-published.
+     *
+     * @param processInstanceKey The key of the process instance
+     * @param result The result of the process execution
+     */
+    private void deliverRemoteCompletion(long processInstanceKey, Object result) {
+        Waiter waiter = null;
+
+        Stripe stripe = stripeFor(processInstanceKey);
+        synchronized (stripe) {
+            if (stripe.slots.get(processInstanceKey) instanceof Waiter registered) {
+                stripe.slots.remove(processInstanceKey);
+                waiter = registered;
+            }
+        }
+
+        if (waiter != null) {
+            log.debug("Delivering remote completion for process instance: {}", processInstanceKey);
+            waiter.timeout.cancel();
+            waiter.future.complete(result);
+        }
+        processResultStore.recordRemoteCompleted(processInstanceKey, result);
+    }
+
+    /**
+     * Removes the waiter of a process instance from the registry without completing its future,
+     * unless the future was already replaced by a newer registration for the same process instance.
+     * This is useful for cleanup when a caller goes away.
+     *
+     * @param processInstanceKey The key of the process instance
+     * @param future The future returned by {@link #registerProcess(long, Duration)}
+     */
+    public void removeProcess(long processInstanceKey, CompletableFuture<?> future) {
+        Slot removed = null;
+
+        Stripe stripe = stripeFor(processInstanceKey);
+        synchronized (stripe) {
+            if (stripe.slots.get(processInstanceKey) instanceof Waiter waiter && waiter.future == future) {
+                removed = stripe.slots.remove(processInstanceKey);
+            }
+        }
+
+        if (removed != null) {
+            log.debug("Removing process instance: {}", processInstanceKey);
+            removed.timeout.cancel();
         }
     }
 
@@ -56,7 +241,107 @@ public class ProcessCompletionRegistry {
      * @param processInstanceKey The key of the process instance
      */
     public void removeProcess(long processInstanceKey) {
-        log.info("Removing process instance: {}", processInstanceKey);
-        processCompletionFutures.remove(processInstanceKey);
+        log.debug("Removing process instance: {}", processInstanceKey);
+        Slot removed;
+
+        Stripe stripe = stripeFor(processInstanceKey);
+        synchronized (stripe) {
+            removed = stripe.slots.remove(processInstanceKey);
+        }
+
+        if (removed != null) {
+            removed.timeout.cancel();
+            if (removed instanceof EarlyCompletion) {
+                earlyCompletionCount.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Stops the timer wheel when the application context shuts down.
+     */
+    @Override
+    public void destroy() {
+        timer.stop();
+    }
+
+    /**
+     * Parks a result for a process instance that has no registered waiter yet.
+     * Must be called while holding the stripe lock.
+     *
+     * @param stripe The stripe that owns the process instance key
+     * @param processInstanceKey The key of the process instance
+     * @param result The result of the process execution
+     * @return true if the result was buffered, false if the buffer is full
+     */
+    private boolean bufferEarlyCompletion(Stripe stripe, long processInstanceKey, Object result) {
+        if (earlyCompletionCount.incrementAndGet() > earlyCompletionCapacity) {
+            earlyCompletionCount.decrementAndGet();
+            return false;
+        }
+        log.debug("Buffering early completion for process instance: {}", processInstanceKey);
+        EarlyCompletion earlyCompletion = new EarlyCompletion(result);
+        earlyCompletion.timeout = timer.newTimeout(t -> expireEarlyCompletion(processInstanceKey, earlyCompletion),
+                earlyCompletionTtlNanos, TimeUnit.NANOSECONDS);
+        stripe.slots.put(processInstanceKey, earlyCompletion);
+        return true;
+    }
+
+    private void expireWaiter(long processInstanceKey, Waiter waiter) {
+        if (removeIfSame(processInstanceKey, waiter)) {
+            log.debug("Process instance {} timed out waiting for completion", processInstanceKey);
+            waiter.future.completeExceptionally(
+                    new TimeoutException("Process instance " + processInstanceKey + " did not complete in time"));
+        }
+    }
+
+    private void expireEarlyCompletion(long processInstanceKey, EarlyCompletion earlyCompletion) {
+        if (removeIfSame(processInstanceKey, earlyCompletion)) {
+            log.debug("Dropping unclaimed early completion for process instance: {}", processInstanceKey);
+            earlyCompletionCount.decrementAndGet();
+        }
+    }
+
+    private boolean removeIfSame(long processInstanceKey, Slot slot) {
+        Stripe stripe = stripeFor(processInstanceKey);
+        synchronized (stripe) {
+            if (stripe.slots.get(processInstanceKey) != slot) {
+                return false;
+            }
+            stripe.slots.remove(processInstanceKey);
+            return true;
+        }
+    }
+
+    private Stripe stripeFor(long processInstanceKey) {
+        return stripes[(int) (LongObjectHashMap.mix(processInstanceKey) >>> 40) & stripeMask];
+    }
+
+    private static final class Stripe {
+        private final LongObjectHashMap<Slot> slots;
+
+        private Stripe(int expectedSize) {
+            this.slots = new LongObjectHashMap<>(expectedSize);
+        }
+    }
+
+    private abstract static sealed class Slot permits Waiter, EarlyCompletion {
+        Timeout timeout;
+    }
+
+    private static final class Waiter extends Slot {
+        private final CompletableFuture<Object> future;
+
+        private Waiter(CompletableFuture<Object> future) {
+            this.future = future;
+        }
+    }
+
+    private static final class EarlyCompletion extends Slot {
+        private final Object result;
+
+        private EarlyCompletion(Object result) {
+            this.result = result;
+        }
     }
 }
@@ -0,0 +1,57 @@
+package com.firefly.core.orchestrator.web.utils;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Transport that routes process completions between replicas of the orchestrator.
+ * A worker may complete a process on a different node than the one whose controller is
+ * waiting for it; the transport carries such completions to the waiting node.
+ */
+public interface ProcessCompletionTransport {
+
+    /**
+     * Binds the handler that delivers completions received from other replicas to local waiters.
+     *
+     * @param handler The handler to invoke for each remote completion
+     */
+    void bind(RemoteCompletionHandler handler);
+
+    /**
+     * Publishes a completion that has no local waiter, so that another replica can deliver it.
+     *
+     * @param processInstanceKey The key of the process instance
+     * @param result The result of the process execution
+     */
+    void publish(long processInstanceKey, Object result);
+
+    /**
+     * Notifies the transport that a waiter registered locally without a matching local completion,
+     * so that a completion already published by another replica can be looked up.
+     *
+     * @param processInstanceKey The key of the process instance
+     */
+    void awaitRemote(long processInstanceKey);
+
+    /**
+     * Looks up a completion published by any replica.
+     *
+     * @param processInstanceKey The key of the process instance
+     * @return A Mono emitting the published result, or an empty Mono if none was published
+     */
+    Mono<Object> lookup(long processInstanceKey);
+
+    /**
+     * Callback used by a transport to deliver remote completions.
+     */
+    @FunctionalInterface
+    interface RemoteCompletionHandler {
+
+        /**
+         * Delivers a completion published by another replica.
+         *
+         * @param processInstanceKey The key of the process instance
+         * @param result The result of the process execution
+         */
+        void onRemoteCompletion(long processInstanceKey, Object result);
+    }
+}
@@ -0,0 +1,168 @@
+package com.firefly.core.orchestrator.web.utils;
+
+import com.firefly.core.orchestrator.interfaces.dtos.process.ProcessProgressEvent;
+import com.firefly.core.orchestrator.web.properties.ProcessProgressProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fans out step-level progress of process instances to streaming subscribers.
+ * Each streamed instance has its own replaying sink with a bounded buffer, so a subscriber that
+ * joins after another one still sees the steps finished since. Emitting never blocks: an instance's
+ * events are serialized on its channel, and subscribers that cannot keep up only hold the buffer.
+ * <p>
+ * Channels are created on the first subscription of an instance, so instances nobody streams cost
+ * nothing; they are completed when the process completes and dropped once their time-to-live has elapsed.
+ * <p>
+ * Step events are published by the replica whose worker ran the step. With several replicas, a stream
+ * sees the steps run on its own replica, and ends with the completion of the process wherever it ran,
+ * which is delivered through the {@link ProcessCompletionTransport}.
+ */
+@Component
+@Slf4j
+public class ProcessProgressPublisher implements InitializingBean, DisposableBean {
+
+    public static final String STEP_COMPLETED = "step-completed";
+    public static final String STEP_FAILED = "step-failed";
+    public static final String STEP_SKIPPED = "step-skipped";
+    public static final String COMPLETED = "completed";
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final ProcessProgressProperties properties;
+    private final long ttlNanos;
+
+    private Disposable sweeper;
+
+    /**
+     * Constructs a new ProcessProgressPublisher.
+     *
+     * @param properties The process progress configuration
+     */
+    @Autowired
+    public ProcessProgressPublisher(ProcessProgressProperties properties) {
+        this.properties = properties;
+        this.ttlNanos = properties.getTtl().toNanos();
+    }
+
+    /**
+     * Starts dropping expired channels.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        sweeper = Flux.interval(properties.getTtl().dividedBy(4))
+                .onBackpressureDrop()
+                .subscribe(tick -> sweep());
+    }
+
+    /**
+     * Stops the sweeper and completes all open streams when the application context shuts down.
+     */
+    @Override
+    public void destroy() {
+        if (sweeper != null) {
+            sweeper.dispose();
+        }
+        channels.values().forEach(Channel::complete);
+        channels.clear();
+    }
+
+    /**
+     * Publishes the outcome of a step of a process instance.
+     *
+     * @param processInstanceKey The key of the process instance
+     * @param step The job type of the step
+     * @param status The outcome of the step
+     */
+    public void publishStep(long processInstanceKey, String step, String status) {
+        Channel channel = channels.get(processInstanceKey);
+        if (channel != null) {
+            channel.emit(new ProcessProgressEvent(processInstanceKey, step, status, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Publishes the completion of a process instance and completes its streams.
+     *
+     * @param processInstanceKey The key of the process instance
+     */
+    public void publishCompleted(long processInstanceKey) {
+        Channel channel = channels.get(processInstanceKey);
+        if (channel != null) {
+            channel.emit(new ProcessProgressEvent(processInstanceKey, null, COMPLETED, System.currentTimeMillis()));
+            channel.complete();
+        }
+    }
+
+    /**
+     * Checks whether a process instance is being streamed.
+     *
+     * @param processInstanceKey The key of the process instance
+     * @return true if a stream of the process instance is open
+     */
+    public boolean isStreaming(long processInstanceKey) {
+        return channels.containsKey(processInstanceKey);
+    }
+
+    /**
+     * Streams the progress of a process instance, starting with the buffered events.
+     * The stream completes when the process completes or the instance is no longer tracked.
+     *
+     * @param processInstanceKey The key of the process instance
+     * @return A Flux emitting the progress events of the process instance
+     */
+    public Flux<ProcessProgressEvent> events(long processInstanceKey) {
+        Channel channel = channelFor(processInstanceKey);
+        return channel != null ? channel.sink.asFlux() : Flux.empty();
+    }
+
+    private Channel channelFor(long processInstanceKey) {
+        Channel channel = channels.get(processInstanceKey);
+        if (channel != null) {
+            return channel;
+        }
+        if (channels.size() >= properties.getCapacity()) {
+            log.debug("Progress channel capacity reached, not tracking process instance {}", processInstanceKey);
+            return null;
+        }
+        return channels.computeIfAbsent(processInstanceKey,
+                key -> new Channel(Sinks.many().replay().limit(properties.getBufferSize()), System.nanoTime() + ttlNanos));
+    }
+
+    private void sweep() {
+        long now = System.nanoTime();
+        channels.entrySet().removeIf(entry -> {
+            if (entry.getValue().expiresAt - now >= 0) {
+                return false;
+            }
+            entry.getValue().complete();
+            return true;
+        });
+    }
+
+    private static final class Channel {
+        private final Sinks.Many<ProcessProgressEvent> sink;
+        private final long expiresAt;
+
+        private Channel(Sinks.Many<ProcessProgressEvent> sink, long expiresAt) {
+            this.sink = sink;
+            this.expiresAt = expiresAt;
+        }
+
+        private synchronized void emit(ProcessProgressEvent event) {
+            sink.tryEmitNext(event);
+        }
+
+        private synchronized void complete() {
+            sink.tryEmitComplete();
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.firefly.core.orchestrator.web.utils;
+
+import com.firefly.core.orchestrator.interfaces.dtos.process.ProcessResultResponse;
+import com.firefly.core.orchestrator.web.properties.ProcessResultProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded store of process statuses and results, used to serve asynchronous lookups.
+ * Controllers record every process they start; the worker of a process's final task records its
+ * result once the process completes.
+ * <p>
+ * Entries are striped by key hash, each stripe kept in insertion order under its own lock, so that
+ * concurrent starts and completions rarely contend. A stripe evicts from its oldest end once it
+ * exceeds its share of the capacity or an entry outlives its time-to-live. Completing a process
+ * moves its entry to the newest end, so completed results remain available for a full time-to-live.
+ * <p>
+ * Lookups may wait for a started process to complete. Waiters share one sink per process instance,
+ * which is signalled on completion and dropped with the entry.
+ * <p>
+ * The final task of a process may run on another replica than the one a lookup reaches. Completions
+ * published through the {@link ProcessCompletionTransport} are therefore recorded by the replicas
+ * tracking the process, and a lookup missing a completed result locally falls back to the transport.
+ * A process started on another replica is only known here once its completion was published.
+ */
+@Component
+@Slf4j
+public class ProcessResultStore {
+
+    public static final String STARTED = "started";
+    public static final String COMPLETED = "completed";
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final Map<Long, Sinks.One<ProcessResultResponse>> watchers = new ConcurrentHashMap<>();
+    private final int stripeCapacity;
+    private final long ttlNanos;
+    private final ProcessProgressPublisher processProgressPublisher;
+    private final ProcessCompletionTransport transport;
+
+    /**
+     * Constructs a new ProcessResultStore.
+     *
+     * @param properties The process result store configuration
+     * @param processProgressPublisher The publisher notified when a process completes
+     * @param transport The transport looked up for completions recorded by other replicas
+     */
+    @Autowired
+    public ProcessResultStore(ProcessResultProperties properties, ProcessProgressPublisher processProgressPublisher,
+                              ProcessCompletionTransport transport) {
+        int stripeCount = Integer.highestOneBit(Math.max(1, properties.getStripes() - 1)) << 1;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeMask = stripeCount - 1;
+        this.stripeCapacity = Math.max(1, properties.getCapacity() / stripeCount);
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.processProgressPublisher = processProgressPublisher;
+        this.transport = transport;
+    }
+
+    /**
+     * Records that a process instance was started.
+     *
+     * @param processInstanceKey The key of the process instance
+     * @param processId The BPMN process ID of the process instance
+     */
+    public void recordStarted(long processInstanceKey, String processId) {
+        ProcessResultResponse response = new ProcessResultResponse(processInstanceKey, processId, STARTED, null);
+        Stripe stripe = stripeFor(processInstanceKey);
+        synchronized (stripe) {
+            // A fast worker may already have recorded the result
+            if (!stripe.entries.containsKey(processInstanceKey)) {
+                stripe.entries.put(processInstanceKey, new Entry(response, System.nanoTime() + ttlNanos));
+            }
+            evict(stripe);
+        }
+    }
+
+    /**
+     * Records the result of a completed process instance, wakes up any waiting lookups
+     * and ends its progress streams.
+     *
+     * @param processInstanceKey The key of the process instance
+     * @param result The result produced by the final task of the process
+     */
+    public void recordCompleted(long processInstanceKey, Object result) {
+        log.debug("Recording result of process instance: {}", processInstanceKey);
+        ProcessResultResponse response;
+        Stripe stripe = stripeFor(processInstanceKey);
+        synchronized (stripe) {
+            Entry previous = stripe.entries.remove(processInstanceKey);
+            String processId = previous != null ? previous.response.processId() : null;
+            response = new ProcessResultResponse(processInstanceKey, processId, COMPLETED, result);
+            stripe.entries.put(processInstanceKey, new Entry(response, System.nanoTime() + ttlNanos));
+            evict(stripe);
+        }
+
+        Sinks.One<ProcessResultResponse> watcher = watchers.remove(processInstanceKey);
+        if (watcher != null) {
+            watcher.tryEmitValue(response);
+        }
+        processProgressPublisher.publishCompleted(processInstanceKey);
+    }
+
+    /**
+     * Records the result of a process instance completed on another replica, if this replica
+     * started the process or has lookups or progress streams waiting for it.
+     *
+     * @param processInstanceKey The key of the process instance
+     * @param result The result produced by the final task of the process
+     */
+    public void recordRemoteCompleted(long processInstanceKey, Object result) {
+        boolean tracked = watchers.containsKey(processInstanceKey)
+                || processProgressPublisher.isStreaming(processInstanceKey);
+        if (!tracked) {
+            Stripe stripe = stripeFor(processInstanceKey);
+            synchronized (stripe) {
+                Entry entry = stripe.entries.get(processInstanceKey);
+                tracked = entry != null && STARTED.equals(entry.response.status());
+            }
+        }
+        if (tracked) {
+            recordCompleted(processInstanceKey, result);
+        }
+    }
+
+    /**
+     * Looks up the status and result of a process instance.
+     *
+     * @param processInstanceKey The key of the process instance
+     * @return The stored status and result, or an empty Optional if the process is unknown or evicted
+     */
+    public Optional<ProcessResultResponse> find(long processInstanceKey) {
+        Stripe stripe = stripeFor(processInstanceKey);
+        synchronized (stripe) {
+            Entry entry = stripe.entries.get(processInstanceKey);
+            if (entry == null || entry.expiresAt - System.nanoTime() < 0) {
+                return Optional.empty();
+            }
+            return Optional.of(entry.response);
+        }
+    }
+
+    /**
+     * Looks up a process instance, waiting up to the given duration for it to complete.
+     * The wait is non-blocking: the returned Mono is signalled when the process completes or the
+     * wait elapses, whichever comes first. A result not completed locally is looked up in the
+     * {@link ProcessCompletionTransport} before waiting.
+     *
+     * @param processInstanceKey The key of the process instance
+     * @param wait The maximum time to wait for the process to complete
+     * @return A Mono emitting the latest status and result, or an empty Mono if the process is unknown
+     */
+    public Mono<ProcessResultResponse> await(long processInstanceKey, Duration wait) {
+        return Mono.defer(() -> {
+            Optional<ProcessResultResponse> current = find(processInstanceKey);
+            if (current.isPresent() && COMPLETED.equals(current.get().status())) {
+                return Mono.just(current.get());
+            }
+            // Another replica may have run the final task
+            return lookupRemote(processInstanceKey).switchIfEmpty(Mono.defer(() ->
+                    current.isEmpty() || wait.isZero()
+                            ? Mono.justOrEmpty(current)
+                            : watch(processInstanceKey, current.get(), wait)));
+        });
+    }
+
+    /**
+     * Waits for a started process instance to complete.
+     *
+     * @param processInstanceKey The key of the process instance
+     * @param current The status of the process instance when the wait started
+     * @param wait The maximum time to wait for the process to complete
+     * @return A Mono emitting the latest status and result
+     */
+    private Mono<ProcessResultResponse> watch(long processInstanceKey, ProcessResultResponse current, Duration wait) {
+        return Mono.defer(() -> {
+            Sinks.One<ProcessResultResponse> watcher =
+                    watchers.computeIfAbsent(processInstanceKey, key -> Sinks.one());
+
+            // The process may have completed between the lookup and the watcher registration
+            Optional<ProcessResultResponse> latest = find(processInstanceKey);
+            if (latest.isPresent() && COMPLETED.equals(latest.get().status())) {
+                watchers.remove(processInstanceKey, watcher);
+                return Mono.just(latest.get());
+            }
+
+            return watcher.asMono()
+                    .timeout(wait, Mono.fromSupplier(() -> find(processInstanceKey).orElse(current)));
+        });
+    }
+
+    /**
+     * Looks up a completion published by another replica and records it.
+     *
+     * @param processInstanceKey The key of the process instance
+     * @return A Mono emitting the completed status and result, or an empty Mono if none was published
+     */
+    private Mono<ProcessResultResponse> lookupRemote(long processInstanceKey) {
+        return transport.lookup(processInstanceKey)
+                .map(result -> {
+                    recordCompleted(processInstanceKey, result);
+                    return find(processInstanceKey).orElseGet(() ->
+                            new ProcessResultResponse(processInstanceKey, null, COMPLETED, result));
+                })
+                .onErrorResume(e -> {
+                    log.warn("Error looking up completion of process instance {}: {}", processInstanceKey, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Drops entries of a stripe beyond its capacity or past their time-to-live, oldest first.
+     * Must be called while holding the stripe lock.
+     *
+     * @param stripe The stripe to evict from
+     */
+    private void evict(Stripe stripe) {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Long, Entry>> iterator = stripe.entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Entry> eldest = iterator.next();
+            if (stripe.entries.size() <= stripeCapacity && eldest.getValue().expiresAt - now >= 0) {
+                break;
+            }
+            iterator.remove();
+            watchers.remove(eldest.getKey());
+        }
+    }
+
+    private Stripe stripeFor(long processInstanceKey) {
+        return stripes[(int) (LongObjectHashMap.mix(processInstanceKey) >>> 40) & stripeMask];
+    }
+
+    private static final class Stripe {
+        private final Map<Long, Entry> entries = new LinkedHashMap<>();
+    }
+
+    private record Entry(ProcessResultResponse response, long expiresAt) {
+    }
+}
@@ -0,0 +1,236 @@
+package com.firefly.core.orchestrator.web.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.orchestrator.web.properties.ProcessCompletionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process completion transport backed by a table on the configured R2DBC datasource.
+ * Completions without a local waiter are inserted into the {@code process_completion} table.
+ * Every replica polls the table for rows newer than its cursor and delivers those it is waiting for;
+ * a waiter that registers after the row was written looks it up directly.
+ * <p>
+ * All replicas must point {@code spring.r2dbc.url} at the same database for completions to cross nodes.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "orchestrator.process-completion", name = "transport", havingValue = "r2dbc")
+public class R2dbcProcessCompletionTransport implements ProcessCompletionTransport, InitializingBean, DisposableBean {
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS process_completion (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                process_instance_key BIGINT NOT NULL,
+                result_type VARCHAR(255) NOT NULL,
+                payload VARCHAR(65536) NOT NULL,
+                created_at TIMESTAMP NOT NULL
+            )""";
+    private static final String CREATE_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_process_completion_key ON process_completion (process_instance_key)";
+    private static final String INSERT =
+            "INSERT INTO process_completion (process_instance_key, result_type, payload, created_at) VALUES (:key, :type, :payload, :createdAt)";
+    private static final String SELECT_MAX_ID = "SELECT COALESCE(MAX(id), 0) AS max_id FROM process_completion";
+    private static final String SELECT_SINCE =
+            "SELECT id, process_instance_key, result_type, payload FROM process_completion WHERE id > :cursor ORDER BY id LIMIT :limit";
+    private static final String SELECT_BY_KEY =
+            "SELECT id, process_instance_key, result_type, payload FROM process_completion WHERE process_instance_key = :key ORDER BY id DESC LIMIT 1";
+    private static final String DELETE_EXPIRED = "DELETE FROM process_completion WHERE created_at < :cutoff";
+
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+    private final ProcessCompletionProperties.R2dbc properties;
+    private final AtomicLong cursor = new AtomicLong();
+
+    private volatile RemoteCompletionHandler handler;
+    private Disposable polling;
+    private Disposable cleanup;
+
+    /**
+     * Constructs a new R2dbcProcessCompletionTransport.
+     *
+     * @param databaseClient The client for the configured R2DBC datasource
+     * @param objectMapper The mapper used to serialize completion results
+     * @param properties The process completion configuration
+     */
+    @Autowired
+    public R2dbcProcessCompletionTransport(DatabaseClient databaseClient, ObjectMapper objectMapper,
+                                           ProcessCompletionProperties properties) {
+        this.databaseClient = databaseClient;
+        this.objectMapper = objectMapper;
+        this.properties = properties.getR2dbc();
+    }
+
+    /**
+     * Creates the completion table if needed and starts polling it.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        Mono<Void> schema = databaseClient.sql(CREATE_TABLE).then()
+                .then(databaseClient.sql(CREATE_INDEX).then());
+
+        polling = schema
+                .then(databaseClient.sql(SELECT_MAX_ID)
+                        .map((row, metadata) -> row.get("max_id", Long.class))
+                        .one())
+                .doOnNext(cursor::set)
+                .thenMany(Flux.interval(properties.getPollInterval()))
+                .onBackpressureDrop()
+                .concatMap(tick -> poll()
+                        .onErrorResume(e -> {
+                            log.warn("Error polling process completions: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+
+        cleanup = Flux.interval(properties.getRetention())
+                .onBackpressureDrop()
+                .concatMap(tick -> databaseClient.sql(DELETE_EXPIRED)
+                        .bind("cutoff", LocalDateTime.now().minus(properties.getRetention()))
+                        .fetch()
+                        .rowsUpdated()
+                        .onErrorResume(e -> {
+                            log.warn("Error purging process completions: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    /**
+     * Stops polling when the application context shuts down.
+     */
+    @Override
+    public void destroy() {
+        if (polling != null) {
+            polling.dispose();
+        }
+        if (cleanup != null) {
+            cleanup.dispose();
+        }
+    }
+
+    @Override
+    public void bind(RemoteCompletionHandler handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public void publish(long processInstanceKey, Object result) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize completion of process instance {}: {}", processInstanceKey, e.getMessage());
+            return;
+        }
+
+        databaseClient.sql(INSERT)
+                .bind("key", processInstanceKey)
+                .bind("type", result.getClass().getName())
+                .bind("payload", payload)
+                .bind("createdAt", LocalDateTime.now())
+                .fetch()
+                .rowsUpdated()
+                .subscribe(
+                        rows -> log.debug("Published completion of process instance {}", processInstanceKey),
+                        e -> log.error("Error publishing completion of process instance {}: {}", processInstanceKey, e.getMessage()));
+    }
+
+    @Override
+    public void awaitRemote(long processInstanceKey) {
+        selectByKey(processInstanceKey)
+                .subscribe(
+                        this::deliver,
+                        e -> log.warn("Error looking up completion of process instance {}: {}", processInstanceKey, e.getMessage()));
+    }
+
+    @Override
+    public Mono<Object> lookup(long processInstanceKey) {
+        return selectByKey(processInstanceKey).flatMap(row -> Mono.justOrEmpty(read(row)));
+    }
+
+    private Mono<CompletionRow> selectByKey(long processInstanceKey) {
+        return databaseClient.sql(SELECT_BY_KEY)
+                .bind("key", processInstanceKey)
+                .map((row, metadata) -> new CompletionRow(
+                        row.get("id", Long.class),
+                        row.get("process_instance_key", Long.class),
+                        row.get("result_type", String.class),
+                        row.get("payload", String.class)))
+                .one();
+    }
+
+    /**
+     * Reads completions written since the last poll and delivers them.
+     * The cursor is moved back by a small overlap so that rows committed out of id order are not skipped.
+     *
+     * @return A Mono that completes when the poll is done
+     */
+    private Mono<Void> poll() {
+        long overlap = Math.min(properties.getOverlap(), properties.getBatchSize() / 2);
+        long from = Math.max(0, cursor.get() - overlap);
+        return databaseClient.sql(SELECT_SINCE)
+                .bind("cursor", from)
+                .bind("limit", properties.getBatchSize())
+                .map((row, metadata) -> new CompletionRow(
+                        row.get("id", Long.class),
+                        row.get("process_instance_key", Long.class),
+                        row.get("result_type", String.class),
+                        row.get("payload", String.class)))
+                .all()
+                .doOnNext(row -> {
+                    cursor.accumulateAndGet(row.id(), Math::max);
+                    deliver(row);
+                })
+                .then();
+    }
+
+    private void deliver(CompletionRow row) {
+        RemoteCompletionHandler currentHandler = handler;
+        if (currentHandler == null) {
+            return;
+        }
+        Object result = read(row);
+        if (result != null) {
+            currentHandler.onRemoteCompletion(row.processInstanceKey(), result);
+        }
+    }
+
+    /**
+     * Reads the result of a completion row.
+     * Only types from the configured result packages are instantiated, since the table may be written by anyone
+     * with access to the database.
+     *
+     * @param row The completion row
+     * @return The result, or null if it cannot be read
+     */
+    private Object read(CompletionRow row) {
+        String resultType = row.resultType();
+        if (properties.getResultPackages().stream().noneMatch(resultPackage -> resultType.startsWith(resultPackage + "."))) {
+            log.error("Dropping completion of process instance {} with disallowed result type {}",
+                    row.processInstanceKey(), resultType);
+            return null;
+        }
+        try {
+            return objectMapper.readValue(row.payload(), Class.forName(resultType, false, getClass().getClassLoader()));
+        } catch (JsonProcessingException | ClassNotFoundException e) {
+            log.error("Could not read completion of process instance {}: {}", row.processInstanceKey(), e.getMessage());
+            return null;
+        }
+    }
+
+    private record CompletionRow(Long id, Long processInstanceKey, String resultType, String payload) {
+    }
+}
@@ -0,0 +1,255 @@
+package com.firefly.core.orchestrator.web.workers;
+
+import com.firefly.core.orchestrator.core.resilience.DownstreamUnavailableException;
+import com.firefly.core.orchestrator.web.properties.JobWorkerProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limit per job type, so that throughput tracks what the downstream services
+ * can absorb instead of a static {@code maxJobsActive}.
+ * <p>
+ * The limit follows the gradient of the handlers' latency: it grows by about the square root of
+ * the limit while the recent latency stays within the tolerance of the long-term latency, shrinks
+ * in proportion once the recent latency exceeds it, and is cut by the backoff ratio whenever a
+ * handler fails because the downstream is overloaded. It moves between the configured minimum and
+ * the job type's configured maximum of active jobs.
+ * <p>
+ * Jobs activated beyond the limit are returned to the broker without spending a retry, and the
+ * workers' maximum of active jobs is periodically brought in line with the limit through the
+ * {@link JobActivationControl}, so fewer jobs are activated in the first place. Reopening a worker
+ * interrupts its activation, so a worker is only resized once its limit has moved by the resize
+ * threshold in the same direction on consecutive checks, and at most once per resize cooldown.
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter implements InitializingBean, DisposableBean {
+
+    private static final Permit UNLIMITED = error -> { };
+    // Zeebe's default maximum of active jobs, for job types without a known worker
+    private static final int DEFAULT_MAX_JOBS_ACTIVE = 32;
+
+    private final JobWorkerProperties.Adaptive properties;
+    private final JobActivationControl jobActivationControl;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+
+    private Disposable resizer;
+
+    /**
+     * Constructs a new AdaptiveConcurrencyLimiter.
+     *
+     * @param jobWorkerProperties The job worker configuration
+     * @param jobActivationControl The control resizing the activation of job types
+     * @param meterRegistry The registry for concurrency limit metrics
+     */
+    @Autowired
+    public AdaptiveConcurrencyLimiter(JobWorkerProperties jobWorkerProperties, JobActivationControl jobActivationControl,
+                                      MeterRegistry meterRegistry) {
+        this.properties = jobWorkerProperties.getAdaptive();
+        this.jobActivationControl = jobActivationControl;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Starts resizing the workers to their limits.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        if (properties.isEnabled()) {
+            resizer = Flux.interval(properties.getResizeInterval())
+                    .onBackpressureDrop()
+                    .subscribe(tick -> resize());
+        }
+    }
+
+    /**
+     * Stops resizing the workers when the application context shuts down.
+     */
+    @Override
+    public void destroy() {
+        if (resizer != null) {
+            resizer.dispose();
+        }
+    }
+
+    /**
+     * Admits a job of the given type or rejects it.
+     *
+     * @param type The job type
+     * @return A permit that must be released once the job's handler ends, or null if the limit is reached
+     */
+    public Permit tryAcquire(String type) {
+        if (!properties.isEnabled()) {
+            return UNLIMITED;
+        }
+        Limit limit = limits.computeIfAbsent(type, this::newLimit);
+        if (limit.inFlight.incrementAndGet() > limit.limit()) {
+            limit.inFlight.decrementAndGet();
+            return null;
+        }
+
+        long startNanos = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        return error -> {
+            if (released.compareAndSet(false, true)) {
+                limit.release(error, System.nanoTime() - startNanos);
+            }
+        };
+    }
+
+    private Limit newLimit(String type) {
+        int maxLimit = jobActivationControl.maxJobsActive(type).orElse(DEFAULT_MAX_JOBS_ACTIVE);
+        Limit limit = new Limit(type, maxLimit, properties);
+
+        Gauge.builder("orchestrator.jobs.concurrency.limit", limit, Limit::limit)
+                .tag("type", type)
+                .description("Current adaptive concurrency limit of the job type")
+                .register(meterRegistry);
+        Gauge.builder("orchestrator.jobs.in.flight", limit.inFlight, AtomicInteger::get)
+                .tag("type", type)
+                .description("Jobs of the job type currently being handled")
+                .register(meterRegistry);
+        return limit;
+    }
+
+    /**
+     * Reopens the workers whose limit stayed beyond the resize threshold of their last resize, in the same
+     * direction, since the previous check, unless they were resized within the resize cooldown.
+     */
+    void resize() {
+        long now = System.nanoTime();
+        for (Limit limit : limits.values()) {
+            int target = limit.limit();
+            int direction = Math.abs(target - limit.applied) >= limit.applied * properties.getResizeThreshold()
+                    ? Integer.signum(target - limit.applied)
+                    : 0;
+            boolean settled = direction != 0 && direction == limit.pendingDirection;
+            limit.pendingDirection = direction;
+            if (settled && now - limit.resizedAt >= properties.getResizeCooldown().toNanos()) {
+                jobActivationControl.resize(limit.type, target);
+                limit.applied = target;
+                limit.resizedAt = now;
+                limit.pendingDirection = 0;
+            }
+        }
+    }
+
+    /**
+     * Checks whether an error signals that the downstream is overloaded: a 5xx or 429 answer, a
+     * timeout, an open circuit breaker or a connection failure. A job claimed by another activation
+     * never called its downstream, so it is not counted.
+     */
+    private static boolean isOverload(Throwable error) {
+        if (JobRetryPolicy.findCause(error, JobIdempotencyStore.ClaimedElsewhereException.class) != null) {
+            return false;
+        }
+        WebClientResponseException response = JobRetryPolicy.findCause(error, WebClientResponseException.class);
+        if (response != null) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+        }
+        return JobRetryPolicy.findCause(error, WebClientRequestException.class) != null
+                || JobRetryPolicy.findCause(error, TimeoutException.class) != null
+                || JobRetryPolicy.findCause(error, DownstreamUnavailableException.class) != null;
+    }
+
+    /**
+     * A job admitted by its concurrency limit.
+     */
+    @FunctionalInterface
+    public interface Permit {
+
+        /**
+         * Releases the permit and feeds the outcome of the handler into the limit.
+         *
+         * @param error The error the handler ended with, or null if it succeeded
+         */
+        void release(Throwable error);
+    }
+
+    private static final class Limit {
+        private final String type;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final int maxLimit;
+        private final int minLimit;
+        private final JobWorkerProperties.Adaptive properties;
+        private final double shortAlpha;
+        private final double longAlpha;
+
+        // Latency averages in nanoseconds, guarded by this
+        private double shortLatency;
+        private double longLatency;
+
+        private volatile double limit;
+        private volatile int applied;
+        // Resize state, only touched by the resizer
+        private int pendingDirection;
+        private long resizedAt;
+
+        private Limit(String type, int maxLimit, JobWorkerProperties.Adaptive properties) {
+            this.type = type;
+            this.maxLimit = maxLimit;
+            this.minLimit = Math.min(properties.getMinLimit(), maxLimit);
+            this.properties = properties;
+            this.shortAlpha = 2d / (properties.getShortWindow() + 1);
+            this.longAlpha = 2d / (properties.getLongWindow() + 1);
+            this.limit = maxLimit;
+            this.applied = maxLimit;
+            this.resizedAt = System.nanoTime() - properties.getResizeCooldown().toNanos();
+        }
+
+        private int limit() {
+            return (int) limit;
+        }
+
+        private void release(Throwable error, long latencyNanos) {
+            inFlight.decrementAndGet();
+            if (error == null) {
+                sample(latencyNanos);
+            } else if (isOverload(error)) {
+                update(limit * properties.getBackoffRatio());
+            }
+        }
+
+        private synchronized void sample(long latencyNanos) {
+            if (longLatency == 0) {
+                shortLatency = latencyNanos;
+                longLatency = latencyNanos;
+                return;
+            }
+            shortLatency += shortAlpha * (latencyNanos - shortLatency);
+            longLatency += longAlpha * (latencyNanos - longLatency);
+
+            // Do not grow a limit that the load does not use
+            double gradient = Math.max(0.5, Math.min(1.0, properties.getTolerance() * longLatency / shortLatency));
+            if (gradient == 1.0 && inFlight.get() < limit / 2) {
+                return;
+            }
+            double estimate = limit * gradient + Math.sqrt(limit);
+            update(limit * (1 - properties.getSmoothing()) + estimate * properties.getSmoothing());
+        }
+
+        private synchronized void update(double newLimit) {
+            double previous = limit;
+            limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+            if ((int) previous != (int) limit) {
+                log.debug("Concurrency limit of {} changed to {}", type, (int) limit);
+            }
+        }
+    }
+}
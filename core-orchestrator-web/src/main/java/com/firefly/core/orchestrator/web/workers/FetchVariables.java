@@ -0,0 +1,34 @@
+package com.firefly.core.orchestrator.web.workers;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the process variables a {@code @JobWorker} method reads, so the broker ships only those
+ * instead of the whole variable document. Variable names are derived from the components of record
+ * types, or the fields of other types, and can be complemented with explicit names.
+ * <p>
+ * Applied by {@link FetchVariablesCustomizer}. Methods without this annotation fetch all variables.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FetchVariables {
+
+    /**
+     * Types whose properties are fetched.
+     *
+     * @return The types the job variables are mapped to
+     */
+    Class<?>[] value() default {};
+
+    /**
+     * Additional variable names to fetch.
+     *
+     * @return The variable names
+     */
+    String[] names() default {};
+}
@@ -0,0 +1,73 @@
+package com.firefly.core.orchestrator.web.workers;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.firefly.core.orchestrator.web.utils.ProcessCompletionRegistry;
+import io.camunda.zeebe.spring.client.annotation.customizer.ZeebeWorkerValueCustomizer;
+import io.camunda.zeebe.spring.client.annotation.value.ZeebeWorkerValue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Restricts the variables fetched by {@code @JobWorker} methods annotated with {@link FetchVariables}.
+ * The deadline and awaited variables read by the {@link JobExecutionTemplate} are always fetched as well.
+ */
+@Component
+@Slf4j
+public class FetchVariablesCustomizer implements ZeebeWorkerValueCustomizer {
+
+    @Override
+    public void customize(ZeebeWorkerValue zeebeWorker) {
+        zeebeWorker.getMethodInfo().getAnnotation(FetchVariables.class).ifPresent(fetchVariables -> {
+            Set<String> variables = new LinkedHashSet<>();
+            for (Class<?> type : fetchVariables.value()) {
+                variables.addAll(propertyNames(type));
+            }
+            variables.addAll(Arrays.asList(fetchVariables.names()));
+            variables.add(ProcessCompletionRegistry.DEADLINE_VARIABLE);
+            variables.add(ProcessCompletionRegistry.AWAITED_VARIABLE);
+
+            log.info("Job worker {} fetches variables {}", zeebeWorker.getType(), variables);
+            zeebeWorker.setFetchVariables(new ArrayList<>(variables));
+        });
+    }
+
+    /**
+     * Resolves the JSON property names of a type: its record components, or its instance fields
+     * including inherited ones.
+     *
+     * @param type The type the job variables are mapped to
+     * @return The property names
+     */
+    private static Set<String> propertyNames(Class<?> type) {
+        Set<String> names = new LinkedHashSet<>();
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                // Annotations on a component without a RECORD_COMPONENT target are only propagated to its members
+                names.add(jsonName(component.getAccessor(), component.getName()));
+            }
+            return names;
+        }
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                    names.add(jsonName(field, field.getName()));
+                }
+            }
+        }
+        return names;
+    }
+
+    private static String jsonName(AnnotatedElement element, String name) {
+        JsonProperty jsonProperty = element.getAnnotation(JsonProperty.class);
+        return jsonProperty != null && !jsonProperty.value().isEmpty() ? jsonProperty.value() : name;
+    }
+}
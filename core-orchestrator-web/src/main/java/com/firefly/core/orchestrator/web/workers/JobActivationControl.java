@@ -0,0 +1,147 @@
+package com.firefly.core.orchestrator.web.workers;
+
+import io.camunda.zeebe.client.ZeebeClient;
+import io.camunda.zeebe.spring.client.annotation.value.ZeebeWorkerValue;
+import io.camunda.zeebe.spring.client.jobhandling.JobWorkerManager;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pauses, resumes and resizes the activation of jobs per job type.
+ * Pausing closes the job type's worker, so the broker keeps its jobs instead of handing them to a
+ * worker that could only wait or fail; resuming reopens the worker with its customized settings.
+ * Jobs already activated are unaffected and are completed as usual.
+ */
+@Component
+@Slf4j
+public class JobActivationControl implements DisposableBean {
+
+    private final ZeebeClient zeebeClient;
+    private final JobWorkerManager jobWorkerManager;
+    private final Map<String, Disposable> paused = new ConcurrentHashMap<>();
+
+    private volatile boolean stopped;
+
+    /**
+     * Constructs a new JobActivationControl.
+     *
+     * @param zeebeClient The client the reopened workers activate jobs with
+     * @param jobWorkerManager The manager of the opened {@code @JobWorker} workers
+     * @param meterRegistry The registry for activation metrics
+     */
+    @Autowired
+    public JobActivationControl(ZeebeClient zeebeClient, JobWorkerManager jobWorkerManager, MeterRegistry meterRegistry) {
+        this.zeebeClient = zeebeClient;
+        this.jobWorkerManager = jobWorkerManager;
+        Gauge.builder("orchestrator.jobs.activation.paused", paused, Map::size)
+                .description("Job types whose activation is paused")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cancels pending resumptions when the application context shuts down.
+     */
+    @Override
+    public void destroy() {
+        paused.values().forEach(Disposable::dispose);
+        paused.clear();
+    }
+
+    /**
+     * Pauses the activation of a job type for the given duration.
+     * A job type that is already paused keeps its current pause.
+     *
+     * @param type The job type
+     * @param duration How long to pause
+     */
+    public synchronized void pause(String type, Duration duration) {
+        if (stopped || paused.containsKey(type) || jobWorkerManager.findJobWorkerConfigByType(type).isEmpty()) {
+            return;
+        }
+        log.info("Pausing activation of {} jobs for {}", type, duration);
+        jobWorkerManager.closeWorker(type);
+        paused.put(type, Mono.delay(duration).subscribe(tick -> resume(type)));
+    }
+
+    /**
+     * Resumes the activation of a paused job type.
+     *
+     * @param type The job type
+     */
+    public synchronized void resume(String type) {
+        Disposable resumption = paused.remove(type);
+        if (resumption == null || stopped) {
+            return;
+        }
+        resumption.dispose();
+        log.info("Resuming activation of {} jobs", type);
+        reopen(type);
+    }
+
+    /**
+     * Stops the activation of all job types for good, closing every worker and its job stream.
+     * Later pauses, resumptions and resizes are ignored.
+     */
+    public synchronized void stopAll() {
+        stopped = true;
+        paused.values().forEach(Disposable::dispose);
+        paused.clear();
+        log.info("Stopping activation of all jobs");
+        jobWorkerManager.closeAllOpenWorkers();
+    }
+
+    /**
+     * Changes the maximum number of active jobs of a job type.
+     * The worker is reopened with the new maximum, or picks it up when its pause ends.
+     *
+     * @param type The job type
+     * @param maxJobsActive The new maximum number of active jobs
+     */
+    public synchronized void resize(String type, int maxJobsActive) {
+        jobWorkerManager.findJobWorkerConfigByType(type).ifPresent(zeebeWorker -> {
+            log.info("Resizing {} worker from {} to {} active jobs", type, zeebeWorker.getMaxJobsActive(), maxJobsActive);
+            zeebeWorker.setMaxJobsActive(maxJobsActive);
+            if (!stopped && !paused.containsKey(type)) {
+                jobWorkerManager.closeWorker(type);
+                jobWorkerManager.openWorker(zeebeClient, zeebeWorker);
+            }
+        });
+    }
+
+    /**
+     * Gets the maximum number of active jobs a job type's worker is currently opened with.
+     *
+     * @param type The job type
+     * @return The maximum number of active jobs, or an empty Optional if there is no worker of the type
+     */
+    public Optional<Integer> maxJobsActive(String type) {
+        return jobWorkerManager.findJobWorkerConfigByType(type).map(ZeebeWorkerValue::getMaxJobsActive);
+    }
+
+    /**
+     * Checks whether the activation of a job type is paused.
+     *
+     * @param type The job type
+     * @return true if the job type's worker is closed until its pause ends
+     */
+    public boolean isPaused(String type) {
+        return paused.containsKey(type);
+    }
+
+    private void reopen(String type) {
+        jobWorkerManager.findJobWorkerConfigByType(type).ifPresentOrElse(
+                zeebeWorker -> jobWorkerManager.openWorker(zeebeClient, zeebeWorker),
+                () -> log.warn("No job worker of type {} to reopen", type));
+    }
+}
@@ -0,0 +1,522 @@
+package com.firefly.core.orchestrator.web.workers;
+
+import com.firefly.core.orchestrator.core.idempotency.IdempotencyKeys;
+import com.firefly.core.orchestrator.core.resilience.DownstreamUnavailableException;
+import com.firefly.core.orchestrator.web.properties.JobWorkerProperties;
+import com.firefly.core.orchestrator.web.utils.ProcessCancellationService;
+import com.firefly.core.orchestrator.web.utils.ProcessCompletionRegistry;
+import com.firefly.core.orchestrator.web.utils.ProcessProgressPublisher;
+import io.camunda.zeebe.client.ZeebeClient;
+import io.camunda.zeebe.client.api.JsonMapper;
+import io.camunda.zeebe.client.api.command.ClientStatusException;
+import io.camunda.zeebe.client.api.command.FinalCommandStep;
+import io.camunda.zeebe.client.api.response.ActivatedJob;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Runs job worker handlers with the checks every job shares.
+ * Processes started by a waiting caller carry the caller's deadline in the
+ * {@value ProcessCompletionRegistry#DEADLINE_VARIABLE} variable. Once it has passed, nobody is
+ * waiting for the result anymore, so the handler is skipped and the process instance is cancelled
+ * instead of calling downstream services. Instances that are not cancelled, because cancellation is
+ * disabled or their process is configured to keep running, have the job completed without variables,
+ * so that it does not come back after every job timeout.
+ * <p>
+ * The outcome of every job is published as a step event to the {@link ProcessProgressPublisher},
+ * so clients can follow the progress of multi-step flows.
+ * <p>
+ * Handlers that complete or fail the process as a whole should do so on the Mono returned here,
+ * so that the step event precedes the completion event.
+ * <p>
+ * Job workers run with auto-completion disabled and hand their pipeline to
+ * {@link #complete(ActivatedJob, Mono)}, which completes the job with its variables or reports the
+ * failure as decided by the {@link JobRetryPolicy}, with a retry backoff or as a BPMN error.
+ * <p>
+ * Reactive handlers run where their Mono runs. Blocking handlers are moved off the Zeebe client's
+ * job executor onto a virtual thread per job, behind a semaphore per job type, so that a slow
+ * blocking step can never starve the latency-critical reactive workers.
+ * <p>
+ * Jobs of types calling a rate-limited BaaS provider first take their cost from the provider's
+ * bucket in the {@link ProviderRateLimiter}; while it is empty they are returned to the broker
+ * without spending a retry, and a 429 answer from the provider empties it for the requested delay.
+ * <p>
+ * Every handler runs under the adaptive concurrency limit of its job type in the
+ * {@link AdaptiveConcurrencyLimiter}, which observes its latency and errors; jobs beyond the limit
+ * are returned to the broker as well.
+ * <p>
+ * Downstream calls of a handler carry idempotency keys derived from the job's process instance and
+ * element through {@link IdempotencyKeys}, and the results of job types with side effects are
+ * recorded in the {@link JobIdempotencyStore}, so a re-activated job does not repeat them. The final
+ * tasks of processes record the process result through {@link #recordProcessResult(ActivatedJob, Object)},
+ * so that it is recorded along with the job's result and replayed with it.
+ * <p>
+ * Every variable a job writes is merged into the process and transferred again by every later
+ * activation, so job results are mapped through {@link #output(ActivatedJob, Object)}, which keeps
+ * only the fields configured in {@code orchestrator.workers.outputs} for the job type. The size of
+ * the variables each job receives and writes is recorded per process and job type in
+ * {@code orchestrator.jobs.variables.size} and {@code orchestrator.jobs.output.size}.
+ */
+@Component
+@Slf4j
+public class JobExecutionTemplate implements DisposableBean {
+
+    private final ZeebeClient zeebeClient;
+    private final ProcessCancellationService processCancellationService;
+    private final ProcessProgressPublisher processProgressPublisher;
+    private final JobRetryPolicy jobRetryPolicy;
+    private final ProviderRateLimiter providerRateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final JobIdempotencyStore jobIdempotencyStore;
+    private final ProcessCompletionRegistry processCompletionRegistry;
+    private final MeterRegistry meterRegistry;
+    private final JobWorkerProperties.Blocking blockingProperties;
+    private final JobWorkerProperties.Adaptive adaptiveProperties;
+    private final Map<String, JobWorkerProperties.Output> outputs;
+    private final Scheduler blockingScheduler;
+    private final Map<String, Semaphore> blockingLanes = new ConcurrentHashMap<>();
+    private final Map<Long, InFlightJob> inFlightJobs = new ConcurrentHashMap<>();
+    // Process results recorded by in-flight jobs of recorded types, by job key
+    private final Map<Long, Object> processResults = new ConcurrentHashMap<>();
+
+    private volatile boolean draining;
+
+    /**
+     * Constructs a new JobExecutionTemplate.
+     *
+     * @param zeebeClient The client used to write local job variables
+     * @param processCancellationService The service cancelling process instances whose deadline has passed
+     * @param processProgressPublisher The publisher of step-level progress events
+     * @param jobRetryPolicy The policy deciding how failed jobs are reported
+     * @param providerRateLimiter The rate limiter shared by the job types calling the same provider
+     * @param concurrencyLimiter The adaptive concurrency limit of every job type
+     * @param jobIdempotencyStore The store of completed job results replayed to re-activated jobs
+     * @param processCompletionRegistry The registry completing processes for their waiters and lookups
+     * @param meterRegistry The registry for job execution metrics
+     * @param jobWorkerProperties The job worker configuration
+     */
+    @Autowired
+    public JobExecutionTemplate(ZeebeClient zeebeClient, ProcessCancellationService processCancellationService,
+                                ProcessProgressPublisher processProgressPublisher, JobRetryPolicy jobRetryPolicy,
+                                ProviderRateLimiter providerRateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                JobIdempotencyStore jobIdempotencyStore, ProcessCompletionRegistry processCompletionRegistry,
+                                MeterRegistry meterRegistry, JobWorkerProperties jobWorkerProperties) {
+        this.zeebeClient = zeebeClient;
+        this.processCancellationService = processCancellationService;
+        this.processProgressPublisher = processProgressPublisher;
+        this.jobRetryPolicy = jobRetryPolicy;
+        this.providerRateLimiter = providerRateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.jobIdempotencyStore = jobIdempotencyStore;
+        this.processCompletionRegistry = processCompletionRegistry;
+        this.meterRegistry = meterRegistry;
+        this.blockingProperties = jobWorkerProperties.getBlocking();
+        this.adaptiveProperties = jobWorkerProperties.getAdaptive();
+        this.outputs = jobWorkerProperties.getOutputs();
+        this.blockingScheduler = Schedulers.fromExecutorService(Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("job-blocking-", 0).factory()), "job-blocking");
+    }
+
+    /**
+     * Shuts down the virtual-thread executor when the application context shuts down.
+     */
+    @Override
+    public void destroy() {
+        blockingScheduler.dispose();
+    }
+
+    /**
+     * Executes a job handler unless the job's deadline has passed, its provider's rate limit is reached
+     * or its job type's concurrency limit is reached.
+     *
+     * @param job The activated job
+     * @param handler Supplies the handler's work, subscribed only if the job is still wanted
+     * @param <T> The type of the job result
+     * @return A Mono emitting the job result, an empty Mono if the deadline passed but the process instance keeps
+     *         running, or failing with a {@link DeadlineExpiredException} if the job was dropped along with its
+     *         process instance or a {@link DownstreamUnavailableException} if it was throttled or is beyond the concurrency limit
+     */
+    public <T> Mono<T> execute(ActivatedJob job, Supplier<Mono<T>> handler) {
+        return Mono.defer(() -> {
+            recordSize("orchestrator.jobs.variables.size", "Size of the variables activated jobs receive",
+                    job, job.getVariables());
+            if (isExpired(job)) {
+                return dropExpired(job) ? Mono.error(new DeadlineExpiredException(job)) : Mono.empty();
+            }
+            // The permit is taken first, so a job turned away by the concurrency limit spends no provider tokens
+            AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.tryAcquire(job.getType());
+            if (permit == null) {
+                return Mono.error(new DownstreamUnavailableException(
+                        job.getType(), "concurrency limit reached", adaptiveProperties.getOverflowBackoff()));
+            }
+            Duration throttled = providerRateLimiter.tryAcquire(job.getType());
+            if (!throttled.isZero()) {
+                // Not run, so the permit is handed back without feeding the limit
+                permit.release(new CancellationException());
+                return Mono.error(new DownstreamUnavailableException(
+                        providerRateLimiter.providerOf(job.getType()), "rate limit reached", throttled));
+            }
+            return Mono.defer(handler)
+                    .contextWrite(IdempotencyKeys.with(IdempotencyKeys.of(job.getProcessInstanceKey(), job.getElementId())))
+                    .doOnSuccess(result -> {
+                        permit.release(null);
+                        publishStep(job, ProcessProgressPublisher.STEP_COMPLETED);
+                    })
+                    .doOnError(e -> {
+                        permit.release(e);
+                        publishStep(job, ProcessProgressPublisher.STEP_FAILED);
+                    })
+                    .doOnCancel(() -> permit.release(new CancellationException()));
+        });
+    }
+
+    /**
+     * Executes a blocking job handler on a virtual thread unless the job's deadline has passed.
+     * At most {@code orchestrator.workers.blocking.max-concurrency} handlers of the same job type run
+     * at once; further jobs wait for a permit on their own virtual thread.
+     *
+     * @param job The activated job
+     * @param handler The handler's blocking work, run only if the job is still wanted
+     * @param <T> The type of the job result
+     * @return A Mono emitting the job result, or an empty Mono if the handler produced no result
+     */
+    public <T> Mono<T> executeBlocking(ActivatedJob job, Supplier<T> handler) {
+        return execute(job, () -> Mono.fromCallable(() -> {
+                    Semaphore lane = blockingLanes.computeIfAbsent(job.getType(), type -> new Semaphore(
+                            blockingProperties.getMaxConcurrencyPerType().getOrDefault(type, blockingProperties.getMaxConcurrency())));
+                    lane.acquire();
+                    try {
+                        return handler.get();
+                    } finally {
+                        lane.release();
+                    }
+                })
+                .subscribeOn(blockingScheduler));
+    }
+
+    /**
+     * Completes a job with the variables emitted by its pipeline, or reports its failure.
+     * Jobs of recorded types are completed with their recorded result if an earlier activation already ran.
+     * A job that emits no variables is completed without variables; a dropped job is left to the
+     * queued cancellation of its process instance.
+     *
+     * @param job The activated job
+     * @param variables The job's pipeline, emitting the variables to complete the job with
+     */
+    public void complete(ActivatedJob job, Mono<Map<String, Object>> variables) {
+        if (draining) {
+            // Activated before the workers were closed; let another node handle it
+            returnToBroker(job).subscribe();
+            return;
+        }
+        InFlightJob inFlight = new InFlightJob(job);
+        inFlightJobs.put(job.getKey(), inFlight);
+        inFlight.subscription = recorded(job, variables)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(result -> send(job, "complete",
+                        zeebeClient.newCompleteCommand(job.getKey()).variables(result.orElse(Map.of()))))
+                .onErrorResume(error -> error instanceof DeadlineExpiredException ? Mono.empty() : fail(job, error))
+                .doFinally(signal -> {
+                    inFlightJobs.remove(job.getKey(), inFlight);
+                    processResults.remove(job.getKey());
+                })
+                .subscribe();
+        if (inFlight.returned) {
+            // Returned to the broker while the pipeline was being subscribed
+            inFlight.subscription.dispose();
+        }
+    }
+
+    /**
+     * Completes the process whose final task a job is, recording its result for asynchronous lookups
+     * on this and, through the completion transport, other replicas.
+     * For job types whose results are recorded, the process result is recorded with the job's result,
+     * so a re-activated job that replays its result records the process result again.
+     *
+     * @param job The final job of the process
+     * @param result The result of the process
+     */
+    public void recordProcessResult(ActivatedJob job, Object result) {
+        if (jobIdempotencyStore.isRecorded(job)) {
+            processResults.put(job.getKey(), result);
+        }
+        processCompletionRegistry.completeProcess(job.getProcessInstanceKey(), result, isAwaited(job));
+    }
+
+    /**
+     * Replays the recorded result of a job whose type is recorded, or claims the job, runs its pipeline
+     * and records the result before the job is completed. The claim is released if the pipeline fails,
+     * is cancelled or produces no result.
+     */
+    private Mono<Map<String, Object>> recorded(ActivatedJob job, Mono<Map<String, Object>> variables) {
+        if (!jobIdempotencyStore.isRecorded(job)) {
+            return variables;
+        }
+        String key = IdempotencyKeys.of(job.getProcessInstanceKey(), job.getElementId());
+        return jobIdempotencyStore.claim(key, job).flatMap(claim -> {
+            JobIdempotencyStore.Recorded recorded = claim.recorded();
+            if (recorded != null) {
+                log.info("Job {} of type {} already ran, completing it with its recorded result", job.getKey(), job.getType());
+                if (recorded.processResult() != null) {
+                    processCompletionRegistry.completeProcess(job.getProcessInstanceKey(), recorded.processResult(),
+                            isAwaited(job));
+                }
+                return Mono.just(recorded.variables());
+            }
+            return variables
+                    .flatMap(result -> jobIdempotencyStore.record(key, job, result, processResults.remove(job.getKey()))
+                            .thenReturn(result))
+                    .switchIfEmpty(jobIdempotencyStore.release(key, claim).then(Mono.empty()))
+                    .onErrorResume(e -> jobIdempotencyStore.release(key, claim).then(Mono.error(e)))
+                    .doOnCancel(() -> jobIdempotencyStore.release(key, claim).subscribe());
+        });
+    }
+
+    /**
+     * Stops handling jobs: jobs handed over from now on are returned to the broker without running
+     * their handler, while the jobs already in flight carry on.
+     */
+    public void startDraining() {
+        draining = true;
+    }
+
+    /**
+     * Gets the number of jobs whose handler or completion is still in flight.
+     *
+     * @return The number of in-flight jobs
+     */
+    public int inFlightJobs() {
+        return inFlightJobs.size();
+    }
+
+    /**
+     * Returns the jobs still in flight to the broker, so that another node can take them over at once
+     * instead of after their job timeout. Their handlers are cancelled first, so they neither keep calling
+     * downstream services nor complete the returned jobs.
+     *
+     * @return A Mono completing once the broker answered for every returned job
+     */
+    public Mono<Void> returnInFlightJobs() {
+        return Flux.defer(() -> {
+                    List<ActivatedJob> returned = new ArrayList<>();
+                    inFlightJobs.values().removeIf(inFlight -> {
+                        inFlight.returned = true;
+                        Disposable subscription = inFlight.subscription;
+                        if (subscription != null) {
+                            subscription.dispose();
+                        }
+                        returned.add(inFlight.job);
+                        return true;
+                    });
+                    return Flux.fromIterable(returned);
+                })
+                .flatMap(this::returnToBroker)
+                .then();
+    }
+
+    private Mono<Void> returnToBroker(ActivatedJob job) {
+        return send(job, "return", zeebeClient.newFailCommand(job.getKey())
+                .retries(job.getRetries())
+                .retryBackoff(Duration.ZERO)
+                .errorMessage("Worker shutting down"));
+    }
+
+    private Mono<Void> fail(ActivatedJob job, Throwable error) {
+        JobRetryPolicy.Decision decision = jobRetryPolicy.decide(job, error);
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getName();
+        log.warn("Job {} of type {} failed, reporting {}: {}", job.getKey(), job.getType(), decision.action(), message);
+
+        WebClientResponseException response = JobRetryPolicy.findCause(error, WebClientResponseException.class);
+        if (response != null && response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                && decision.backoff() != null) {
+            providerRateLimiter.onThrottled(job.getType(), decision.backoff());
+        }
+
+        return switch (decision.action()) {
+            case RETRY -> send(job, "fail", zeebeClient.newFailCommand(job.getKey())
+                    .retries(job.getRetries() - 1)
+                    .retryBackoff(decision.backoff())
+                    .errorMessage(message));
+            case POSTPONE -> send(job, "postpone", zeebeClient.newFailCommand(job.getKey())
+                    .retries(job.getRetries())
+                    .retryBackoff(decision.backoff())
+                    .errorMessage(message));
+            case FAIL -> send(job, "fail", zeebeClient.newFailCommand(job.getKey())
+                    .retries(0)
+                    .errorMessage(message));
+            case BPMN_ERROR -> send(job, "throw error on", zeebeClient.newThrowErrorCommand(job.getKey())
+                    .errorCode(decision.errorCode())
+                    .errorMessage(message));
+        };
+    }
+
+    /**
+     * Sends a command for a job. A job that no longer exists, e.g. because its process instance was
+     * cancelled, is skipped silently; other errors are logged and the job is left to its timeout.
+     */
+    private Mono<Void> send(ActivatedJob job, String action, FinalCommandStep<?> command) {
+        return Mono.fromCompletionStage(() -> command.send())
+                .then()
+                .onErrorResume(e -> {
+                    if (!(e instanceof ClientStatusException statusException
+                            && statusException.getStatusCode() == Status.Code.NOT_FOUND)) {
+                        log.error("Could not {} job {}: {}", action, job.getKey(), e.getMessage());
+                    }
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Maps a job result to the variables written back to the process.
+     * Fields listed as local for the job type are first set on the job's element instance only;
+     * the remaining result is restricted to the configured output fields.
+     *
+     * @param job The activated job
+     * @param result The result produced by the job handler
+     * @return A Mono emitting the variables to complete the job with
+     */
+    public Mono<Map<String, Object>> output(ActivatedJob job, Object result) {
+        return Mono.defer(() -> {
+            JsonMapper jsonMapper = zeebeClient.getConfiguration().getJsonMapper();
+            Map<String, Object> variables = new LinkedHashMap<>(jsonMapper.fromJsonAsMap(jsonMapper.toJson(result)));
+
+            JobWorkerProperties.Output output = outputs.get(job.getType());
+            Mono<Void> writeLocal = Mono.empty();
+            if (output != null) {
+                Map<String, Object> local = select(variables, output.getLocalFields());
+                if (output.getFields() != null) {
+                    variables = select(variables, output.getFields());
+                } else {
+                    variables.keySet().removeAll(local.keySet());
+                }
+                if (!local.isEmpty()) {
+                    writeLocal = Mono.fromCompletionStage(() -> zeebeClient
+                                    .newSetVariablesCommand(job.getElementInstanceKey())
+                                    .variables(local)
+                                    .local(true)
+                                    .send())
+                            .then();
+                }
+            }
+
+            recordSize("orchestrator.jobs.output.size", "Size of the variables jobs write back to the process",
+                    job, jsonMapper.toJson(variables));
+            return writeLocal.thenReturn(variables);
+        });
+    }
+
+    private static Map<String, Object> select(Map<String, Object> variables, List<String> fields) {
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (String field : fields) {
+            if (variables.containsKey(field)) {
+                selected.put(field, variables.get(field));
+            }
+        }
+        return selected;
+    }
+
+    private void recordSize(String name, String description, ActivatedJob job, String json) {
+        DistributionSummary.builder(name)
+                .tag("process", job.getBpmnProcessId())
+                .tag("type", job.getType())
+                .baseUnit("bytes")
+                .description(description)
+                .register(meterRegistry)
+                .record(json.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    /**
+     * Checks whether the caller that started the job's process waits for, or looks up, its result.
+     *
+     * @param job The activated job
+     * @return true if the job carries the awaited flag
+     */
+    private static boolean isAwaited(ActivatedJob job) {
+        return JobVariables.isTrue(job, ProcessCompletionRegistry.AWAITED_VARIABLE);
+    }
+
+    /**
+     * Checks whether the deadline carried by the job has passed.
+     *
+     * @param job The activated job
+     * @return true if the job carries a deadline that has passed
+     */
+    private static boolean isExpired(ActivatedJob job) {
+        Long deadline = JobVariables.getLong(job, ProcessCompletionRegistry.DEADLINE_VARIABLE);
+        return deadline != null && deadline < System.currentTimeMillis();
+    }
+
+    /**
+     * Skips the handler of a job whose deadline has passed and requests the cancellation of its process instance.
+     *
+     * @param job The expired job
+     * @return true if the cancellation was queued, so the job can be dropped without a command
+     */
+    private boolean dropExpired(ActivatedJob job) {
+        log.info("Deadline of process instance {} has passed, skipping {} job {}",
+                job.getProcessInstanceKey(), job.getType(), job.getKey());
+        Counter.builder("orchestrator.jobs.deadline.expired")
+                .tag("type", job.getType())
+                .description("Jobs dropped because the waiting caller's deadline had passed")
+                .register(meterRegistry)
+                .increment();
+
+        publishStep(job, ProcessProgressPublisher.STEP_SKIPPED);
+        return processCancellationService.cancel(job.getProcessInstanceKey(), job.getBpmnProcessId(),
+                ProcessCancellationService.DEADLINE_EXPIRED);
+    }
+
+    private void publishStep(ActivatedJob job, String status) {
+        processProgressPublisher.publishStep(job.getProcessInstanceKey(), job.getType(), status);
+    }
+
+    /**
+     * Signals that a job was dropped because the deadline of its process instance had passed.
+     */
+    public static final class DeadlineExpiredException extends RuntimeException {
+
+        private DeadlineExpiredException(ActivatedJob job) {
+            super("Deadline of process instance " + job.getProcessInstanceKey() + " has passed");
+        }
+    }
+
+    /**
+     * A job whose handler or completion is in flight, with the subscription running it.
+     */
+    private static final class InFlightJob {
+        private final ActivatedJob job;
+        private volatile Disposable subscription;
+        private volatile boolean returned;
+
+        private InFlightJob(ActivatedJob job) {
+            this.job = job;
+        }
+    }
+}
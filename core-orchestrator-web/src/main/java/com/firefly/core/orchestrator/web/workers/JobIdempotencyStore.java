@@ -0,0 +1,407 @@
+package com.firefly.core.orchestrator.web.workers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.orchestrator.web.properties.IdempotencyProperties;
+import com.firefly.core.orchestrator.web.properties.ProcessCompletionProperties;
+import io.camunda.zeebe.client.api.response.ActivatedJob;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Records the results of completed jobs, so that a job activated again after a timeout or a node
+ * restart is completed with its recorded result instead of repeating its downstream side effects,
+ * such as creating a customer or an account twice.
+ * <p>
+ * Results are keyed by the job's process instance key and element ID, which stay the same across
+ * activations, and are kept in the {@code job_result} table on the configured R2DBC datasource.
+ * Before its handler runs, an activation claims the key by inserting a row holding a lease; the row
+ * is completed with the job's result once the handler succeeded, and deleted if it failed. Another
+ * activation finding a live claim, e.g. because a slow provider call outlived the job timeout, is
+ * postponed until the lease ends instead of calling the provider a second time; an expired lease,
+ * left by a node that died, is taken over.
+ * <p>
+ * A process result recorded with a job is read back as the type it was recorded as, restricted to the
+ * result packages of {@code orchestrator.process-completion.r2dbc}, so a replay hands waiting callers
+ * the same type as the first run.
+ * <p>
+ * A bounded in-memory cache of the most recent results answers most lookups without a query. Only
+ * the job types listed in {@code orchestrator.idempotency.job-types} are recorded. Records protect
+ * across restarts and replicas only on a persistent datasource shared by all replicas.
+ */
+@Component
+@Slf4j
+public class JobIdempotencyStore implements InitializingBean, DisposableBean {
+
+    private static final TypeReference<Map<String, Object>> VARIABLES = new TypeReference<>() { };
+
+    private static final String COMPLETED = "completed";
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS job_result (
+                idempotency_key VARCHAR(255) PRIMARY KEY,
+                job_type VARCHAR(255) NOT NULL,
+                status VARCHAR(16) NOT NULL,
+                claim_token VARCHAR(36),
+                lease_until TIMESTAMP,
+                payload VARCHAR(65536),
+                process_result VARCHAR(65536),
+                process_result_type VARCHAR(255),
+                created_at TIMESTAMP NOT NULL
+            )""";
+    // Tables created before process result types were recorded
+    private static final String ADD_RESULT_TYPE =
+            "ALTER TABLE job_result ADD COLUMN IF NOT EXISTS process_result_type VARCHAR(255)";
+    private static final String INSERT_CLAIM = """
+            INSERT INTO job_result (idempotency_key, job_type, status, claim_token, lease_until, created_at)
+            VALUES (:key, :type, 'running', :token, :leaseUntil, :createdAt)""";
+    private static final String SELECT_BY_KEY =
+            "SELECT status, claim_token, lease_until, payload, process_result, process_result_type FROM job_result WHERE idempotency_key = :key";
+    private static final String TAKE_OVER = """
+            UPDATE job_result SET claim_token = :token, lease_until = :leaseUntil
+            WHERE idempotency_key = :key AND status = 'running' AND claim_token = :previous""";
+    private static final String COMPLETE = """
+            UPDATE job_result SET status = 'completed', payload = :payload, process_result = :processResult,
+                process_result_type = :processResultType, claim_token = NULL, lease_until = NULL, created_at = :createdAt
+            WHERE idempotency_key = :key AND status = 'running'""";
+    private static final String INSERT_COMPLETED = """
+            INSERT INTO job_result (idempotency_key, job_type, status, payload, process_result, process_result_type, created_at)
+            VALUES (:key, :type, 'completed', :payload, :processResult, :processResultType, :createdAt)""";
+    private static final String RELEASE =
+            "DELETE FROM job_result WHERE idempotency_key = :key AND status = 'running' AND claim_token = :token";
+    private static final String DELETE_EXPIRED = "DELETE FROM job_result WHERE created_at < :cutoff";
+
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+    private final Set<String> resultPackages;
+    private final String datasourceUrl;
+    private final Map<String, Recorded> cache;
+
+    private Disposable cleanup;
+
+    /**
+     * Constructs a new JobIdempotencyStore.
+     *
+     * @param databaseClient The client for the configured R2DBC datasource
+     * @param objectMapper The mapper used to serialize job results
+     * @param properties The idempotency configuration
+     * @param processCompletionProperties The process completion configuration, restricting process result types
+     * @param datasourceUrl The URL of the configured R2DBC datasource
+     */
+    @Autowired
+    public JobIdempotencyStore(DatabaseClient databaseClient, ObjectMapper objectMapper, IdempotencyProperties properties,
+                               ProcessCompletionProperties processCompletionProperties,
+                               @Value("${spring.r2dbc.url:}") String datasourceUrl) {
+        this.databaseClient = databaseClient;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.resultPackages = processCompletionProperties.getR2dbc().getResultPackages();
+        this.datasourceUrl = datasourceUrl;
+        int capacity = properties.getCacheCapacity();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Recorded> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Creates the result table if needed and starts purging expired results.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (datasourceUrl.contains(":mem:")) {
+            log.warn("Job results are recorded in the in-memory database {}; they are lost on restart and not shared "
+                    + "between replicas, configure a persistent shared spring.r2dbc.url", datasourceUrl);
+        }
+        cleanup = databaseClient.sql(CREATE_TABLE).then()
+                .then(databaseClient.sql(ADD_RESULT_TYPE).then())
+                .thenMany(Flux.interval(properties.getCleanupInterval()))
+                .onBackpressureDrop()
+                .concatMap(tick -> databaseClient.sql(DELETE_EXPIRED)
+                        .bind("cutoff", LocalDateTime.now().minus(properties.getRetention()))
+                        .fetch()
+                        .rowsUpdated()
+                        .onErrorResume(e -> {
+                            log.warn("Error purging job results: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    /**
+     * Stops purging when the application context shuts down.
+     */
+    @Override
+    public void destroy() {
+        if (cleanup != null) {
+            cleanup.dispose();
+        }
+    }
+
+    /**
+     * Checks whether the results of a job's type are recorded.
+     *
+     * @param job The activated job
+     * @return true if the job's result is recorded and replayed
+     */
+    public boolean isRecorded(ActivatedJob job) {
+        return properties.isEnabled() && properties.getJobTypes().contains(job.getType());
+    }
+
+    /**
+     * Claims a job's key for the current activation, unless an earlier activation already recorded its result.
+     * Database errors are logged and treated as an unclaimed key, so the job runs as usual.
+     *
+     * @param key The job's idempotency key
+     * @param job The activated job
+     * @return A Mono emitting the claim, carrying the recorded result if there is one, or failing with a
+     *         {@link ClaimedElsewhereException} while another activation holds a live claim
+     */
+    public Mono<Claim> claim(String key, ActivatedJob job) {
+        synchronized (cache) {
+            Recorded cached = cache.get(key);
+            if (cached != null) {
+                return Mono.just(new Claim(null, cached));
+            }
+        }
+        String token = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        return databaseClient.sql(INSERT_CLAIM)
+                .bind("key", key)
+                .bind("type", job.getType())
+                .bind("token", token)
+                .bind("leaseUntil", now.plus(properties.getClaimLease()))
+                .bind("createdAt", now)
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(new Claim(token, null))
+                // The key exists: the job already ran or is running elsewhere
+                .onErrorResume(insertError -> findRow(key)
+                        .flatMap(row -> resolveExisting(key, token, row))
+                        .switchIfEmpty(Mono.defer(() -> {
+                            log.warn("Could not claim job {}, running it unclaimed: {}", key, insertError.getMessage());
+                            return Mono.just(new Claim(null, null));
+                        })))
+                .onErrorResume(e -> !(e instanceof ClaimedElsewhereException), e -> {
+                    log.warn("Error claiming job {}, running it unclaimed: {}", key, e.getMessage());
+                    return Mono.just(new Claim(null, null));
+                });
+    }
+
+    private Mono<Claim> resolveExisting(String key, String token, Row row) {
+        if (COMPLETED.equals(row.status())) {
+            Recorded recorded = recorded(key, row);
+            if (recorded == null) {
+                return Mono.just(new Claim(null, null));
+            }
+            synchronized (cache) {
+                cache.put(key, recorded);
+            }
+            return Mono.just(new Claim(null, recorded));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (row.leaseUntil() != null && row.leaseUntil().isAfter(now)) {
+            return Mono.error(new ClaimedElsewhereException(key, "still running in an earlier activation",
+                    Duration.between(now, row.leaseUntil())));
+        }
+        log.info("Taking over the expired claim of job {}", key);
+        return databaseClient.sql(TAKE_OVER)
+                .bind("key", key)
+                .bind("token", token)
+                .bind("leaseUntil", now.plus(properties.getClaimLease()))
+                .bind("previous", row.claimToken())
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> updated > 0
+                        ? Mono.just(new Claim(token, null))
+                        : Mono.error(new ClaimedElsewhereException(key, "claimed by another activation",
+                                properties.getClaimLease())));
+    }
+
+    private Mono<Row> findRow(String key) {
+        return databaseClient.sql(SELECT_BY_KEY)
+                .bind("key", key)
+                .map((row, metadata) -> new Row(
+                        row.get("status", String.class),
+                        row.get("claim_token", String.class),
+                        row.get("lease_until", LocalDateTime.class),
+                        row.get("payload", String.class),
+                        row.get("process_result", String.class),
+                        row.get("process_result_type", String.class)))
+                .one();
+    }
+
+    /**
+     * Reads the recorded result of a completed row. A process result whose type is not in the result packages,
+     * or cannot be read, is dropped with an error, while the job's variables are still replayed.
+     *
+     * @param key The job's idempotency key
+     * @param row The completed row
+     * @return The recorded result, or null if the job's variables cannot be read
+     */
+    private Recorded recorded(String key, Row row) {
+        Map<String, Object> variables;
+        try {
+            variables = objectMapper.readValue(row.payload(), VARIABLES);
+        } catch (JsonProcessingException e) {
+            log.error("Could not read recorded result of job {}: {}", key, e.getMessage());
+            return null;
+        }
+        if (row.processResult() == null) {
+            return new Recorded(variables, null);
+        }
+        String resultType = row.processResultType();
+        if (resultType == null || resultPackages.stream().noneMatch(resultPackage -> resultType.startsWith(resultPackage + "."))) {
+            log.error("Dropping recorded process result of job {} with disallowed result type {}", key, resultType);
+            return new Recorded(variables, null);
+        }
+        try {
+            return new Recorded(variables,
+                    objectMapper.readValue(row.processResult(), Class.forName(resultType, false, getClass().getClassLoader())));
+        } catch (JsonProcessingException | ClassNotFoundException e) {
+            log.error("Could not read recorded process result of job {}: {}", key, e.getMessage());
+            return new Recorded(variables, null);
+        }
+    }
+
+    /**
+     * Records the result of a job before it is completed, completing its claim.
+     * A failed write is logged and does not fail the job; it only loses the protection against a repeat.
+     *
+     * @param key The job's idempotency key
+     * @param job The activated job
+     * @param variables The variables the job is completed with
+     * @param processResult The result the job recorded for its process, or null
+     * @return A Mono completing once the result is written
+     */
+    public Mono<Void> record(String key, ActivatedJob job, Map<String, Object> variables, Object processResult) {
+        String payload;
+        String processResultPayload;
+        try {
+            payload = objectMapper.writeValueAsString(variables);
+            processResultPayload = processResult != null ? objectMapper.writeValueAsString(processResult) : null;
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize result of job {}: {}", key, e.getMessage());
+            return Mono.empty();
+        }
+        synchronized (cache) {
+            cache.put(key, new Recorded(variables, processResult));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        String processResultType = processResult != null ? processResult.getClass().getName() : null;
+        return bindResult(databaseClient.sql(COMPLETE), key, payload, processResultPayload, processResultType, now)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> updated > 0 ? Mono.<Long>empty()
+                        // Unclaimed, as the claim could not be written
+                        : bindResult(databaseClient.sql(INSERT_COMPLETED), key, payload, processResultPayload,
+                                processResultType, now)
+                                .bind("type", job.getType())
+                                .fetch()
+                                .rowsUpdated())
+                .then()
+                .onErrorResume(e -> {
+                    // Another activation of the job may have recorded its result first
+                    log.warn("Could not record result of job {}: {}", key, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindResult(DatabaseClient.GenericExecuteSpec spec, String key,
+                                                                String payload, String processResult,
+                                                                String processResultType, LocalDateTime now) {
+        spec = spec.bind("key", key)
+                .bind("payload", payload)
+                .bind("createdAt", now);
+        return processResult != null
+                ? spec.bind("processResult", processResult).bind("processResultType", processResultType)
+                : spec.bindNull("processResult", String.class).bindNull("processResultType", String.class);
+    }
+
+    /**
+     * Releases a claim whose job did not produce a result, so that its next activation runs at once.
+     *
+     * @param key The job's idempotency key
+     * @param claim The claim to release
+     * @return A Mono completing once the claim is released
+     */
+    public Mono<Void> release(String key, Claim claim) {
+        if (claim.token() == null) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(RELEASE)
+                .bind("key", key)
+                .bind("token", claim.token())
+                .fetch()
+                .rowsUpdated()
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Could not release claim of job {}, its next activation waits for the lease: {}", key, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * The claim of a job's key by an activation.
+     *
+     * @param token The token identifying the activation's claim, or null if the key is not claimed
+     * @param recorded The result recorded by an earlier activation, or null if the job has to run
+     */
+    public record Claim(String token, Recorded recorded) {
+    }
+
+    /**
+     * The recorded result of a job.
+     *
+     * @param variables The variables the job was completed with
+     * @param processResult The result the job recorded for its process, or null
+     */
+    public record Recorded(Map<String, Object> variables, Object processResult) {
+    }
+
+    /**
+     * Signals that another activation holds a live claim on a job's key. The job was not run and no
+     * downstream service was called, so the failure says nothing about the load of its provider.
+     */
+    @Getter
+    public static final class ClaimedElsewhereException extends RuntimeException {
+
+        /**
+         * How long until the other activation's lease ends.
+         */
+        private final Duration retryAfter;
+
+        ClaimedElsewhereException(String key, String reason, Duration retryAfter) {
+            super("Job " + key + " " + reason);
+            this.retryAfter = retryAfter;
+        }
+    }
+
+    private record Row(String status, String claimToken, LocalDateTime leaseUntil, String payload, String processResult,
+                       String processResultType) {
+    }
+}
@@ -0,0 +1,214 @@
+package com.firefly.core.orchestrator.web.workers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.firefly.core.orchestrator.core.resilience.DownstreamUnavailableException;
+import com.firefly.core.orchestrator.web.properties.JobWorkerProperties;
+import io.camunda.zeebe.client.api.response.ActivatedJob;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.R2dbcTransientException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Decides how a failed job is reported to the broker.
+ * <p>
+ * Failures of downstream calls are classified by HTTP status. Statuses listed as retryable, as well
+ * as transient errors without a status such as connection failures, I/O errors and timeouts, are
+ * retried after an exponential backoff with jitter, or after the delay the provider asked for in its
+ * Retry-After header. Other 4xx statuses are business failures: retrying them cannot succeed, so they
+ * throw the BPMN error configured for the status, or fail the job without retries. Any other error,
+ * such as a programming error or a variable that cannot be mapped, would fail again the same way, so
+ * it fails the job without retries as well, raising an incident.
+ * <p>
+ * Calls rejected by an open circuit breaker or a full bulkhead never reached the service. Such jobs
+ * are postponed: they are returned with a backoff lasting until the breaker lets calls through again,
+ * without spending a retry. Jobs still running in another activation are postponed the same way, until
+ * that activation's claim runs out.
+ * <p>
+ * Every failure is counted in {@code orchestrator.jobs.failures}, tagged with the job type and the
+ * decision. The retries that immediately re-activating a non-retryable job would have burned are
+ * counted in {@code orchestrator.jobs.retries.avoided}.
+ */
+@Component
+@Slf4j
+public class JobRetryPolicy {
+
+    private final JobWorkerProperties.Retry properties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructs a new JobRetryPolicy.
+     *
+     * @param jobWorkerProperties The job worker configuration
+     * @param meterRegistry The registry for failure metrics
+     */
+    @Autowired
+    public JobRetryPolicy(JobWorkerProperties jobWorkerProperties, MeterRegistry meterRegistry) {
+        this.properties = jobWorkerProperties.getRetry();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Classifies the failure of a job.
+     *
+     * @param job The failed job
+     * @param error The error the job handler failed with
+     * @return How the failure is reported to the broker
+     */
+    public Decision decide(ActivatedJob job, Throwable error) {
+        JobIdempotencyStore.ClaimedElsewhereException claimed =
+                findCause(error, JobIdempotencyStore.ClaimedElsewhereException.class);
+        DownstreamUnavailableException unavailable = findCause(error, DownstreamUnavailableException.class);
+        WebClientResponseException response = findCause(error, WebClientResponseException.class);
+        Decision decision;
+        if (claimed != null) {
+            decision = Decision.postpone(min(claimed.getRetryAfter(), properties.getMaxBackoff()));
+        } else if (unavailable != null) {
+            decision = Decision.postpone(unavailable.getRetryAfter() != null
+                    ? min(unavailable.getRetryAfter(), properties.getMaxBackoff())
+                    : backoff(job, null));
+        } else if (response != null ? properties.getRetryableStatuses().contains(response.getStatusCode().value())
+                : isTransient(error)) {
+            decision = job.getRetries() > 1
+                    ? Decision.retry(backoff(job, response))
+                    : Decision.fail();
+        } else if (response == null) {
+            decision = Decision.fail();
+            countRetriesAvoided(job);
+        } else {
+            String errorCode = properties.getBpmnErrorCodes().get(response.getStatusCode().value());
+            decision = errorCode != null ? Decision.bpmnError(errorCode) : Decision.fail();
+            countRetriesAvoided(job);
+        }
+
+        Counter.builder("orchestrator.jobs.failures")
+                .tag("type", job.getType())
+                .tag("decision", decision.action().name().toLowerCase())
+                .description("Failed jobs by how the failure was reported")
+                .register(meterRegistry)
+                .increment();
+        return decision;
+    }
+
+    /**
+     * Computes the backoff before the next attempt of a job.
+     * A Retry-After delay sent by the provider takes precedence over the exponential backoff.
+     */
+    private Duration backoff(ActivatedJob job, WebClientResponseException response) {
+        Duration retryAfter = response != null ? retryAfter(response) : null;
+        if (retryAfter != null) {
+            return min(retryAfter, properties.getMaxBackoff());
+        }
+
+        int attempt = Math.max(0, properties.getMaxRetries() - job.getRetries());
+        double exponential = properties.getInitialBackoff().toMillis() * Math.pow(properties.getMultiplier(), attempt);
+        double capped = Math.min(exponential, properties.getMaxBackoff().toMillis());
+        double jitter = Math.min(1, Math.max(0, properties.getJitter()));
+        return Duration.ofMillis((long) (capped * (1 - jitter * ThreadLocalRandom.current().nextDouble())));
+    }
+
+    /**
+     * Reads the Retry-After header, given either in seconds or as an HTTP date.
+     */
+    private static Duration retryAfter(WebClientResponseException response) {
+        String value = response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                Duration delay = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                return delay.isNegative() ? Duration.ZERO : delay;
+            } catch (DateTimeParseException ignored) {
+                log.debug("Ignoring unparseable Retry-After header: {}", value);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Checks whether an error without an HTTP status may succeed when retried: a failed connection,
+     * an I/O error other than unparseable content, a timeout or a transient database error.
+     */
+    private static boolean isTransient(Throwable error) {
+        if (findCause(error, JsonProcessingException.class) != null) {
+            return false;
+        }
+        return findCause(error, WebClientRequestException.class) != null
+                || findCause(error, IOException.class) != null
+                || findCause(error, TimeoutException.class) != null
+                || findCause(error, R2dbcTransientException.class) != null;
+    }
+
+    static <E extends Throwable> E findCause(Throwable error, Class<E> type) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (type.isInstance(current)) {
+                return type.cast(current);
+            }
+        }
+        return null;
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private void countRetriesAvoided(ActivatedJob job) {
+        Counter.builder("orchestrator.jobs.retries.avoided")
+                .tag("type", job.getType())
+                .description("Retries not spent on failures that retrying cannot fix")
+                .register(meterRegistry)
+                .increment(Math.max(0, job.getRetries() - 1));
+    }
+
+    /**
+     * What to do with a failed job.
+     */
+    public enum Action {
+        RETRY,
+        POSTPONE,
+        FAIL,
+        BPMN_ERROR
+    }
+
+    /**
+     * The decision for a failed job.
+     *
+     * @param action What to do with the job
+     * @param backoff The delay before the job is retried, for {@link Action#RETRY} and {@link Action#POSTPONE}
+     * @param errorCode The BPMN error code to throw, for {@link Action#BPMN_ERROR}
+     */
+    public record Decision(Action action, Duration backoff, String errorCode) {
+
+        static Decision retry(Duration backoff) {
+            return new Decision(Action.RETRY, backoff, null);
+        }
+
+        static Decision postpone(Duration backoff) {
+            return new Decision(Action.POSTPONE, backoff, null);
+        }
+
+        static Decision fail() {
+            return new Decision(Action.FAIL, null, null);
+        }
+
+        static Decision bpmnError(String errorCode) {
+            return new Decision(Action.BPMN_ERROR, null, errorCode);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.firefly.core.orchestrator.web.workers;
+
+import com.firefly.core.orchestrator.web.properties.JobWorkerProperties;
+import io.camunda.zeebe.client.ZeebeClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Drains the job workers when the application shuts down, so that jobs held by a terminating node
+ * are neither lost until their job timeout nor executed twice.
+ * <p>
+ * The coordinator stops after the graceful shutdown of the HTTP server, so that callers still
+ * waiting for a process see it through, and then goes through these phases:
+ * <ol>
+ *     <li>stop the activation of jobs by closing every worker and job stream;</li>
+ *     <li>let the in-flight handlers finish within the first three quarters of
+ *     {@code orchestrator.workers.shutdown.drain-timeout};</li>
+ *     <li>cancel the remaining handlers and fail their jobs without spending a retry and with no backoff,
+ *     so another node picks them up at once, within what is left of the drain timeout;</li>
+ *     <li>close the {@link ZeebeClient}.</li>
+ * </ol>
+ */
+@Component
+@Slf4j
+public class JobShutdownCoordinator implements SmartLifecycle {
+
+    // Stops after the HTTP server's graceful shutdown (DEFAULT_PHASE - 1024), before the server itself (DEFAULT_PHASE - 2048)
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 1536;
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private final ZeebeClient zeebeClient;
+    private final JobActivationControl jobActivationControl;
+    private final JobExecutionTemplate jobExecutionTemplate;
+    private final Duration drainTimeout;
+
+    private volatile boolean running;
+
+    /**
+     * Constructs a new JobShutdownCoordinator.
+     *
+     * @param zeebeClient The client closed once the workers are drained
+     * @param jobActivationControl The control stopping the activation of jobs
+     * @param jobExecutionTemplate The template tracking the in-flight jobs
+     * @param jobWorkerProperties The job worker configuration
+     */
+    @Autowired
+    public JobShutdownCoordinator(ZeebeClient zeebeClient, JobActivationControl jobActivationControl,
+                                  JobExecutionTemplate jobExecutionTemplate, JobWorkerProperties jobWorkerProperties) {
+        this.zeebeClient = zeebeClient;
+        this.jobActivationControl = jobActivationControl;
+        this.jobExecutionTemplate = jobExecutionTemplate;
+        this.drainTimeout = jobWorkerProperties.getShutdown().getDrainTimeout();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+
+        jobActivationControl.stopAll();
+        jobExecutionTemplate.startDraining();
+
+        // One deadline for the whole drain, the last quarter of which is kept for returning jobs
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        long drainDeadline = deadline - drainTimeout.toNanos() / 4;
+        while (jobExecutionTemplate.inFlightJobs() > 0 && drainDeadline - System.nanoTime() > 0) {
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        int remaining = jobExecutionTemplate.inFlightJobs();
+        if (remaining > 0) {
+            log.warn("Returning {} in-flight jobs to the broker after the drain timeout of {}", remaining, drainTimeout);
+            try {
+                jobExecutionTemplate.returnInFlightJobs()
+                        .block(Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+            } catch (RuntimeException e) {
+                log.warn("Could not return all in-flight jobs, they will be reactivated after their job timeout: {}", e.getMessage());
+            }
+        } else {
+            log.info("All in-flight jobs drained");
+        }
+
+        zeebeClient.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
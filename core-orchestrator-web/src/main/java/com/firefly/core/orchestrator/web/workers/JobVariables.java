@@ -0,0 +1,107 @@
+package com.firefly.core.orchestrator.web.workers;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.camunda.zeebe.client.api.response.ActivatedJob;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Typed accessors for single top-level job variables.
+ * The variable document is scanned with a streaming parser and skipped past everything but the
+ * requested variable, so no intermediate map or object tree is built.
+ */
+public final class JobVariables {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private JobVariables() {
+    }
+
+    /**
+     * Reads a numeric variable as a long.
+     *
+     * @param job The activated job
+     * @param name The name of the variable
+     * @return The value, or null if the variable is absent, null or not a number
+     */
+    public static Long getLong(ActivatedJob job, String name) {
+        return readNumber(job, name) instanceof Number value ? value.longValue() : null;
+    }
+
+    /**
+     * Reads a numeric variable as an integer.
+     *
+     * @param job The activated job
+     * @param name The name of the variable
+     * @return The value, or null if the variable is absent, null or not a number
+     */
+    public static Integer getInteger(ActivatedJob job, String name) {
+        return readNumber(job, name) instanceof Number value ? value.intValue() : null;
+    }
+
+    /**
+     * Reads a boolean variable.
+     *
+     * @param job The activated job
+     * @param name The name of the variable
+     * @return true if the variable is the boolean true, false otherwise
+     */
+    public static boolean isTrue(ActivatedJob job, String name) {
+        try (JsonParser parser = JSON_FACTORY.createParser(job.getVariables())) {
+            return seek(parser, name) == JsonToken.VALUE_TRUE;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read variable " + name + " of job " + job.getKey(), e);
+        }
+    }
+
+    /**
+     * Reads a string variable.
+     *
+     * @param job The activated job
+     * @param name The name of the variable
+     * @return The value, or null if the variable is absent, null or not a string
+     */
+    public static String getString(ActivatedJob job, String name) {
+        try (JsonParser parser = JSON_FACTORY.createParser(job.getVariables())) {
+            return seek(parser, name) == JsonToken.VALUE_STRING ? parser.getText() : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read variable " + name + " of job " + job.getKey(), e);
+        }
+    }
+
+    private static Number readNumber(ActivatedJob job, String name) {
+        try (JsonParser parser = JSON_FACTORY.createParser(job.getVariables())) {
+            JsonToken token = seek(parser, name);
+            return token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT
+                    ? parser.getNumberValue()
+                    : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read variable " + name + " of job " + job.getKey(), e);
+        }
+    }
+
+    /**
+     * Moves the parser to the value of the named top-level field.
+     *
+     * @param parser A parser positioned before the variable document
+     * @param name The name of the variable
+     * @return The token of the value, or null if the variable is absent
+     */
+    private static JsonToken seek(JsonParser parser, String name) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (name.equals(field)) {
+                return value;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+}
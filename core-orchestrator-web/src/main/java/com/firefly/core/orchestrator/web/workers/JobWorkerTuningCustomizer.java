@@ -0,0 +1,72 @@
+package com.firefly.core.orchestrator.web.workers;
+
+import com.firefly.core.orchestrator.web.properties.JobWorkerProperties;
+import io.camunda.zeebe.spring.client.annotation.customizer.ZeebeWorkerValueCustomizer;
+import io.camunda.zeebe.spring.client.annotation.value.ZeebeWorkerValue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the per-job-type tuning of {@code orchestrator.workers} to every {@code @JobWorker}
+ * before its worker is opened: first the job type's preset, then its individual overrides.
+ */
+@Component
+@Slf4j
+public class JobWorkerTuningCustomizer implements ZeebeWorkerValueCustomizer {
+
+    private final JobWorkerProperties properties;
+
+    /**
+     * Constructs a new JobWorkerTuningCustomizer.
+     *
+     * @param properties The job worker tuning configuration
+     */
+    @Autowired
+    public JobWorkerTuningCustomizer(JobWorkerProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void customize(ZeebeWorkerValue zeebeWorker) {
+        String type = zeebeWorker.getType();
+        String preset = properties.getJobTypes().getOrDefault(type, properties.getDefaultPreset());
+        if (preset != null) {
+            JobWorkerProperties.Tuning tuning = properties.getPresets().get(preset);
+            if (tuning == null) {
+                log.warn("Unknown worker preset {} for job type {}", preset, type);
+            } else {
+                apply(zeebeWorker, tuning);
+            }
+        }
+
+        JobWorkerProperties.Tuning override = properties.getOverrides().get(type);
+        if (override != null) {
+            apply(zeebeWorker, override);
+        }
+
+        log.info("Job worker {} uses preset {}: maxJobsActive={}, pollInterval={}, streamEnabled={}",
+                type, preset, zeebeWorker.getMaxJobsActive(), zeebeWorker.getPollInterval(), zeebeWorker.getStreamEnabled());
+    }
+
+    private static void apply(ZeebeWorkerValue zeebeWorker, JobWorkerProperties.Tuning tuning) {
+        if (tuning.getMaxJobsActive() != null) {
+            zeebeWorker.setMaxJobsActive(tuning.getMaxJobsActive());
+        }
+        if (tuning.getPollInterval() != null) {
+            zeebeWorker.setPollInterval(tuning.getPollInterval());
+        }
+        if (tuning.getRequestTimeout() != null) {
+            zeebeWorker.setRequestTimeout(tuning.getRequestTimeout());
+        }
+        if (tuning.getTimeout() != null) {
+            zeebeWorker.setTimeout(tuning.getTimeout());
+        }
+        if (tuning.getStreamEnabled() != null) {
+            zeebeWorker.setStreamEnabled(tuning.getStreamEnabled());
+        }
+        if (tuning.getStreamTimeout() != null) {
+            zeebeWorker.setStreamTimeout(tuning.getStreamTimeout());
+        }
+    }
+}
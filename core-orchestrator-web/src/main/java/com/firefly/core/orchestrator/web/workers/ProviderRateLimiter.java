@@ -0,0 +1,180 @@
+package com.firefly.core.orchestrator.web.workers;
+
+import com.firefly.core.orchestrator.web.properties.ProviderRateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate limiter shared by all job types calling the same BaaS provider, so that together they stay
+ * within the provider's global request quota instead of provoking 429 storms.
+ * <p>
+ * Each provider has a token bucket, kept lock-free as the single timestamp from which its tokens
+ * have been refilling, so taking tokens is one compare-and-set. A job takes
+ * as many tokens as its job type costs. When the bucket is empty, the job is returned to the broker
+ * until tokens are available again, and the activation of the provider's job types is paused for
+ * that time through the {@link JobActivationControl}. A 429 answer from the provider empties the
+ * bucket for the requested delay in the same way.
+ */
+@Component
+@Slf4j
+public class ProviderRateLimiter {
+
+    private final boolean enabled;
+    private final Map<String, Bucket> bucketsByType = new HashMap<>();
+    private final JobActivationControl jobActivationControl;
+
+    /**
+     * Constructs a new ProviderRateLimiter.
+     *
+     * @param properties The provider rate limit configuration
+     * @param jobActivationControl The control pausing the activation of throttled job types
+     * @param meterRegistry The registry for rate limit metrics
+     */
+    @Autowired
+    public ProviderRateLimiter(ProviderRateLimitProperties properties, JobActivationControl jobActivationControl,
+                               MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.jobActivationControl = jobActivationControl;
+        properties.getProviders().forEach((provider, limits) -> {
+            Bucket bucket = new Bucket(provider, limits, meterRegistry);
+            limits.getJobTypes().keySet().forEach(type -> bucketsByType.put(type, bucket));
+        });
+    }
+
+    /**
+     * Takes the tokens a job costs from its provider's bucket.
+     *
+     * @param type The job type
+     * @return Duration.ZERO if the job may call the provider, otherwise how long until its tokens are available
+     */
+    public Duration tryAcquire(String type) {
+        Bucket bucket = enabled ? bucketsByType.get(type) : null;
+        if (bucket == null) {
+            return Duration.ZERO;
+        }
+        long waitNanos = bucket.tryAcquire(bucket.limits.getJobTypes().get(type));
+        if (waitNanos <= 0) {
+            return Duration.ZERO;
+        }
+        bucket.throttled.increment();
+        pauseActivation(bucket, waitNanos);
+        return Duration.ofNanos(waitNanos);
+    }
+
+    /**
+     * Empties the bucket of a job type's provider after the provider throttled a call.
+     *
+     * @param type The job type whose call was throttled
+     * @param retryAfter How long the provider asked to wait
+     */
+    public void onThrottled(String type, Duration retryAfter) {
+        Bucket bucket = enabled ? bucketsByType.get(type) : null;
+        if (bucket == null) {
+            return;
+        }
+        log.warn("Provider {} throttled a {} call, holding its calls for {}", bucket.provider, type, retryAfter);
+        bucket.drain(retryAfter.toNanos());
+        pauseActivation(bucket, retryAfter.toNanos());
+    }
+
+    /**
+     * Gets the name of the provider limiting a job type.
+     *
+     * @param type The job type
+     * @return The provider's name, or null if the job type is not limited
+     */
+    public String providerOf(String type) {
+        Bucket bucket = bucketsByType.get(type);
+        return bucket != null ? bucket.provider : null;
+    }
+
+    private void pauseActivation(Bucket bucket, long waitNanos) {
+        if (!bucket.limits.isPauseActivation()) {
+            return;
+        }
+        Duration pause = Duration.ofNanos(Math.max(waitNanos, bucket.limits.getMinPause().toNanos()));
+        for (String type : bucket.types) {
+            if (!jobActivationControl.isPaused(type)) {
+                jobActivationControl.pause(type, pause);
+            }
+        }
+    }
+
+    /**
+     * A token bucket holding the time from which its tokens have been refilling: the bucket holds
+     * one token per elapsed token interval since then, up to its capacity.
+     */
+    private static final class Bucket {
+        private final String provider;
+        private final ProviderRateLimitProperties.Provider limits;
+        private final List<String> types;
+        private final long nanosPerToken;
+        private final long capacityNanos;
+        private final AtomicLong refillingSince;
+        private final Counter throttled;
+
+        private Bucket(String provider, ProviderRateLimitProperties.Provider limits, MeterRegistry meterRegistry) {
+            this.provider = provider;
+            this.limits = limits;
+            this.types = List.copyOf(limits.getJobTypes().keySet());
+            this.nanosPerToken = (long) (1_000_000_000d / limits.getRatePerSecond());
+            int burst = limits.getBurst() > 0 ? limits.getBurst() : (int) Math.max(1, limits.getRatePerSecond());
+            this.capacityNanos = burst * nanosPerToken;
+            // A full bucket
+            this.refillingSince = new AtomicLong(System.nanoTime() - capacityNanos);
+
+            Gauge.builder("orchestrator.rate.limit.tokens", this, Bucket::availableTokens)
+                    .tag("provider", provider)
+                    .description("Tokens currently available in the provider's bucket")
+                    .register(meterRegistry);
+            this.throttled = Counter.builder("orchestrator.rate.limit.throttled")
+                    .tag("provider", provider)
+                    .description("Jobs returned to the broker because the provider's bucket was empty")
+                    .register(meterRegistry);
+        }
+
+        /**
+         * Takes tokens from the bucket.
+         *
+         * @param cost The number of tokens to take, at most the bucket's capacity
+         * @return 0 if the tokens were taken, otherwise the nanoseconds until they are available
+         */
+        private long tryAcquire(int cost) {
+            while (true) {
+                long now = System.nanoTime();
+                long current = refillingSince.get();
+                long next = Math.max(current, now - capacityNanos) + Math.min(cost * nanosPerToken, capacityNanos);
+                if (next - now > 0) {
+                    return next - now;
+                }
+                if (refillingSince.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        /**
+         * Takes all tokens until the given delay has elapsed.
+         */
+        private void drain(long delayNanos) {
+            long drainedUntil = System.nanoTime() + delayNanos - nanosPerToken;
+            refillingSince.accumulateAndGet(drainedUntil, Math::max);
+        }
+
+        private double availableTokens() {
+            long now = System.nanoTime();
+            long filledSince = Math.max(refillingSince.get(), now - capacityNanos);
+            return Math.max(0, now - filledSince) / (double) nanosPerToken;
+        }
+    }
+}
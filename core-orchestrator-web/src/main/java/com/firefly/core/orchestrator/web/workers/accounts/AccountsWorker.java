@@ -1,13 +1,13 @@
 package com.firefly.core.orchestrator.web.workers.accounts;
 
 import com.firefly.core.orchestrator.interfaces.dtos.accounts.AccountRequest;
-import com.firefly.core.orchestrator.interfaces.dtos.accounts.AccountResponse;
 import com.firefly.core.orchestrator.interfaces.services.AccountService;
+import com.firefly.core.orchestrator.web.workers.FetchVariables;
+import com.firefly.core.orchestrator.web.workers.JobExecutionTemplate;
 import io.camunda.zeebe.client.api.response.ActivatedJob;
 import io.camunda.zeebe.spring.client.annotation.JobWorker;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import reactor.core.publisher.Mono;
 
 /**
  * Worker component that handles account-related tasks in Camunda Zeebe workflows.
@@ -17,23 +17,27 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class AccountsWorker {
 
+    private static final String CREATE_ACCOUNT = "baas-create-account";
+
     private final AccountService accountService;
+    private final JobExecutionTemplate jobExecutionTemplate;
 
     /**
      * Default constructor for AccountsWorker.
      */
-    public AccountsWorker(AccountService accountService) {
+    public AccountsWorker(AccountService accountService, JobExecutionTemplate jobExecutionTemplate) {
         this.accountService = accountService;
+        this.jobExecutionTemplate = jobExecutionTemplate;
     }
 
     /**
      * Job worker that handles the creation of accounts in the external BaaS system.
      *
      * @param job The activated job containing the account data
-     * @return A Mono containing the account response
      */
-    @JobWorker(type = "baas-create-account")
-    public Mono<AccountResponse> baasCreateAccount(final ActivatedJob job) {
+    @JobWorker(type = CREATE_ACCOUNT, autoComplete = false)
+    @FetchVariables(AccountRequest.class)
+    public void baasCreateAccount(final ActivatedJob job) {
         log.info("Executing baas-create-account task for job: {}", job.getKey());
 
         // Get variables from the process
@@ -42,7 +46,10 @@ public class AccountsWorker {
         log.info("Delegating account creation for user ID: {}", accountData.userId());
 
         // Delegate to the account service
-        return accountService.createAccount(accountData);
+        jobExecutionTemplate.complete(job, jobExecutionTemplate.execute(job, () -> accountService.createAccount(accountData))
+                // Final task of the process, record the result for asynchronous lookups
+                .doOnNext(result -> jobExecutionTemplate.recordProcessResult(job, result))
+                .flatMap(result -> jobExecutionTemplate.output(job, result)));
     }
 
 }
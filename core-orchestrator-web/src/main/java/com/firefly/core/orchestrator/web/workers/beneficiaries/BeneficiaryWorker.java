@@ -1,16 +1,15 @@
 package com.firefly.core.orchestrator.web.workers.beneficiaries;
 
 import com.firefly.core.orchestrator.interfaces.dtos.beneficiaries.BeneficiaryRequest;
-import com.firefly.core.orchestrator.interfaces.dtos.beneficiaries.BeneficiaryResponse;
 import com.firefly.core.orchestrator.interfaces.services.BeneficiaryService;
+import com.firefly.core.orchestrator.web.workers.FetchVariables;
+import com.firefly.core.orchestrator.web.workers.JobExecutionTemplate;
 import io.camunda.zeebe.client.api.response.ActivatedJob;
 import io.camunda.zeebe.spring.client.annotation.JobWorker;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Worker component that handles beneficiary-related tasks in Camunda Zeebe workflows.
@@ -20,27 +19,31 @@ import java.util.Map;
 @Slf4j
 public class BeneficiaryWorker {
 
+    private static final String CREATE_BENEFICIARY = "baas-create-beneficiary";
     private static final String EXTERNAL_REFERENCE_ID = "externalReferenceId";
 
     private final BeneficiaryService beneficiaryService;
+    private final JobExecutionTemplate jobExecutionTemplate;
 
     /**
      * Default constructor for BeneficiaryWorker.
      *
      * @param beneficiaryService the service for beneficiary operations
+     * @param jobExecutionTemplate the template running job handlers
      */
-    public BeneficiaryWorker(BeneficiaryService beneficiaryService) {
+    public BeneficiaryWorker(BeneficiaryService beneficiaryService, JobExecutionTemplate jobExecutionTemplate) {
         this.beneficiaryService = beneficiaryService;
+        this.jobExecutionTemplate = jobExecutionTemplate;
     }
 
     /**
      * Job worker that handles the creation of beneficiaries in the external BaaS system.
      *
      * @param job The activated job containing the beneficiary data
-     * @return A Mono containing a map with the external reference ID
      */
-    @JobWorker(type = "baas-create-beneficiary")
-    public Mono<BeneficiaryResponse> baasCreateBeneficiary(final ActivatedJob job) {
+    @JobWorker(type = CREATE_BENEFICIARY, autoComplete = false)
+    @FetchVariables(BeneficiaryRequest.class)
+    public void baasCreateBeneficiary(final ActivatedJob job) {
         log.info("Executing baas-create-beneficiary task for job: {}", job.getKey());
 
         // Get variables from the process
@@ -49,6 +52,9 @@ public class BeneficiaryWorker {
         log.info("Delegating beneficiary creation for user ID: {}", beneficiaryData.userId());
 
         // Delegate to the beneficiary service
-        return beneficiaryService.createBeneficiary(beneficiaryData);
+        jobExecutionTemplate.complete(job, jobExecutionTemplate.execute(job, () -> beneficiaryService.createBeneficiary(beneficiaryData))
+                // Final task of the process, record the result for asynchronous lookups
+                .doOnNext(result -> jobExecutionTemplate.recordProcessResult(job, result))
+                .flatMap(result -> jobExecutionTemplate.output(job, result)));
     }
 }
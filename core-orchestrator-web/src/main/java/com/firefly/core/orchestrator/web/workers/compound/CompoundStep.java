@@ -0,0 +1,17 @@
+package com.firefly.core.orchestrator.web.workers.compound;
+
+import io.camunda.zeebe.client.api.response.ActivatedJob;
+import reactor.core.publisher.Mono;
+
+import java.util.function.BiFunction;
+
+/**
+ * A job worker step that can also run in-process as part of a compound task.
+ *
+ * @param type The job type of the step's own worker
+ * @param inputType The type the step's input variables are mapped to
+ * @param handler The step's work, given the compound job and the mapped input
+ * @param <I> The type of the step's input
+ */
+public record CompoundStep<I>(String type, Class<I> inputType, BiFunction<ActivatedJob, I, Mono<?>> handler) {
+}
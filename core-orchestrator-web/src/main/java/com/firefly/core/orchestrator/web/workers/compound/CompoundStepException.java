@@ -0,0 +1,33 @@
+package com.firefly.core.orchestrator.web.workers.compound;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Exception thrown when a step of a compound task fails, reporting how far the pipeline got.
+ * The step's error is kept as the cause, so the failure is classified like that of the step's own worker.
+ */
+@Getter
+public class CompoundStepException extends RuntimeException {
+
+    private final String pipeline;
+    private final String step;
+    private final List<String> completedSteps;
+
+    /**
+     * Constructs a new CompoundStepException.
+     *
+     * @param pipeline The name of the compound pipeline
+     * @param step The job type of the failed step
+     * @param completedSteps The job types of the steps completed before it
+     * @param cause The error the step failed with
+     */
+    public CompoundStepException(String pipeline, String step, List<String> completedSteps, Throwable cause) {
+        super("Step " + step + " of compound pipeline " + pipeline + " failed after completing " + completedSteps
+                + ": " + cause.getMessage(), cause);
+        this.pipeline = pipeline;
+        this.step = step;
+        this.completedSteps = List.copyOf(completedSteps);
+    }
+}
@@ -0,0 +1,52 @@
+package com.firefly.core.orchestrator.web.workers.compound;
+
+import io.camunda.zeebe.client.api.response.ActivatedJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Registry of the job worker steps available to compound tasks, keyed by the job type of each step's
+ * own worker. Workers register the same handler their {@code @JobWorker} method runs, so a step
+ * behaves alike whether the broker hands it over as a job or a compound task runs it in-process.
+ */
+@Component
+@Slf4j
+public class CompoundStepRegistry {
+
+    private final Map<String, CompoundStep<?>> steps = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a step.
+     *
+     * @param type The job type of the step's own worker
+     * @param inputType The type the step's input variables are mapped to
+     * @param handler The step's work, given the running job and the mapped input
+     * @param <I> The type of the step's input
+     */
+    public <I> void register(String type, Class<I> inputType, BiFunction<ActivatedJob, I, Mono<?>> handler) {
+        if (steps.putIfAbsent(type, new CompoundStep<>(type, inputType, handler)) != null) {
+            throw new IllegalStateException("Compound step " + type + " is already registered");
+        }
+        log.debug("Registered compound step {}", type);
+    }
+
+    /**
+     * Looks up a step.
+     *
+     * @param type The job type of the step's own worker
+     * @return The step
+     * @throws IllegalArgumentException if no step of the job type is registered
+     */
+    public CompoundStep<?> get(String type) {
+        CompoundStep<?> step = steps.get(type);
+        if (step == null) {
+            throw new IllegalArgumentException("Unknown compound step " + type);
+        }
+        return step;
+    }
+}
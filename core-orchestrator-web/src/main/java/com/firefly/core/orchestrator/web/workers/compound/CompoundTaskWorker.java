@@ -0,0 +1,139 @@
+package com.firefly.core.orchestrator.web.workers.compound;
+
+import com.firefly.core.orchestrator.web.properties.JobWorkerProperties;
+import com.firefly.core.orchestrator.web.utils.ProcessProgressPublisher;
+import com.firefly.core.orchestrator.web.workers.JobExecutionTemplate;
+import io.camunda.zeebe.client.ZeebeClient;
+import io.camunda.zeebe.client.api.JsonMapper;
+import io.camunda.zeebe.client.api.response.ActivatedJob;
+import io.camunda.zeebe.spring.client.annotation.JobWorker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Worker running a pipeline of consecutive job worker steps in-process as a single job.
+ * Strictly linear chains of service tasks can be fused into one service task of type
+ * {@value #COMPOUND_TASK} naming its pipeline in the {@value #PIPELINE_HEADER} task header, which
+ * saves the broker round trip of completing one job and activating the next between the steps.
+ * <p>
+ * Pipelines are configured in {@code orchestrator.workers.compound.pipelines} as lists of the job
+ * types of registered {@link CompoundStep}s. Each step reads its input from the job's variables
+ * merged with the results of the previous steps, as it would from the process. Every step is timed
+ * in {@code orchestrator.compound.step.duration} and published as a step event; a failing step
+ * fails the job with a {@link CompoundStepException} naming the steps completed before it.
+ */
+@Component
+@Slf4j
+public class CompoundTaskWorker {
+
+    public static final String COMPOUND_TASK = "compound-task";
+    public static final String PIPELINE_HEADER = "pipeline";
+
+    private final CompoundStepRegistry compoundStepRegistry;
+    private final JobExecutionTemplate jobExecutionTemplate;
+    private final ProcessProgressPublisher processProgressPublisher;
+    private final ZeebeClient zeebeClient;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, List<String>> pipelines;
+
+    /**
+     * Constructs a new CompoundTaskWorker.
+     *
+     * @param compoundStepRegistry The registry of the steps pipelines are made of
+     * @param jobExecutionTemplate The template running job handlers
+     * @param processProgressPublisher The publisher of step-level progress events
+     * @param zeebeClient The client whose JSON mapper maps variables to step inputs
+     * @param meterRegistry The registry for step metrics
+     * @param jobWorkerProperties The job worker configuration
+     */
+    @Autowired
+    public CompoundTaskWorker(CompoundStepRegistry compoundStepRegistry, JobExecutionTemplate jobExecutionTemplate,
+                              ProcessProgressPublisher processProgressPublisher, ZeebeClient zeebeClient,
+                              MeterRegistry meterRegistry, JobWorkerProperties jobWorkerProperties) {
+        this.compoundStepRegistry = compoundStepRegistry;
+        this.jobExecutionTemplate = jobExecutionTemplate;
+        this.processProgressPublisher = processProgressPublisher;
+        this.zeebeClient = zeebeClient;
+        this.meterRegistry = meterRegistry;
+        this.pipelines = jobWorkerProperties.getCompound().getPipelines();
+    }
+
+    /**
+     * Job worker that runs the pipeline named in the job's task header.
+     *
+     * @param job The activated job carrying the variables of the pipeline's first step
+     */
+    @JobWorker(type = COMPOUND_TASK, autoComplete = false)
+    public void runCompoundTask(final ActivatedJob job) {
+        String pipeline = job.getCustomHeaders().get(PIPELINE_HEADER);
+        log.info("Executing compound task {} for job: {}", pipeline, job.getKey());
+
+        jobExecutionTemplate.complete(job, jobExecutionTemplate.execute(job, () -> run(job, pipeline))
+                .flatMap(result -> jobExecutionTemplate.output(job, result)));
+    }
+
+    /**
+     * Runs the steps of a pipeline one after the other.
+     *
+     * @param job The compound job
+     * @param pipeline The name of the pipeline
+     * @return A Mono emitting the merged results of all steps
+     */
+    private Mono<Map<String, Object>> run(ActivatedJob job, String pipeline) {
+        List<String> steps = pipeline != null ? pipelines.get(pipeline) : null;
+        if (steps == null || steps.isEmpty()) {
+            return Mono.error(new IllegalArgumentException("Unknown compound pipeline " + pipeline + " of job " + job.getKey()));
+        }
+
+        JsonMapper jsonMapper = zeebeClient.getConfiguration().getJsonMapper();
+        Map<String, Object> variables = new LinkedHashMap<>(job.getVariablesAsMap());
+        Map<String, Object> results = new LinkedHashMap<>();
+        List<String> completed = new ArrayList<>();
+
+        return Flux.fromIterable(steps)
+                .concatMap(type -> runStep(job, pipeline, compoundStepRegistry.get(type), jsonMapper, variables)
+                        .doOnNext(result -> {
+                            variables.putAll(result);
+                            results.putAll(result);
+                            completed.add(type);
+                        })
+                        .onErrorMap(e -> !(e instanceof CompoundStepException),
+                                e -> new CompoundStepException(pipeline, type, completed, e)))
+                .then(Mono.fromSupplier(() -> results));
+    }
+
+    private <I> Mono<Map<String, Object>> runStep(ActivatedJob job, String pipeline, CompoundStep<I> step,
+                                                  JsonMapper jsonMapper, Map<String, Object> variables) {
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            I input = jsonMapper.fromJson(jsonMapper.toJson(variables), step.inputType());
+            return step.handler().apply(job, input)
+                    .map(result -> jsonMapper.fromJsonAsMap(jsonMapper.toJson(result)))
+                    .defaultIfEmpty(Map.of())
+                    .doOnSuccess(result -> recordStep(job, pipeline, step, startNanos, ProcessProgressPublisher.STEP_COMPLETED))
+                    .doOnError(e -> recordStep(job, pipeline, step, startNanos, ProcessProgressPublisher.STEP_FAILED));
+        });
+    }
+
+    private void recordStep(ActivatedJob job, String pipeline, CompoundStep<?> step, long startNanos, String status) {
+        Timer.builder("orchestrator.compound.step.duration")
+                .tag("pipeline", pipeline)
+                .tag("step", step.type())
+                .tag("outcome", status)
+                .description("Duration of the steps of compound tasks")
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        processProgressPublisher.publishStep(job.getProcessInstanceKey(), step.type(), status);
+    }
+}
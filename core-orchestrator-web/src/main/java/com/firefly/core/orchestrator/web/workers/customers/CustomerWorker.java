@@ -5,13 +5,14 @@ import com.firefly.baas.dtos.customers.TaxResidenceAdapterDTO;
 import com.firefly.core.orchestrator.interfaces.dtos.accounts.LegalPersonRequest;
 import com.firefly.core.orchestrator.interfaces.dtos.accounts.NaturalPersonRequest;
 import com.firefly.core.orchestrator.interfaces.dtos.accounts.TaxResidenceRequest;
-import com.firefly.core.orchestrator.interfaces.dtos.customers.CustomerResponse;
 import com.firefly.core.orchestrator.interfaces.services.CustomerService;
+import com.firefly.core.orchestrator.web.workers.FetchVariables;
+import com.firefly.core.orchestrator.web.workers.JobExecutionTemplate;
+import com.firefly.core.orchestrator.web.workers.JobVariables;
 import io.camunda.zeebe.client.api.response.ActivatedJob;
 import io.camunda.zeebe.spring.client.annotation.JobWorker;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -27,24 +28,27 @@ public class CustomerWorker {
     private static final String EXTERNAL_REFERENCE_ID = "externalReferenceId";
 
     private final CustomerService customerService;
+    private final JobExecutionTemplate jobExecutionTemplate;
 
     /**
      * Constructs a new CustomerWorker with the specified customer service.
      *
      * @param customerService The service used to communicate with the customer service
+     * @param jobExecutionTemplate The template running job handlers
      */
-    public CustomerWorker(CustomerService customerService) {
+    public CustomerWorker(CustomerService customerService, JobExecutionTemplate jobExecutionTemplate) {
         this.customerService = customerService;
+        this.jobExecutionTemplate = jobExecutionTemplate;
     }
 
     /**
      * Job worker that handles the creation of legal persons in the external BaaS system.
      *
      * @param job The activated job containing the legal person data
-     * @return A Mono containing the customer response
      */
-    @JobWorker(type = "baas-create-legal-person")
-    public Mono<CustomerResponse> baasCreateLegalPerson(final ActivatedJob job) {
+    @JobWorker(type = "baas-create-legal-person", autoComplete = false)
+    @FetchVariables(LegalPersonRequest.class)
+    public void baasCreateLegalPerson(final ActivatedJob job) {
         log.info("Executing baas-create-legal-person task for job: {}", job.getKey());
 
         // Get variables from the process
@@ -53,17 +57,18 @@ public class CustomerWorker {
         log.info("Delegating legal person creation: {}", userData.legalName());
 
         // Delegate to the customer service
-        return customerService.createLegalPerson(userData);
+        jobExecutionTemplate.complete(job, jobExecutionTemplate.execute(job, () -> customerService.createLegalPerson(userData))
+                .flatMap(result -> jobExecutionTemplate.output(job, result)));
     }
 
     /**
      * Job worker that handles the creation of natural persons in the external BaaS system.
      *
      * @param job The activated job containing the natural person data
-     * @return A Mono containing the customer response
      */
-    @JobWorker(type = "baas-create-natural-person")
-    public Mono<CustomerResponse> baasCreateNaturalPerson(final ActivatedJob job) {
+    @JobWorker(type = "baas-create-natural-person", autoComplete = false)
+    @FetchVariables(NaturalPersonRequest.class)
+    public void baasCreateNaturalPerson(final ActivatedJob job) {
         log.info("Executing baas-create-natural-person task for job: {}", job.getKey());
 
         // Get variables from the process
@@ -72,17 +77,20 @@ public class CustomerWorker {
         log.info("Delegating natural person creation: {}", userData.firstname());
 
         // Delegate to the customer service
-        return customerService.createNaturalPerson(userData);
+        jobExecutionTemplate.complete(job, jobExecutionTemplate.execute(job, () -> customerService.createNaturalPerson(userData))
+                // Final task of the process, record the result for asynchronous lookups
+                .doOnNext(result -> jobExecutionTemplate.recordProcessResult(job, result))
+                .flatMap(result -> jobExecutionTemplate.output(job, result)));
     }
 
     /**
      * Job worker that handles the creation of tax residence in the external BaaS system.
      *
      * @param job The activated job containing the tax residence data
-     * @return A map containing the external reference ID
      */
-    @JobWorker(type = "baas-create-tax-residence")
-    public Mono<Map<String, Object>> baasCreateTaxResidence(final ActivatedJob job) {
+    @JobWorker(type = "baas-create-tax-residence", autoComplete = false)
+    @FetchVariables(TaxResidenceRequest.class)
+    public void baasCreateTaxResidence(final ActivatedJob job) {
         log.info("Executing baas-create-tax-residence task for job: {}", job.getKey());
 
         // Get variables from the process
@@ -91,78 +99,87 @@ public class CustomerWorker {
         log.info("Delegating tax residence creation for userID: {}", taxResidenceData.userId());
 
         // Delegate to the customer service
-        return customerService.createTaxResidence(taxResidenceData)
+        jobExecutionTemplate.complete(job, jobExecutionTemplate.execute(job, () -> customerService.createTaxResidence(taxResidenceData)
                 .map(externalId -> {
                     // Prepare result for the process
                     Map<String, Object> result = new HashMap<>();
                     result.put(EXTERNAL_REFERENCE_ID, externalId);
                     return result;
-                });
+                }))
+                // Final task of the process, record the result for asynchronous lookups
+                .doOnNext(result -> jobExecutionTemplate.recordProcessResult(job, result))
+                .flatMap(result -> jobExecutionTemplate.output(job, result)));
     }
 
     /**
      * Job worker that handles the KYC review process for a user.
      *
      * @param job The activated job containing the user ID
-     * @return A map containing the process variables to pass to the next task
      */
-    @JobWorker(type = "baas-start-kyc-review")
-    public Mono<Map<String, Object>> baasStartKycReview(final ActivatedJob job) {
+    @JobWorker(type = "baas-start-kyc-review", autoComplete = false)
+    @FetchVariables(names = "userId")
+    public void baasStartKycReview(final ActivatedJob job) {
         log.info("Executing baas-start-kyc-review task for job: {}", job.getKey());
 
         // Get variables from the process
-        Map<String, Object> variables = job.getVariablesAsMap();
-        Integer userId = (Integer) variables.get("userId");
+        Integer userId = JobVariables.getInteger(job, "userId");
 
         log.info("Delegating KYC review for user ID: {}", userId);
 
         // Delegate to the customer service
-        return customerService.startKycReview(userId)
+        jobExecutionTemplate.complete(job, jobExecutionTemplate.execute(job, () -> customerService.startKycReview(userId)
                 .map(externalId -> {
                     // Prepare result for the process
                     Map<String, Object> result = new HashMap<>();
                     result.put(EXTERNAL_REFERENCE_ID, externalId);
                     result.put("userId", userId);
                     return result;
-                });
+                }))
+                // Final task of the process, record the result for asynchronous lookups
+                .doOnNext(result -> jobExecutionTemplate.recordProcessResult(job, result))
+                .flatMap(result -> jobExecutionTemplate.output(job, result)));
     }
 
     /**
      * Job worker that handles the KYB review process for a user.
      *
      * @param job The activated job containing the user ID
-     * @return A map containing the process variables to pass to the next task
      */
-    @JobWorker(type = "baas-start-kyb-review")
-    public Mono<Map<String, Object>> baasStartKybReview(final ActivatedJob job) {
+    @JobWorker(type = "baas-start-kyb-review", autoComplete = false)
+    @FetchVariables(names = "userId")
+    public void baasStartKybReview(final ActivatedJob job) {
         log.info("Executing baas-start-kyb-review task for job: {}", job.getKey());
 
         // Get variables from the process
-        Map<String, Object> variables = job.getVariablesAsMap();
-        Integer userId = (Integer) variables.get("userId");
+        Integer userId = JobVariables.getInteger(job, "userId");
 
         log.info("Delegating KYB review for user ID: {}", userId);
 
         // Delegate to the customer service
-        return customerService.startKybReview(userId)
+        jobExecutionTemplate.complete(job, jobExecutionTemplate.execute(job, () -> customerService.startKybReview(userId)
                 .map(externalId -> {
                     // Prepare result for the process
                     Map<String, Object> result = new HashMap<>();
                     result.put(EXTERNAL_REFERENCE_ID, externalId);
                     result.put("userId", userId);
                     return result;
-                });
+                }))
+                // Final task of the process, record the result for asynchronous lookups
+                .doOnNext(result -> jobExecutionTemplate.recordProcessResult(job, result))
+                .flatMap(result -> jobExecutionTemplate.output(job, result)));
     }
 
     /**
      * Job worker that handles storing legal person data in the database.
      * Currently uses a mock implementation for database storage.
      *
+     * The storage is blocking, so it runs on the job execution template's virtual-thread lane.
+     *
      * @param job The activated job containing the legal person data and external ID
-     * @return A map containing the process variables to pass to the next task
      */
-    @JobWorker(type = "store-legal-person-data")
-    public Map<String, Object> storeLegalPersonData(final ActivatedJob job) {
+    @JobWorker(type = "store-legal-person-data", autoComplete = false)
+    @FetchVariables(LegalPersonAdapterDTO.class)
+    public void storeLegalPersonData(final ActivatedJob job) {
         log.info("Executing store-legal-person-data task for job: {}", job.getKey());
 
         // Get variables from the process
@@ -171,6 +188,9 @@ public class CustomerWorker {
         log.info("Delegating storage of legal person data for: {}", userData.legalName());
 
         // Delegate to the customer service
-        return customerService.storeLegalPersonData(userData);
+        jobExecutionTemplate.complete(job, jobExecutionTemplate.executeBlocking(job, () -> customerService.storeLegalPersonData(userData))
+                // Final task of the process, record the result for asynchronous lookups
+                .doOnNext(result -> jobExecutionTemplate.recordProcessResult(job, result))
+                .flatMap(result -> jobExecutionTemplate.output(job, result)));
     }
 }
\ No newline at end of file
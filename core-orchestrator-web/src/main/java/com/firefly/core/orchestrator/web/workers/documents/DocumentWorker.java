@@ -1,13 +1,13 @@
 package com.firefly.core.orchestrator.web.workers.documents;
 
 import com.firefly.core.orchestrator.interfaces.dtos.documents.DocumentRequest;
-import com.firefly.core.orchestrator.interfaces.dtos.documents.DocumentResponse;
 import com.firefly.core.orchestrator.interfaces.services.DocumentService;
+import com.firefly.core.orchestrator.web.workers.FetchVariables;
+import com.firefly.core.orchestrator.web.workers.JobExecutionTemplate;
 import io.camunda.zeebe.client.api.response.ActivatedJob;
 import io.camunda.zeebe.spring.client.annotation.JobWorker;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import reactor.core.publisher.Mono;
 
 /**
  * Worker component that handles document-related tasks in Camunda Zeebe workflows.
@@ -17,25 +17,30 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class DocumentWorker {
 
+    private static final String CREATE_DOCUMENT = "baas-create-document";
+
     private final DocumentService documentService;
+    private final JobExecutionTemplate jobExecutionTemplate;
 
     /**
      * Constructs a new DocumentWorker with the specified document service.
      *
      * @param documentService The service used to communicate with the document service
+     * @param jobExecutionTemplate The template running job handlers
      */
-    public DocumentWorker(DocumentService documentService) {
+    public DocumentWorker(DocumentService documentService, JobExecutionTemplate jobExecutionTemplate) {
         this.documentService = documentService;
+        this.jobExecutionTemplate = jobExecutionTemplate;
     }
 
     /**
      * Job worker that handles the creation of documents in the external BaaS system.
      *
      * @param job The activated job containing the document data
-     * @return A Mono containing the document response
      */
-    @JobWorker(type = "baas-create-document")
-    public Mono<DocumentResponse> baasCreateDocument(final ActivatedJob job) {
+    @JobWorker(type = CREATE_DOCUMENT, autoComplete = false)
+    @FetchVariables(DocumentRequest.class)
+    public void baasCreateDocument(final ActivatedJob job) {
         log.info("Executing baas-create-document task for job: {}", job.getKey());
 
         // Get variables from the process
@@ -44,7 +49,8 @@ public class DocumentWorker {
         log.info("Delegating document creation: {}", documentData.name());
 
         // Delegate to the document service
-        return documentService.createDocument(documentData);
+        jobExecutionTemplate.complete(job, jobExecutionTemplate.execute(job, () -> documentService.createDocument(documentData))
+                .flatMap(result -> jobExecutionTemplate.output(job, result)));
     }
 
 }
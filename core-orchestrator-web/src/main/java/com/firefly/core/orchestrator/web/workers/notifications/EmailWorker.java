@@ -1,14 +1,15 @@
 package com.firefly.core.orchestrator.web.workers.notifications;
 
-import com.firefly.core.orchestrator.interfaces.dtos.notifications.CreateChallengeRequest;
 import com.firefly.core.orchestrator.interfaces.dtos.notifications.SendNotificationRequest;
 import com.firefly.core.orchestrator.interfaces.services.NotificationsService;
+import com.firefly.core.orchestrator.web.workers.FetchVariables;
+import com.firefly.core.orchestrator.web.workers.JobExecutionTemplate;
+import com.firefly.core.orchestrator.web.workers.compound.CompoundStepRegistry;
 import io.camunda.zeebe.client.api.response.ActivatedJob;
 import io.camunda.zeebe.spring.client.annotation.JobWorker;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import reactor.core.publisher.Mono;
 
 /**
  * Worker component that handles email notification-related tasks in Camunda Zeebe workflows.
@@ -19,11 +20,18 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class EmailWorker {
 
+    private static final String SEND_VERIFICATION_EMAIL = "send-verification-email-task";
+
     private final NotificationsService notificationsService;
+    private final JobExecutionTemplate jobExecutionTemplate;
 
     @Autowired
-    public EmailWorker(NotificationsService notificationsService) {
+    public EmailWorker(NotificationsService notificationsService, JobExecutionTemplate jobExecutionTemplate,
+                       CompoundStepRegistry compoundStepRegistry) {
         this.notificationsService = notificationsService;
+        this.jobExecutionTemplate = jobExecutionTemplate;
+        compoundStepRegistry.register(SEND_VERIFICATION_EMAIL, SendNotificationRequest.class,
+                (job, request) -> notificationsService.sendVerificationEmail(request));
     }
 
     /**
@@ -31,10 +39,10 @@ public class EmailWorker {
      * This worker delegates to the NotificationsService to send the email and create a challenge request.
      *
      * @param job The activated job containing the email data
-     * @return A Mono containing the CreateChallengeRequest with operation ID and verification code
      */
-    @JobWorker(type = "send-verification-email-task")
-    public Mono<CreateChallengeRequest> sendVerificationEmail(final ActivatedJob job) {
+    @JobWorker(type = SEND_VERIFICATION_EMAIL, autoComplete = false)
+    @FetchVariables(SendNotificationRequest.class)
+    public void sendVerificationEmail(final ActivatedJob job) {
         log.info("Executing send-verification-email-task for job: {}", job.getKey());
 
         // Get variables from the process
@@ -43,7 +51,8 @@ public class EmailWorker {
         log.info("Delegating verification email sending to: {}", sendNotificationRequest.getTo());
 
         // Delegate to the notifications service
-        return notificationsService.sendVerificationEmail(sendNotificationRequest);
+        jobExecutionTemplate.complete(job, jobExecutionTemplate.execute(job, () -> notificationsService.sendVerificationEmail(sendNotificationRequest))
+                .flatMap(result -> jobExecutionTemplate.output(job, result)));
     }
 
 }
@@ -2,7 +2,9 @@ package com.firefly.core.orchestrator.web.workers.notifications;
 
 import com.firefly.core.orchestrator.interfaces.dtos.notifications.*;
 import com.firefly.core.orchestrator.interfaces.services.NotificationSCAService;
-import com.firefly.core.orchestrator.web.utils.ProcessCompletionRegistry;
+import com.firefly.core.orchestrator.web.workers.FetchVariables;
+import com.firefly.core.orchestrator.web.workers.JobExecutionTemplate;
+import com.firefly.core.orchestrator.web.workers.compound.CompoundStepRegistry;
 import io.camunda.zeebe.client.api.response.ActivatedJob;
 import io.camunda.zeebe.spring.client.annotation.JobWorker;
 import lombok.extern.slf4j.Slf4j;
@@ -14,18 +16,26 @@ import reactor.core.publisher.Mono;
  * Worker component that handles general notification-related tasks in Camunda Zeebe workflows.
  * Provides job workers for creating and validating SCA operations and challenges.
  * Delegates to NotificationSCAService for business logic.
+ * The SCA operation and challenge steps are also registered as compound steps.
  */
 @Component
 @Slf4j
 public class NotificationWorker {
 
+    private static final String CREATE_SCA_OPERATION = "create-sca-operation-task";
+    private static final String CREATE_SCA_CHALLENGE = "create-sca-challenge-task";
+
     private final NotificationSCAService notificationSCAService;
-    private final ProcessCompletionRegistry processCompletionRegistry;
+    private final JobExecutionTemplate jobExecutionTemplate;
 
     @Autowired
-    public NotificationWorker(NotificationSCAService notificationSCAService, ProcessCompletionRegistry processCompletionRegistry) {
+    public NotificationWorker(NotificationSCAService notificationSCAService, JobExecutionTemplate jobExecutionTemplate,
+                              CompoundStepRegistry compoundStepRegistry) {
         this.notificationSCAService = notificationSCAService;
-        this.processCompletionRegistry = processCompletionRegistry;
+        this.jobExecutionTemplate = jobExecutionTemplate;
+        compoundStepRegistry.register(CREATE_SCA_OPERATION, NotificationRequest.class,
+                (job, request) -> notificationSCAService.createSCAOperation(request));
+        compoundStepRegistry.register(CREATE_SCA_CHALLENGE, CreateChallengeRequest.class, this::createChallenge);
     }
 
     /**
@@ -33,10 +43,10 @@ public class NotificationWorker {
      * This worker delegates to the NotificationSCAService to create an SCA operation.
      *
      * @param job The activated job containing the notification data
-     * @return A Mono containing the SendNotificationRequest with operation ID and recipient
      */
-    @JobWorker(type = "create-sca-operation-task")
-    public Mono<SendNotificationRequest> createSCAOperation(final ActivatedJob job) {
+    @JobWorker(type = CREATE_SCA_OPERATION, autoComplete = false)
+    @FetchVariables(NotificationRequest.class)
+    public void createSCAOperation(final ActivatedJob job) {
         log.info("Executing create-sca-operation-task for job: {}", job.getKey());
 
         // Get variables from the process
@@ -45,7 +55,8 @@ public class NotificationWorker {
         log.info("Delegating SCA operation creation for email: {}", notificationRequest.to());
 
         // Delegate to the notification SCA service
-        return notificationSCAService.createSCAOperation(notificationRequest);
+        jobExecutionTemplate.complete(job, jobExecutionTemplate.execute(job, () -> notificationSCAService.createSCAOperation(notificationRequest))
+                .flatMap(result -> jobExecutionTemplate.output(job, result)));
     }
 
     /**
@@ -53,10 +64,10 @@ public class NotificationWorker {
      * This worker delegates to the NotificationSCAService to create an SCA challenge.
      *
      * @param job The activated job containing the CreateChallengeRequest with operation ID and verification code
-     * @return A Mono containing the SendNotificationResponse with operation ID
      */
-    @JobWorker(type = "create-sca-challenge-task")
-    public Mono<SendNotificationResponse> createSCAChallenge(final ActivatedJob job) {
+    @JobWorker(type = CREATE_SCA_CHALLENGE, autoComplete = false)
+    @FetchVariables(CreateChallengeRequest.class)
+    public void createSCAChallenge(final ActivatedJob job) {
         log.info("Executing create-sca-challenge-task for job: {}", job.getKey());
 
         // Get variables from the process
@@ -65,11 +76,21 @@ public class NotificationWorker {
         log.info("Delegating SCA challenge creation for operation ID: {}", createChallengeRequest.getIdOperation());
 
         // Delegate to the notification SCA service
+        jobExecutionTemplate.complete(job, jobExecutionTemplate.execute(job, () -> createChallenge(job, createChallengeRequest))
+                .flatMap(result -> jobExecutionTemplate.output(job, result)));
+    }
+
+    /**
+     * Creates an SCA challenge and completes the process, whose final step it is.
+     *
+     * @param job The job creating the challenge
+     * @param createChallengeRequest The operation ID and verification code of the challenge
+     * @return A Mono emitting the created challenge
+     */
+    private Mono<SendNotificationResponse> createChallenge(ActivatedJob job, CreateChallengeRequest createChallengeRequest) {
         return notificationSCAService.createSCAChallenge(createChallengeRequest)
-                .doOnNext(result -> {
-                    // Complete the process in the registry
-                    processCompletionRegistry.completeProcess(job.getProcessInstanceKey(), result);
-                });
+                // Complete the process for its waiter
+                .doOnNext(result -> jobExecutionTemplate.recordProcessResult(job, result));
     }
 
     /**
@@ -77,10 +98,10 @@ public class NotificationWorker {
      * This worker delegates to the NotificationSCAService to validate an SCA challenge.
      *
      * @param job The activated job containing the operation ID and verification code
-     * @return A Mono containing the ValidateSCAResponse with validation status and operation ID
      */
-    @JobWorker(type = "validate-sca-challenge-task")
-    public Mono<ValidateSCAResponse> validateSCAChallenge(final ActivatedJob job) {
+    @JobWorker(type = "validate-sca-challenge-task", autoComplete = false)
+    @FetchVariables(ValidateCodeRequest.class)
+    public void validateSCAChallenge(final ActivatedJob job) {
         log.info("Executing validate-sca-challenge-task for job: {}", job.getKey());
 
         // Get variables from the process
@@ -90,10 +111,9 @@ public class NotificationWorker {
                 validateCodeRequest.idOperation(), validateCodeRequest.code());
 
         // Delegate to the notification SCA service
-        return notificationSCAService.validateSCAChallenge(validateCodeRequest)
-                .doOnNext(result -> {
-                    // Complete the process in the registry
-                    processCompletionRegistry.completeProcess(job.getProcessInstanceKey(), result);
-                });
+        jobExecutionTemplate.complete(job, jobExecutionTemplate.execute(job, () -> notificationSCAService.validateSCAChallenge(validateCodeRequest))
+                // Complete the process for its waiter
+                .doOnNext(result -> jobExecutionTemplate.recordProcessResult(job, result))
+                .flatMap(result -> jobExecutionTemplate.output(job, result)));
     }
 }
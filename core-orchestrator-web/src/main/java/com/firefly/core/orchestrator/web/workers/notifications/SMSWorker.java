@@ -1,14 +1,15 @@
 package com.firefly.core.orchestrator.web.workers.notifications;
 
-import com.firefly.core.orchestrator.interfaces.dtos.notifications.CreateChallengeRequest;
 import com.firefly.core.orchestrator.interfaces.dtos.notifications.SendNotificationRequest;
 import com.firefly.core.orchestrator.interfaces.services.NotificationsService;
+import com.firefly.core.orchestrator.web.workers.FetchVariables;
+import com.firefly.core.orchestrator.web.workers.JobExecutionTemplate;
+import com.firefly.core.orchestrator.web.workers.compound.CompoundStepRegistry;
 import io.camunda.zeebe.client.api.response.ActivatedJob;
 import io.camunda.zeebe.spring.client.annotation.JobWorker;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import reactor.core.publisher.Mono;
 
 /**
  * Worker component that handles SMS notification-related tasks in Camunda Zeebe workflows.
@@ -19,11 +20,18 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class SMSWorker {
 
+    private static final String SEND_VERIFICATION_SMS = "send-verification-sms-task";
+
     private final NotificationsService notificationsService;
+    private final JobExecutionTemplate jobExecutionTemplate;
 
     @Autowired
-    public SMSWorker(NotificationsService notificationsService) {
+    public SMSWorker(NotificationsService notificationsService, JobExecutionTemplate jobExecutionTemplate,
+                     CompoundStepRegistry compoundStepRegistry) {
         this.notificationsService = notificationsService;
+        this.jobExecutionTemplate = jobExecutionTemplate;
+        compoundStepRegistry.register(SEND_VERIFICATION_SMS, SendNotificationRequest.class,
+                (job, request) -> notificationsService.sendVerificationSMS(request));
     }
 
     /**
@@ -31,10 +39,10 @@ public class SMSWorker {
      * This worker delegates to the NotificationsService to send the SMS and create a challenge request.
      *
      * @param job The activated job containing the SMS data
-     * @return A Mono containing the CreateChallengeRequest with operation ID and verification code
      */
-    @JobWorker(type = "send-verification-sms-task")
-    public Mono<CreateChallengeRequest> sendVerificationSMS(final ActivatedJob job) {
+    @JobWorker(type = SEND_VERIFICATION_SMS, autoComplete = false)
+    @FetchVariables(SendNotificationRequest.class)
+    public void sendVerificationSMS(final ActivatedJob job) {
         log.info("Executing send-verification-sms-task for job: {}", job.getKey());
 
         // Get variables from the process
@@ -43,7 +51,8 @@ public class SMSWorker {
         log.info("Delegating verification SMS sending to: {}", sendNotificationRequest.getTo());
 
         // Delegate to the notifications service
-        return notificationsService.sendVerificationSMS(sendNotificationRequest);
+        jobExecutionTemplate.complete(job, jobExecutionTemplate.execute(job, () -> notificationsService.sendVerificationSMS(sendNotificationRequest))
+                .flatMap(result -> jobExecutionTemplate.output(job, result)));
     }
 
 }
@@ -0,0 +1,124 @@
+package com.firefly.core.orchestrator.web.utils;
+
+import com.firefly.core.orchestrator.web.properties.ProcessCompletionProperties;
+import com.firefly.core.orchestrator.web.properties.ProcessProgressProperties;
+import com.firefly.core.orchestrator.web.properties.ProcessResultProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the striped {@link ProcessCompletionRegistry} with the ConcurrentHashMap of boxed keys it
+ * replaced. Each operation registers a waiter and completes it, from several threads, while the given
+ * number of other waiters is outstanding.
+ * <p>
+ * Run from the test classpath with {@code main}; pass {@code -prof gc} to JMH to compare allocations.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(8)
+@State(Scope.Benchmark)
+public class ProcessCompletionRegistryBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofHours(1);
+
+    @Param({"10000", "100000", "1000000"})
+    public int outstanding;
+
+    private final AtomicLong nextKey = new AtomicLong();
+    private ProcessCompletionRegistry registry;
+    private BoxedRegistry boxedRegistry;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ProcessCompletionProperties properties = new ProcessCompletionProperties();
+        ProcessCompletionTransport transport = new LocalProcessCompletionTransport();
+        // Results are not recorded, the baseline does not record them either
+        ProcessResultStore processResultStore = new ProcessResultStore(new ProcessResultProperties(),
+                new ProcessProgressPublisher(new ProcessProgressProperties()), transport) {
+            @Override
+            public void recordCompleted(long processInstanceKey, Object result) {
+            }
+        };
+        registry = new ProcessCompletionRegistry(properties, transport, processResultStore);
+        boxedRegistry = new BoxedRegistry();
+
+        for (int i = 0; i < outstanding; i++) {
+            long key = nextKey.incrementAndGet();
+            registry.registerProcess(key, TIMEOUT);
+            boxedRegistry.registerProcess(key);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        registry.destroy();
+    }
+
+    @Benchmark
+    public CompletableFuture<Object> striped() {
+        long key = nextKey.incrementAndGet();
+        CompletableFuture<Object> future = registry.registerProcess(key, TIMEOUT);
+        registry.completeProcess(key, Boolean.TRUE, true);
+        return future;
+    }
+
+    @Benchmark
+    public CompletableFuture<Object> concurrentHashMap() {
+        long key = nextKey.incrementAndGet();
+        CompletableFuture<Object> future = boxedRegistry.registerProcess(key);
+        boxedRegistry.completeProcess(key, Boolean.TRUE);
+        return future;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProcessCompletionRegistryBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    /**
+     * The registry as it was before striping, without its per-call logging.
+     */
+    private static final class BoxedRegistry {
+        private final Map<Long, CompletableFuture<Object>> futures = new ConcurrentHashMap<>();
+
+        private CompletableFuture<Object> registerProcess(long processInstanceKey) {
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            futures.put(processInstanceKey, future);
+            return future;
+        }
+
+        private void completeProcess(long processInstanceKey, Object result) {
+            CompletableFuture<Object> future = futures.remove(processInstanceKey);
+            if (future != null) {
+                future.complete(result);
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.firefly.core.orchestrator.web.utils;
+
+import com.firefly.core.orchestrator.web.properties.ProcessCompletionProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ProcessCompletionRegistryTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    private final ProcessCompletionProperties properties = new ProcessCompletionProperties();
+    private final ProcessCompletionTransport transport = mock(ProcessCompletionTransport.class);
+    private final ProcessResultStore processResultStore = mock(ProcessResultStore.class);
+    private ProcessCompletionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        properties.setStripes(4);
+        properties.setInitialCapacity(64);
+        properties.getTimerWheel().setTickDuration(Duration.ofMillis(10));
+        properties.getTimerWheel().setTicksPerWheel(64);
+        properties.getEarlyCompletion().setCapacity(2);
+        properties.getEarlyCompletion().setTtl(Duration.ofSeconds(60));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (registry != null) {
+            registry.destroy();
+        }
+    }
+
+    @Test
+    void completesARegisteredWaiter() throws Exception {
+        registry = registry();
+
+        CompletableFuture<String> future = registry.registerProcess(1L, WAIT);
+        registry.completeProcess(1L, "done", true);
+
+        assertThat(future.get(1, TimeUnit.SECONDS)).isEqualTo("done");
+        verify(processResultStore).recordCompleted(1L, "done");
+        verify(transport, never()).publish(anyLong(), any());
+    }
+
+    @Test
+    void handsOverACompletionThatArrivedBeforeTheWaiter() throws Exception {
+        registry = registry();
+
+        registry.completeProcess(1L, "early", true);
+        CompletableFuture<String> future = registry.registerProcess(1L, WAIT);
+
+        assertThat(future).isDone();
+        assertThat(future.get()).isEqualTo("early");
+        verify(transport).publish(1L, "early");
+        verify(transport, never()).awaitRemote(1L);
+    }
+
+    @Test
+    void neitherBuffersNorPublishesProcessesNobodyWaitsFor() {
+        registry = registry();
+
+        registry.completeProcess(1L, "unawaited", false);
+        CompletableFuture<String> future = registry.registerProcess(1L, WAIT);
+
+        assertThat(future).isNotDone();
+        verify(transport, never()).publish(anyLong(), any());
+        verify(processResultStore).recordCompleted(1L, "unawaited");
+    }
+
+    @Test
+    void failsWaitersThatAreNeverCompleted() {
+        registry = registry();
+
+        CompletableFuture<String> future = registry.registerProcess(1L, Duration.ofMillis(50));
+
+        assertThatThrownBy(() -> future.get(2, TimeUnit.SECONDS)).hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void dropsEarlyCompletionsBeyondTheCapacity() throws Exception {
+        registry = registry();
+
+        registry.completeProcess(1L, "first", true);
+        registry.completeProcess(2L, "second", true);
+        registry.completeProcess(3L, "third", true);
+
+        assertThat(registry.<String>registerProcess(1L, WAIT).get()).isEqualTo("first");
+        assertThat(registry.<String>registerProcess(2L, WAIT).get()).isEqualTo("second");
+        assertThat(registry.registerProcess(3L, WAIT)).isNotDone();
+        // Still published, so the result is not lost for waiters on other replicas
+        verify(transport).publish(3L, "third");
+    }
+
+    @Test
+    void freesCapacityOnceEarlyCompletionsAreClaimed() throws Exception {
+        registry = registry();
+
+        registry.completeProcess(1L, "first", true);
+        registry.completeProcess(2L, "second", true);
+        registry.registerProcess(1L, WAIT).get();
+        registry.completeProcess(3L, "third", true);
+
+        assertThat(registry.<String>registerProcess(3L, WAIT).get()).isEqualTo("third");
+    }
+
+    @Test
+    void expiresUnclaimedEarlyCompletions() throws Exception {
+        properties.getEarlyCompletion().setTtl(Duration.ofMillis(50));
+        registry = registry();
+
+        registry.completeProcess(1L, "late", true);
+        Thread.sleep(300);
+
+        assertThat(registry.registerProcess(1L, WAIT)).isNotDone();
+    }
+
+    @Test
+    void removedWaitersAreNotCompleted() {
+        registry = registry();
+
+        CompletableFuture<String> future = registry.registerProcess(1L, WAIT);
+        registry.removeProcess(1L);
+        registry.completeProcess(1L, "done", false);
+
+        assertThat(future).isNotDone();
+    }
+
+    @Test
+    void failsAWaiterReplacedByANewerOne() throws Exception {
+        registry = registry();
+
+        CompletableFuture<String> first = registry.registerProcess(1L, WAIT);
+        CompletableFuture<String> second = registry.registerProcess(1L, WAIT);
+
+        assertThatThrownBy(() -> first.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        registry.removeProcess(1L, first);
+        registry.completeProcess(1L, "done", true);
+        assertThat(second.get(1, TimeUnit.SECONDS)).isEqualTo("done");
+    }
+
+    @Test
+    void removingAWaiterByItsFutureCancelsTheWait() {
+        registry = registry();
+
+        CompletableFuture<String> future = registry.registerProcess(1L, WAIT);
+        registry.removeProcess(1L, future);
+        registry.completeProcess(1L, "done", false);
+
+        assertThat(future).isNotDone();
+    }
+
+    private ProcessCompletionRegistry registry() {
+        return new ProcessCompletionRegistry(properties, transport, processResultStore);
+    }
+}
@@ -0,0 +1,107 @@
+package com.firefly.core.orchestrator.web.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.orchestrator.interfaces.dtos.process.ProcessResponse;
+import com.firefly.core.orchestrator.interfaces.dtos.process.ProcessResultResponse;
+import com.firefly.core.orchestrator.web.properties.ProcessCompletionProperties;
+import com.firefly.core.orchestrator.web.properties.ProcessResultProperties;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs two replicas, each with its own registry, result store and transport, against one shared database.
+ */
+class R2dbcProcessCompletionTransportTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(10);
+
+    private final DatabaseClient databaseClient = DatabaseClient.create(
+            ConnectionFactories.get("r2dbc:h2:mem:///process-completion-test;DB_CLOSE_DELAY=-1"));
+    private final ProcessCompletionProperties properties = new ProcessCompletionProperties();
+
+    private Replica replicaA;
+    private Replica replicaB;
+
+    @BeforeEach
+    void setUp() {
+        properties.getR2dbc().setPollInterval(Duration.ofMillis(50));
+        replicaA = new Replica();
+
+        // The first transport creates the table in the background
+        databaseClient.sql("SELECT COUNT(*) AS rows_count FROM process_completion")
+                .fetch()
+                .one()
+                .retryWhen(Retry.fixedDelay(100, Duration.ofMillis(50)))
+                .block(WAIT);
+        replicaB = new Replica();
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicaA.stop();
+        replicaB.stop();
+    }
+
+    @Test
+    void deliversCompletionsToTheReplicaHoldingTheWaiter() throws Exception {
+        long key = 1_001L;
+        CompletableFuture<ProcessResponse> future = replicaA.registry.registerProcess(key, WAIT);
+
+        replicaB.registry.completeProcess(key, new ProcessResponse(key, "completed"), true);
+
+        assertThat(future.get(WAIT.toSeconds(), TimeUnit.SECONDS)).isEqualTo(new ProcessResponse(key, "completed"));
+    }
+
+    @Test
+    void deliversCompletionsPublishedBeforeTheWaiterRegistered() throws Exception {
+        long key = 1_002L;
+        replicaB.registry.completeProcess(key, new ProcessResponse(key, "completed"), true);
+
+        CompletableFuture<ProcessResponse> future = replicaA.registry.registerProcess(key, WAIT);
+
+        assertThat(future.get(WAIT.toSeconds(), TimeUnit.SECONDS)).isEqualTo(new ProcessResponse(key, "completed"));
+    }
+
+    @Test
+    void servesLookupsOfProcessesCompletedOnAnotherReplica() {
+        long key = 1_003L;
+        replicaA.processResultStore.recordStarted(key, "create-legal-person");
+
+        replicaB.registry.completeProcess(key, new ProcessResponse(key, "completed"), true);
+        ProcessResultResponse response = replicaA.processResultStore.await(key, WAIT).block(WAIT.plusSeconds(1));
+
+        assertThat(response).isNotNull();
+        assertThat(response.status()).isEqualTo(ProcessResultStore.COMPLETED);
+        assertThat(response.result()).isEqualTo(new ProcessResponse(key, "completed"));
+    }
+
+    private final class Replica {
+        private final R2dbcProcessCompletionTransport transport;
+        private final ProcessResultStore processResultStore;
+        private final ProcessCompletionRegistry registry;
+
+        private Replica() {
+            transport = new R2dbcProcessCompletionTransport(databaseClient, new ObjectMapper(), properties);
+            transport.afterPropertiesSet();
+            processResultStore = new ProcessResultStore(
+                    new ProcessResultProperties(), mock(ProcessProgressPublisher.class), transport);
+            registry = new ProcessCompletionRegistry(properties, transport, processResultStore);
+        }
+
+        private void stop() {
+            registry.destroy();
+            transport.destroy();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.firefly.core.orchestrator.web.workers;
+
+import com.firefly.core.orchestrator.web.properties.JobWorkerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final String TYPE = "baas-create-account";
+
+    private final JobWorkerProperties properties = new JobWorkerProperties();
+    private final JobActivationControl jobActivationControl = mock(JobActivationControl.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        properties.getAdaptive().setMinLimit(2);
+        properties.getAdaptive().setBackoffRatio(0.9);
+        properties.getAdaptive().setResizeThreshold(0.25);
+        properties.getAdaptive().setResizeCooldown(Duration.ZERO);
+        when(jobActivationControl.maxJobsActive(TYPE)).thenReturn(Optional.of(10));
+    }
+
+    @Test
+    void rejectsJobsBeyondTheLimit() {
+        when(jobActivationControl.maxJobsActive(TYPE)).thenReturn(Optional.of(2));
+        AdaptiveConcurrencyLimiter limiter = limiter();
+
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire(TYPE);
+        assertThat(first).isNotNull();
+        assertThat(limiter.tryAcquire(TYPE)).isNotNull();
+        assertThat(limiter.tryAcquire(TYPE)).isNull();
+
+        first.release(null);
+        assertThat(limiter.tryAcquire(TYPE)).isNotNull();
+    }
+
+    @Test
+    void shrinksOnOverloadAndStaysWithinMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+
+        failWithOverload(limiter, 1);
+        assertThat(limit()).isEqualTo(9);
+
+        failWithOverload(limiter, 50);
+        assertThat(limit()).isEqualTo(2);
+    }
+
+    @Test
+    void releasingTwiceOrWithoutOutcomeLeavesTheLimitUnchanged() {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(TYPE);
+        permit.release(new CancellationException());
+        permit.release(new TimeoutException());
+
+        assertThat(limit()).isEqualTo(10);
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void ignoresJobsClaimedElsewhere() {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+
+        limiter.tryAcquire(TYPE).release(new JobIdempotencyStore.ClaimedElsewhereException(
+                "1:task", "claimed by another activation", Duration.ofSeconds(20)));
+
+        assertThat(limit()).isEqualTo(10);
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void resizesOnlyOnceTheChangeHeldOnConsecutiveChecks() {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        failWithOverload(limiter, 3);
+
+        limiter.resize();
+        verify(jobActivationControl, never()).resize(anyString(), anyInt());
+
+        limiter.resize();
+        verify(jobActivationControl).resize(TYPE, 7);
+
+        // Settled at the new size
+        limiter.resize();
+        limiter.resize();
+        verify(jobActivationControl, times(1)).resize(anyString(), anyInt());
+    }
+
+    @Test
+    void ignoresChangesBelowTheThreshold() {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        failWithOverload(limiter, 2);
+
+        limiter.resize();
+        limiter.resize();
+
+        assertThat(limit()).isEqualTo(8);
+        verify(jobActivationControl, never()).resize(anyString(), anyInt());
+    }
+
+    @Test
+    void resizesAtMostOncePerCooldown() {
+        properties.getAdaptive().setResizeCooldown(Duration.ofHours(1));
+        AdaptiveConcurrencyLimiter limiter = limiter();
+
+        failWithOverload(limiter, 3);
+        limiter.resize();
+        limiter.resize();
+        verify(jobActivationControl).resize(TYPE, 7);
+
+        failWithOverload(limiter, 50);
+        limiter.resize();
+        limiter.resize();
+        verify(jobActivationControl, times(1)).resize(anyString(), anyInt());
+    }
+
+    @Test
+    void admitsEveryJobWhenDisabled() {
+        properties.getAdaptive().setEnabled(false);
+        when(jobActivationControl.maxJobsActive(TYPE)).thenReturn(Optional.of(1));
+        AdaptiveConcurrencyLimiter limiter = limiter();
+
+        assertThat(limiter.tryAcquire(TYPE)).isNotNull();
+        assertThat(limiter.tryAcquire(TYPE)).isNotNull();
+    }
+
+    private AdaptiveConcurrencyLimiter limiter() {
+        return new AdaptiveConcurrencyLimiter(properties, jobActivationControl, meterRegistry);
+    }
+
+    private void failWithOverload(AdaptiveConcurrencyLimiter limiter, int times) {
+        for (int i = 0; i < times; i++) {
+            limiter.tryAcquire(TYPE).release(new TimeoutException());
+        }
+    }
+
+    private int limit() {
+        return (int) meterRegistry.get("orchestrator.jobs.concurrency.limit").tag("type", TYPE).gauge().value();
+    }
+
+    private int inFlight() {
+        return (int) meterRegistry.get("orchestrator.jobs.in.flight").tag("type", TYPE).gauge().value();
+    }
+}
@@ -0,0 +1,79 @@
+package com.firefly.core.orchestrator.web.workers;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.firefly.core.orchestrator.web.utils.ProcessCompletionRegistry;
+import io.camunda.zeebe.spring.client.annotation.value.ZeebeWorkerValue;
+import io.camunda.zeebe.spring.client.bean.MethodInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FetchVariablesCustomizerTest {
+
+    private final FetchVariablesCustomizer customizer = new FetchVariablesCustomizer();
+
+    @Test
+    void fetchesTheComponentsOfRecordTypesAndExplicitNames() throws Exception {
+        ZeebeWorkerValue worker = customize("handleRecord");
+
+        assertThat(worker.getFetchVariables()).containsExactly("userId", "tax_id", "traceId",
+                ProcessCompletionRegistry.DEADLINE_VARIABLE, ProcessCompletionRegistry.AWAITED_VARIABLE);
+    }
+
+    @Test
+    void fetchesTheInstanceFieldsOfClassesIncludingInheritedOnes() throws Exception {
+        ZeebeWorkerValue worker = customize("handleClass");
+
+        assertThat(worker.getFetchVariables()).containsExactlyInAnyOrder("name", "userId",
+                ProcessCompletionRegistry.DEADLINE_VARIABLE, ProcessCompletionRegistry.AWAITED_VARIABLE);
+    }
+
+    @Test
+    void leavesMethodsWithoutTheAnnotationUntouched() throws Exception {
+        ZeebeWorkerValue worker = customize("handleAll");
+
+        assertThat(worker.getFetchVariables()).isNullOrEmpty();
+    }
+
+    private ZeebeWorkerValue customize(String methodName) throws NoSuchMethodException {
+        FetchVariables annotation = Workers.class.getDeclaredMethod(methodName).getAnnotation(FetchVariables.class);
+        MethodInfo methodInfo = mock(MethodInfo.class);
+        when(methodInfo.getAnnotation(FetchVariables.class)).thenReturn(Optional.ofNullable(annotation));
+
+        ZeebeWorkerValue worker = new ZeebeWorkerValue();
+        worker.setType(methodName);
+        worker.setMethodInfo(methodInfo);
+        customizer.customize(worker);
+        return worker;
+    }
+
+    record Request(Integer userId, @JsonProperty("tax_id") String taxId) {
+    }
+
+    static class Base {
+        private Integer userId;
+    }
+
+    static class Profile extends Base {
+        private static final String CONSTANT = "ignored";
+        private String name;
+    }
+
+    static class Workers {
+
+        @FetchVariables(value = Request.class, names = "traceId")
+        void handleRecord() {
+        }
+
+        @FetchVariables(Profile.class)
+        void handleClass() {
+        }
+
+        void handleAll() {
+        }
+    }
+}
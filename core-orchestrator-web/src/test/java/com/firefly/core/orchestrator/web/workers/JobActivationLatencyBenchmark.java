@@ -0,0 +1,103 @@
+package com.firefly.core.orchestrator.web.workers;
+
+import io.camunda.zeebe.client.ZeebeClient;
+import io.camunda.zeebe.client.api.worker.JobWorker;
+import io.camunda.zeebe.model.bpmn.Bpmn;
+import io.camunda.zeebe.model.bpmn.BpmnModelInstance;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the activation latency of a job between polling and job streaming, with the settings of
+ * the latency-critical preset used by {@code create-sca-challenge-task}: the time from the
+ * create-instance command to the job reaching its handler.
+ * <p>
+ * Needs a running broker, given by the ZEEBE_ADDRESS environment variable (localhost:26500 by default).
+ * The job type is suffixed so that a running orchestrator does not take the jobs. Run with {@code main}.
+ */
+public class JobActivationLatencyBenchmark {
+
+    private static final String PROCESS_ID = "activation-latency-benchmark";
+    private static final String JOB_TYPE = "create-sca-challenge-task-benchmark";
+    private static final int WARMUP_INSTANCES = 200;
+    private static final int INSTANCES = 1_000;
+    // Instances are started one at a time, so the latency is not dominated by queueing
+    private static final Duration PACE = Duration.ofMillis(20);
+
+    public static void main(String[] args) throws InterruptedException {
+        String address = System.getenv().getOrDefault("ZEEBE_ADDRESS", "localhost:26500");
+        try (ZeebeClient client = ZeebeClient.newClientBuilder().gatewayAddress(address).usePlaintext().build()) {
+            BpmnModelInstance process = Bpmn.createExecutableProcess(PROCESS_ID)
+                    .startEvent()
+                    .serviceTask("task", task -> task.zeebeJobType(JOB_TYPE))
+                    .endEvent()
+                    .done();
+            client.newDeployResourceCommand().addProcessModel(process, PROCESS_ID + ".bpmn").send().join();
+
+            for (boolean streamEnabled : new boolean[] {false, true}) {
+                measure(client, streamEnabled, WARMUP_INSTANCES);
+                long[] latencies = measure(client, streamEnabled, INSTANCES);
+                Arrays.sort(latencies);
+                System.out.printf("%s: p50=%.2f ms, p90=%.2f ms, p99=%.2f ms, max=%.2f ms%n",
+                        streamEnabled ? "streaming" : "polling",
+                        millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.90)),
+                        millis(percentile(latencies, 0.99)), millis(latencies[latencies.length - 1]));
+            }
+        }
+    }
+
+    private static long[] measure(ZeebeClient client, boolean streamEnabled, int instances) throws InterruptedException {
+        long[] latencies = new long[instances];
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(instances);
+
+        JobWorker worker = client.newWorker()
+                .jobType(JOB_TYPE)
+                .handler((jobClient, job) -> {
+                    long sentAt = ((Number) job.getVariablesAsMap().get("sentAt")).longValue();
+                    int index = received.getAndIncrement();
+                    if (index < instances) {
+                        latencies[index] = System.nanoTime() - sentAt;
+                        done.countDown();
+                    }
+                    jobClient.newCompleteCommand(job.getKey()).send();
+                })
+                .maxJobsActive(64)
+                .pollInterval(Duration.ofMillis(50))
+                .requestTimeout(Duration.ofSeconds(10))
+                .timeout(Duration.ofSeconds(30))
+                .streamEnabled(streamEnabled)
+                .open();
+        try {
+            // Let the worker open its job stream or its first activation request
+            Thread.sleep(1_000);
+            for (int i = 0; i < instances; i++) {
+                client.newCreateInstanceCommand()
+                        .bpmnProcessId(PROCESS_ID)
+                        .latestVersion()
+                        .variables(Map.of("sentAt", System.nanoTime()))
+                        .send();
+                Thread.sleep(PACE.toMillis());
+            }
+            if (!done.await(1, TimeUnit.MINUTES)) {
+                throw new IllegalStateException("Only " + received.get() + " of " + instances + " jobs were activated");
+            }
+        } finally {
+            worker.close();
+        }
+        return latencies;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000d;
+    }
+}
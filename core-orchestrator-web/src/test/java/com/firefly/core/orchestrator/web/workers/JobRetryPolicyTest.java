@@ -0,0 +1,144 @@
+package com.firefly.core.orchestrator.web.workers;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.firefly.core.orchestrator.core.resilience.DownstreamUnavailableException;
+import com.firefly.core.orchestrator.web.properties.JobWorkerProperties;
+import io.camunda.zeebe.client.api.response.ActivatedJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobRetryPolicyTest {
+
+    private static final String TYPE = "baas-create-account";
+
+    private final JobWorkerProperties properties = new JobWorkerProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JobRetryPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        properties.getRetry().setJitter(0);
+        policy = new JobRetryPolicy(properties, meterRegistry);
+    }
+
+    @Test
+    void retriesRetryableStatusesWithExponentialBackoff() {
+        JobRetryPolicy.Decision first = policy.decide(job(3), status(503, null));
+        JobRetryPolicy.Decision second = policy.decide(job(2), status(503, null));
+
+        assertThat(first.action()).isEqualTo(JobRetryPolicy.Action.RETRY);
+        assertThat(first.backoff()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(second.backoff()).isEqualTo(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void jitterOnlyShortensTheBackoff() {
+        properties.getRetry().setJitter(0.5);
+
+        for (int i = 0; i < 100; i++) {
+            Duration backoff = policy.decide(job(3), status(502, null)).backoff();
+            assertThat(backoff).isBetween(Duration.ofMillis(500), Duration.ofSeconds(1));
+        }
+    }
+
+    @Test
+    void honoursRetryAfterUpToTheMaximumBackoff() {
+        assertThat(policy.decide(job(3), status(429, "5")).backoff()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(policy.decide(job(3), status(429, "600")).backoff()).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void failsRetryableErrorsOnTheLastRetry() {
+        assertThat(policy.decide(job(1), status(503, null)).action()).isEqualTo(JobRetryPolicy.Action.FAIL);
+    }
+
+    @Test
+    void throwsTheConfiguredBpmnErrorForBusinessFailures() {
+        JobRetryPolicy.Decision decision = policy.decide(job(3), status(404, null));
+
+        assertThat(decision.action()).isEqualTo(JobRetryPolicy.Action.BPMN_ERROR);
+        assertThat(decision.errorCode()).isEqualTo("NOT_FOUND");
+        assertThat(meterRegistry.get("orchestrator.jobs.retries.avoided").tag("type", TYPE).counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void failsBusinessFailuresWithoutErrorCode() {
+        assertThat(policy.decide(job(3), status(403, null)).action()).isEqualTo(JobRetryPolicy.Action.FAIL);
+    }
+
+    @Test
+    void retriesTransientErrorsWithoutStatus() {
+        RuntimeException wrapped = new RuntimeException(new TimeoutException("read timed out"));
+
+        assertThat(policy.decide(job(3), wrapped).action()).isEqualTo(JobRetryPolicy.Action.RETRY);
+    }
+
+    @Test
+    void failsProgrammingAndMappingErrors() {
+        assertThat(policy.decide(job(3), new IllegalStateException("bug")).action())
+                .isEqualTo(JobRetryPolicy.Action.FAIL);
+        assertThat(policy.decide(job(3), new JsonParseException((JsonParser) null, "unexpected token")).action())
+                .isEqualTo(JobRetryPolicy.Action.FAIL);
+    }
+
+    @Test
+    void postponesRejectedCallsWithoutSpendingARetry() {
+        DownstreamUnavailableException rejected =
+                new DownstreamUnavailableException("account", "circuit breaker open", Duration.ofSeconds(10));
+
+        JobRetryPolicy.Decision decision = policy.decide(job(1), rejected);
+
+        assertThat(decision.action()).isEqualTo(JobRetryPolicy.Action.POSTPONE);
+        assertThat(decision.backoff()).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void postponesJobsClaimedElsewhereUntilTheClaimEnds() {
+        JobIdempotencyStore.ClaimedElsewhereException claimed = new JobIdempotencyStore.ClaimedElsewhereException(
+                "1:task", "claimed by another activation", Duration.ofSeconds(20));
+
+        JobRetryPolicy.Decision decision = policy.decide(job(1), claimed);
+
+        assertThat(decision.action()).isEqualTo(JobRetryPolicy.Action.POSTPONE);
+        assertThat(decision.backoff()).isEqualTo(Duration.ofSeconds(20));
+    }
+
+    @Test
+    void countsFailuresByDecision() {
+        policy.decide(job(3), status(503, null));
+        policy.decide(job(3), status(404, null));
+
+        assertThat(meterRegistry.get("orchestrator.jobs.failures").tag("decision", "retry").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("orchestrator.jobs.failures").tag("decision", "bpmn_error").counter().count())
+                .isEqualTo(1);
+    }
+
+    private static ActivatedJob job(int retries) {
+        ActivatedJob job = mock(ActivatedJob.class);
+        when(job.getType()).thenReturn(TYPE);
+        when(job.getRetries()).thenReturn(retries);
+        return job;
+    }
+
+    private static WebClientResponseException status(int status, String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        if (retryAfter != null) {
+            headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        return WebClientResponseException.create(status, "", headers, new byte[0], StandardCharsets.UTF_8);
+    }
+}
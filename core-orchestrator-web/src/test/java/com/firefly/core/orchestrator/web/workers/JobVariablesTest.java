@@ -0,0 +1,61 @@
+package com.firefly.core.orchestrator.web.workers;
+
+import io.camunda.zeebe.client.api.response.ActivatedJob;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobVariablesTest {
+
+    private static final String VARIABLES = """
+            {
+              "customer": {"userId": 1, "addresses": [{"userId": 2}]},
+              "userId": 42,
+              "deadline": 1760000000000,
+              "name": "Jane",
+              "awaited": true,
+              "amount": 12.5,
+              "missing": null
+            }""";
+
+    @Test
+    void readsTopLevelVariablesPastNestedOnes() {
+        ActivatedJob job = job(VARIABLES);
+
+        assertThat(JobVariables.getInteger(job, "userId")).isEqualTo(42);
+        assertThat(JobVariables.getLong(job, "deadline")).isEqualTo(1_760_000_000_000L);
+        assertThat(JobVariables.getString(job, "name")).isEqualTo("Jane");
+        assertThat(JobVariables.isTrue(job, "awaited")).isTrue();
+        assertThat(JobVariables.getLong(job, "amount")).isEqualTo(12L);
+    }
+
+    @Test
+    void returnsNullForAbsentNullOrMistypedVariables() {
+        ActivatedJob job = job(VARIABLES);
+
+        assertThat(JobVariables.getInteger(job, "unknown")).isNull();
+        assertThat(JobVariables.getString(job, "missing")).isNull();
+        assertThat(JobVariables.getLong(job, "name")).isNull();
+        assertThat(JobVariables.getString(job, "userId")).isNull();
+        assertThat(JobVariables.isTrue(job, "name")).isFalse();
+        assertThat(JobVariables.isTrue(job, "unknown")).isFalse();
+    }
+
+    @Test
+    void handlesEmptyAndMalformedDocuments() {
+        assertThat(JobVariables.getInteger(job("{}"), "userId")).isNull();
+        assertThatThrownBy(() -> JobVariables.getInteger(job("{\"userId\": "), "userId"))
+                .isInstanceOf(UncheckedIOException.class);
+    }
+
+    private static ActivatedJob job(String variables) {
+        ActivatedJob job = mock(ActivatedJob.class);
+        when(job.getVariables()).thenReturn(variables);
+        return job;
+    }
+}
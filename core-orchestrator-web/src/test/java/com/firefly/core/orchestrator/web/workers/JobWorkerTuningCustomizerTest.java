@@ -0,0 +1,75 @@
+package com.firefly.core.orchestrator.web.workers;
+
+import com.firefly.core.orchestrator.web.properties.JobWorkerProperties;
+import io.camunda.zeebe.spring.client.annotation.value.ZeebeWorkerValue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobWorkerTuningCustomizerTest {
+
+    private final JobWorkerProperties properties = new JobWorkerProperties();
+
+    @BeforeEach
+    void setUp() {
+        JobWorkerProperties.Tuning latencyCritical = new JobWorkerProperties.Tuning();
+        latencyCritical.setMaxJobsActive(64);
+        latencyCritical.setPollInterval(Duration.ofMillis(50));
+        latencyCritical.setStreamEnabled(true);
+        JobWorkerProperties.Tuning bulk = new JobWorkerProperties.Tuning();
+        bulk.setMaxJobsActive(256);
+        bulk.setTimeout(Duration.ofMinutes(5));
+        bulk.setStreamEnabled(false);
+        properties.getPresets().put("latency-critical", latencyCritical);
+        properties.getPresets().put("bulk", bulk);
+        properties.getJobTypes().put("create-sca-challenge-task", "latency-critical");
+        properties.getJobTypes().put("baas-create-account", "bulk");
+    }
+
+    @Test
+    void appliesThePresetOfTheJobType() {
+        ZeebeWorkerValue worker = customize("create-sca-challenge-task");
+
+        assertThat(worker.getMaxJobsActive()).isEqualTo(64);
+        assertThat(worker.getPollInterval()).isEqualTo(Duration.ofMillis(50));
+        assertThat(worker.getStreamEnabled()).isTrue();
+    }
+
+    @Test
+    void appliesOverridesOnTopOfThePreset() {
+        JobWorkerProperties.Tuning override = new JobWorkerProperties.Tuning();
+        override.setMaxJobsActive(16);
+        properties.getOverrides().put("baas-create-account", override);
+
+        ZeebeWorkerValue worker = customize("baas-create-account");
+
+        assertThat(worker.getMaxJobsActive()).isEqualTo(16);
+        assertThat(worker.getTimeout()).isEqualTo(Duration.ofMinutes(5));
+        assertThat(worker.getStreamEnabled()).isFalse();
+    }
+
+    @Test
+    void fallsBackToTheDefaultPreset() {
+        properties.setDefaultPreset("bulk");
+
+        assertThat(customize("baas-create-document").getMaxJobsActive()).isEqualTo(256);
+    }
+
+    @Test
+    void leavesUnknownJobTypesAndPresetsUntouched() {
+        properties.getJobTypes().put("baas-create-beneficiary", "missing");
+
+        assertThat(customize("baas-create-beneficiary").getMaxJobsActive()).isNull();
+        assertThat(customize("send-verification-sms-task").getMaxJobsActive()).isNull();
+    }
+
+    private ZeebeWorkerValue customize(String type) {
+        ZeebeWorkerValue worker = new ZeebeWorkerValue();
+        worker.setType(type);
+        new JobWorkerTuningCustomizer(properties).customize(worker);
+        return worker;
+    }
+}
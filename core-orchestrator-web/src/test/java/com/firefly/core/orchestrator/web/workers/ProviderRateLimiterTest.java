@@ -0,0 +1,111 @@
+package com.firefly.core.orchestrator.web.workers;
+
+import com.firefly.core.orchestrator.web.properties.ProviderRateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ProviderRateLimiterTest {
+
+    private static final String ACCOUNT = "baas-create-account";
+    private static final String DOCUMENT = "baas-create-document";
+
+    private final ProviderRateLimitProperties properties = new ProviderRateLimitProperties();
+    private final ProviderRateLimitProperties.Provider treezor = new ProviderRateLimitProperties.Provider();
+    private final JobActivationControl jobActivationControl = mock(JobActivationControl.class);
+
+    @BeforeEach
+    void setUp() {
+        treezor.setRatePerSecond(10);
+        treezor.setBurst(3);
+        treezor.setJobTypes(Map.of(ACCOUNT, 1, DOCUMENT, 3));
+        treezor.setMinPause(Duration.ofMillis(500));
+        properties.setProviders(Map.of("treezor", treezor));
+    }
+
+    @Test
+    void admitsTheBurstThenThrottles() {
+        ProviderRateLimiter limiter = limiter();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(ACCOUNT)).isZero();
+        }
+        Duration wait = limiter.tryAcquire(ACCOUNT);
+
+        assertThat(wait).isPositive().isLessThanOrEqualTo(Duration.ofMillis(100));
+        verify(jobActivationControl).pause(ACCOUNT, Duration.ofMillis(500));
+        verify(jobActivationControl).pause(DOCUMENT, Duration.ofMillis(500));
+    }
+
+    @Test
+    void sharesTheBucketBetweenJobTypesByCost() {
+        ProviderRateLimiter limiter = limiter();
+
+        assertThat(limiter.tryAcquire(DOCUMENT)).isZero();
+        Duration wait = limiter.tryAcquire(ACCOUNT);
+
+        assertThat(wait).isPositive().isLessThanOrEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    void refillsAtTheSustainedRate() throws InterruptedException {
+        ProviderRateLimiter limiter = limiter();
+        assertThat(limiter.tryAcquire(DOCUMENT)).isZero();
+
+        Thread.sleep(150);
+
+        assertThat(limiter.tryAcquire(ACCOUNT)).isZero();
+        assertThat(limiter.tryAcquire(ACCOUNT)).isPositive();
+    }
+
+    @Test
+    void holdsCallsForTheDelayAskedByTheProvider() {
+        ProviderRateLimiter limiter = limiter();
+
+        limiter.onThrottled(ACCOUNT, Duration.ofSeconds(2));
+
+        assertThat(limiter.tryAcquire(ACCOUNT)).isGreaterThan(Duration.ofMillis(1500));
+        verify(jobActivationControl).pause(DOCUMENT, Duration.ofSeconds(2));
+    }
+
+    @Test
+    void doesNotPauseActivationWhenDisabledForTheProvider() {
+        treezor.setPauseActivation(false);
+        ProviderRateLimiter limiter = limiter();
+
+        limiter.onThrottled(ACCOUNT, Duration.ofSeconds(1));
+
+        assertThat(limiter.tryAcquire(ACCOUNT)).isPositive();
+        verify(jobActivationControl, never()).pause(anyString(), any());
+    }
+
+    @Test
+    void admitsJobTypesWithoutProviderAndEverythingWhenDisabled() {
+        ProviderRateLimiter limiter = limiter();
+        assertThat(limiter.tryAcquire("create-sca-operation-task")).isZero();
+        assertThat(limiter.providerOf("create-sca-operation-task")).isNull();
+        assertThat(limiter.providerOf(ACCOUNT)).isEqualTo("treezor");
+
+        properties.setEnabled(false);
+        ProviderRateLimiter disabled = limiter();
+        for (int i = 0; i < 10; i++) {
+            assertThat(disabled.tryAcquire(DOCUMENT)).isZero();
+        }
+        verify(jobActivationControl, never()).pause(eq(DOCUMENT), any());
+    }
+
+    private ProviderRateLimiter limiter() {
+        return new ProviderRateLimiter(properties, jobActivationControl, new SimpleMeterRegistry());
+    }
+}
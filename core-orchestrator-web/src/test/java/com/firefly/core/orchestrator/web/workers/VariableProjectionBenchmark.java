@@ -0,0 +1,146 @@
+package com.firefly.core.orchestrator.web.workers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.orchestrator.interfaces.dtos.accounts.NaturalPersonRequest;
+import com.firefly.core.orchestrator.web.utils.ProcessCompletionRegistry;
+import io.camunda.zeebe.client.api.response.ActivatedJob;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures the parse time of a job's variables with and without {@link FetchVariables}: the whole
+ * variable document of an onboarding process, grown by the outputs of earlier steps, against the
+ * projection the broker ships to an annotated worker. The document sizes, i.e. the bytes the broker
+ * transfers per job, are printed when the benchmark starts.
+ * <p>
+ * Run from the test classpath with {@code main}; pass {@code -prof gc} to JMH to compare allocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VariableProjectionBenchmark {
+
+    /**
+     * Size of the uploaded document content carried by the process, in KiB.
+     */
+    @Param({"0", "64", "512"})
+    public int documentKib;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private String fullDocument;
+    private String projectedDocument;
+    private ActivatedJob fullJob;
+    private ActivatedJob projectedUserIdJob;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        NaturalPersonRequest request = NaturalPersonRequest.builder()
+                .userTypeId(1)
+                .email("jane.doe@example.com")
+                .address1("1 Main Street")
+                .postcode("75001")
+                .city("Paris")
+                .country("FR")
+                .phone("+33100000000")
+                .firstname("Jane")
+                .lastname("Doe")
+                .birthdate("1990-01-01")
+                .birthcity("Lyon")
+                .birthcountry("FR")
+                .nationality("FR")
+                .occupation("Engineer")
+                .incomeRange("36-56")
+                .accessTag("onboarding")
+                .build();
+        Map<String, Object> projected = objectMapper.convertValue(request, Map.class);
+        projected.put(ProcessCompletionRegistry.DEADLINE_VARIABLE, System.currentTimeMillis());
+
+        // Outputs merged into the process by earlier steps
+        Map<String, Object> customer = new LinkedHashMap<>();
+        for (int i = 0; i < 60; i++) {
+            customer.put("field" + i, "value-" + i);
+        }
+        byte[] content = new byte[documentKib * 1024];
+        ThreadLocalRandom.current().nextBytes(content);
+        Map<String, Object> full = new LinkedHashMap<>(projected);
+        full.put("customer", customer);
+        full.put("userId", 123456);
+        full.put("content", Base64.getEncoder().encodeToString(content));
+        full.put("documentTypeId", 9);
+
+        fullDocument = objectMapper.writeValueAsString(full);
+        projectedDocument = objectMapper.writeValueAsString(projected);
+        fullJob = job(fullDocument);
+        projectedUserIdJob = job(objectMapper.writeValueAsString(Map.of("userId", 123456)));
+
+        System.out.printf("%nVariable document: %d bytes in full, %d bytes projected%n",
+                fullDocument.getBytes(StandardCharsets.UTF_8).length,
+                projectedDocument.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Benchmark
+    public NaturalPersonRequest fullDocumentAsType() throws JsonProcessingException {
+        return objectMapper.readValue(fullDocument, NaturalPersonRequest.class);
+    }
+
+    @Benchmark
+    public NaturalPersonRequest projectedDocumentAsType() throws JsonProcessingException {
+        return objectMapper.readValue(projectedDocument, NaturalPersonRequest.class);
+    }
+
+    @Benchmark
+    public Object fullDocumentAsMap() throws JsonProcessingException {
+        return objectMapper.readValue(fullDocument, Map.class).get("userId");
+    }
+
+    @Benchmark
+    public Integer fullDocumentAccessor() {
+        return JobVariables.getInteger(fullJob, "userId");
+    }
+
+    @Benchmark
+    public Integer projectedDocumentAccessor() {
+        return JobVariables.getInteger(projectedUserIdJob, "userId");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VariableProjectionBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    private static ActivatedJob job(String variables) {
+        ActivatedJob job = mock(ActivatedJob.class);
+        when(job.getVariables()).thenReturn(variables);
+        return job;
+    }
+}
@@ -0,0 +1,158 @@
+package com.firefly.core.orchestrator.web.workers.compound;
+
+import io.camunda.zeebe.client.ZeebeClient;
+import io.camunda.zeebe.client.api.response.ActivatedJob;
+import io.camunda.zeebe.client.api.worker.JobWorker;
+import io.camunda.zeebe.model.bpmn.Bpmn;
+import io.camunda.zeebe.model.bpmn.BpmnModelInstance;
+import io.camunda.zeebe.model.bpmn.instance.Process;
+import io.camunda.zeebe.model.bpmn.instance.zeebe.ZeebeTaskDefinition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Compares the end-to-end latency of the verification processes deployed as a chain of three
+ * service tasks against their fused variants running the same steps as one {@value CompoundTaskWorker#COMPOUND_TASK}:
+ * the time from the create-instance command to the broker returning the process result.
+ * <p>
+ * The steps are stubs that answer at once, optionally after the delay given in milliseconds by the
+ * STEP_DELAY_MS environment variable, so the difference is the broker round trips the fusion saves.
+ * Needs a running broker, given by the ZEEBE_ADDRESS environment variable (localhost:26500 by default).
+ * Process IDs and job types are suffixed so that a running orchestrator does not take the jobs.
+ * Run with {@code main}.
+ */
+public class CompoundTaskLatencyBenchmark {
+
+    private static final String SUFFIX = "-benchmark";
+    private static final int WARMUP_INSTANCES = 200;
+    private static final int INSTANCES = 1_000;
+    private static final Map<String, List<String>> PIPELINES = Map.of(
+            "send-verification-sms", List.of("create-sca-operation-task", "send-verification-sms-task", "create-sca-challenge-task"),
+            "send-verification-email", List.of("create-sca-operation-task", "send-verification-email-task", "create-sca-challenge-task"));
+    private static final Map<String, Function<Map<String, Object>, Map<String, Object>>> STEPS = Map.of(
+            "create-sca-operation-task", variables -> Map.of("idOperation", 1L),
+            "send-verification-sms-task", variables -> Map.of("verificationCode", "123456"),
+            "send-verification-email-task", variables -> Map.of("verificationCode", "123456"),
+            "create-sca-challenge-task", variables -> Map.of("idChallenge", 1L));
+
+    public static void main(String[] args) {
+        String address = System.getenv().getOrDefault("ZEEBE_ADDRESS", "localhost:26500");
+        Duration stepDelay = Duration.ofMillis(Long.parseLong(System.getenv().getOrDefault("STEP_DELAY_MS", "0")));
+        try (ZeebeClient client = ZeebeClient.newClientBuilder().gatewayAddress(address).usePlaintext().build()) {
+            List<JobWorker> workers = new ArrayList<>();
+            try {
+                for (String type : STEPS.keySet()) {
+                    workers.add(worker(client, type + SUFFIX, job -> step(type, job.getVariablesAsMap(), stepDelay)));
+                }
+                workers.add(worker(client, CompoundTaskWorker.COMPOUND_TASK + SUFFIX, job -> {
+                    Map<String, Object> variables = new LinkedHashMap<>(job.getVariablesAsMap());
+                    Map<String, Object> results = new LinkedHashMap<>();
+                    for (String type : PIPELINES.get(job.getCustomHeaders().get(CompoundTaskWorker.PIPELINE_HEADER))) {
+                        Map<String, Object> result = step(type, variables, stepDelay);
+                        variables.putAll(result);
+                        results.putAll(result);
+                    }
+                    return results;
+                }));
+
+                for (String process : PIPELINES.keySet()) {
+                    String chained = deploy(client, "bpmn/" + process + ".bpmn", "-3hop");
+                    String fused = deploy(client, "bpmn/" + process + "-fused.bpmn", "-fused");
+                    for (String processId : List.of(chained, fused)) {
+                        measure(client, processId, WARMUP_INSTANCES);
+                        long[] latencies = measure(client, processId, INSTANCES);
+                        Arrays.sort(latencies);
+                        System.out.printf("%s: p50=%.2f ms, p90=%.2f ms, p99=%.2f ms, max=%.2f ms%n", processId,
+                                millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.90)),
+                                millis(percentile(latencies, 0.99)), millis(latencies[latencies.length - 1]));
+                    }
+                }
+            } finally {
+                workers.forEach(JobWorker::close);
+            }
+        }
+    }
+
+    /**
+     * Deploys a process definition of the orchestrator under a benchmark process ID, with benchmark job types.
+     *
+     * @return The benchmark process ID
+     */
+    private static String deploy(ZeebeClient client, String resource, String variant) {
+        BpmnModelInstance model;
+        try (InputStream xml = CompoundTaskLatencyBenchmark.class.getClassLoader().getResourceAsStream(resource)) {
+            if (xml == null) {
+                throw new IllegalStateException("Process definition " + resource + " not found");
+            }
+            model = Bpmn.readModelFromStream(xml);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Process process = model.getModelElementsByType(Process.class).iterator().next();
+        String processId = process.getId() + variant + SUFFIX;
+        process.setId(processId);
+        model.getModelElementsByType(ZeebeTaskDefinition.class)
+                .forEach(definition -> definition.setType(definition.getType() + SUFFIX));
+        client.newDeployResourceCommand().addProcessModel(model, processId + ".bpmn").send().join();
+        return processId;
+    }
+
+    private static JobWorker worker(ZeebeClient client, String type, Function<ActivatedJob, Map<String, Object>> handler) {
+        return client.newWorker()
+                .jobType(type)
+                .handler((jobClient, job) -> jobClient.newCompleteCommand(job.getKey()).variables(handler.apply(job)).send())
+                .maxJobsActive(64)
+                .pollInterval(Duration.ofMillis(50))
+                .requestTimeout(Duration.ofSeconds(10))
+                .timeout(Duration.ofSeconds(30))
+                .streamEnabled(true)
+                .open();
+    }
+
+    private static Map<String, Object> step(String type, Map<String, Object> variables, Duration delay) {
+        if (!delay.isZero()) {
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return STEPS.get(type).apply(variables);
+    }
+
+    /**
+     * Runs instances one at a time, so the latency is not dominated by queueing.
+     */
+    private static long[] measure(ZeebeClient client, String processId, int instances) {
+        long[] latencies = new long[instances];
+        for (int i = 0; i < instances; i++) {
+            long startNanos = System.nanoTime();
+            client.newCreateInstanceCommand()
+                    .bpmnProcessId(processId)
+                    .latestVersion()
+                    .withResult()
+                    .requestTimeout(Duration.ofSeconds(30))
+                    .send()
+                    .join();
+            latencies[i] = System.nanoTime() - startNanos;
+        }
+        return latencies;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000d;
+    }
+}